@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Runs the JMH suite and writes machine-readable results to results/<name>.json.
+#   ./run-benchmarks.sh                     -> results/latest.json, all benchmarks
+#   ./run-benchmarks.sh baseline            -> results/baseline.json
+#   ./run-benchmarks.sh latest Dispatcher   -> extra arguments are passed to JMH
+set -euo pipefail
+cd "$(dirname "$0")"
+
+name="${1:-latest}"
+shift || true
+
+mvn -q -f ../002-springboot-mcp/pom.xml install -DskipTests
+mvn -q package
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/${name}.json" "$@"
+
+if [[ "${name}" != "baseline" ]]; then
+    if [[ -f results/baseline.json ]]; then
+        java -cp target/benchmarks.jar com.example.mcpdemo.benchmark.BenchmarkComparison \
+            results/baseline.json "results/${name}.json" "${REGRESSION_THRESHOLD:-10}"
+    else
+        echo "no results/baseline.json on this machine yet; run ./run-benchmarks.sh baseline first" >&2
+    fi
+fi
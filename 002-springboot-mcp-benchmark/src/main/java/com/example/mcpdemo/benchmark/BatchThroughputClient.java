@@ -0,0 +1,108 @@
+package com.example.mcpdemo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@code tools/call} throughput against a running server, sending either one request per
+ * HTTP round trip ({@code batchSize} 1) or JSON-RPC arrays of {@code batchSize} calls.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.mcpdemo.benchmark.BatchThroughputClient \
+ *     http://localhost:8080/mcp 20000 20 8
+ * </pre>
+ */
+public final class BatchThroughputClient {
+    private static final String CALL = "{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":%d,"
+            + "\"params\":{\"name\":\"get_calendar_events\",\"arguments\":{\"keyword\":\"standup\"}}}";
+
+    private BatchThroughputClient() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/mcp";
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String body = body(batchSize);
+        int requestsPerClient = calls / batchSize / clients;
+
+        run(client, url, body, Math.max(1, requestsPerClient / 10), clients);
+        AtomicLong responseBytes = new AtomicLong();
+        long startedAt = System.nanoTime();
+        long requests = run(client, url, body, requestsPerClient, clients, responseBytes);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        long completedCalls = requests * batchSize;
+        System.out.printf("batchSize=%d clients=%d requests=%d calls=%d in %.2f s: %.0f calls/s, %.0f requests/s, %d bytes/call%n",
+                batchSize, clients, requests, completedCalls, seconds,
+                completedCalls / seconds, requests / seconds, responseBytes.get() / Math.max(1, completedCalls));
+    }
+
+    private static long run(HttpClient client, String url, String body, int requestsPerClient, int clients) throws Exception {
+        return run(client, url, body, requestsPerClient, clients, new AtomicLong());
+    }
+
+    private static long run(HttpClient client, String url, String body, int requestsPerClient, int clients,
+                            AtomicLong responseBytes) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                results.add(pool.submit(() -> {
+                    long done = 0;
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("HTTP " + response.statusCode());
+                        }
+                        responseBytes.addAndGet(response.body().length);
+                        done++;
+                    }
+                    return done;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String body(int batchSize) {
+        if (batchSize == 1) {
+            return CALL.formatted(1);
+        }
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+            batch.append(CALL.formatted(i + 1));
+        }
+        return batch.append(']').toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.mcpdemo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files ({@code -rf json}) and exits with status 1 if any benchmark got
+ * slower than the threshold, counting only differences larger than the two runs' combined error.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.mcpdemo.benchmark.BenchmarkComparison \
+ *     results/baseline.json results/latest.json 10
+ * </pre>
+ */
+public final class BenchmarkComparison {
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100.0 : 0.10;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s%n", "benchmark", "baseline", "current", "delta");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s  %s%n", entry.getKey(), "-", now.score(), "new", now.unit());
+                continue;
+            }
+            double delta = (now.score() - before.score()) / before.score();
+            double slowdown = now.higherIsBetter() ? -delta : delta;
+            boolean significant = Math.abs(now.score() - before.score()) > before.error() + now.error();
+            boolean regressed = slowdown > threshold && significant;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%%  %s%s%n", entry.getKey(), before.score(), now.score(),
+                    delta * 100, now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) over %.0f%%%n", regressions, threshold * 100);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode metric = run.path("primaryMetric");
+            String mode = run.path("mode").asText();
+            results.put(key(run), new Result(metric.path("score").asDouble(),
+                    errorOf(metric), metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        String name = run.path("benchmark").asText().replace("com.example.mcpdemo.benchmark.", "");
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return params.isEmpty() ? name : name + params;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one-day range lookups (optionally with a keyword) on the indexed store
+ * with the original parse-per-event stream filter used by {@code CalendarService.queryEvents}, plus
+ * the full {@link CalendarService#queryEvents} path (argument parsing on top of the store).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarEventStoreBenchmark {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final LocalDateTime BASE = LocalDateTime.parse("2026-01-01T00:00:00");
+    private static final int DAYS = 365;
+    private static final String KEYWORD = "room 7";
+
+    @Param({"1000", "100000", "1000000"})
+    public int eventCount;
+
+    private List<CalendarEvent> events;
+    private IndexedCalendarEventStore store;
+    private CalendarService calendarService;
+    private LocalDateTime[] windowStarts;
+    private Map<String, Object>[] queryArguments;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        events = generateEvents(eventCount, 42L);
+        store = new IndexedCalendarEventStore();
+        events.forEach(store::add);
+        store.size();
+
+        calendarService = new CalendarService(store);
+
+        Random random = new Random(7L);
+        windowStarts = new LocalDateTime[1024];
+        queryArguments = newArgumentsArray(windowStarts.length);
+        for (int i = 0; i < windowStarts.length; i++) {
+            windowStarts[i] = BASE.plusMinutes(random.nextInt(DAYS * 24 * 60));
+            queryArguments[i] = Map.of(
+                    "start_time", windowStarts[i].toString(),
+                    "end_time", windowStarts[i].plusDays(1).toString(),
+                    "keyword", KEYWORD);
+        }
+    }
+
+    @Benchmark
+    public List<CalendarEvent> indexedStore() {
+        LocalDateTime start = nextWindowStart();
+        return store.findOverlapping(start, start.plusDays(1));
+    }
+
+    @Benchmark
+    public List<CalendarEvent> streamFilter() {
+        LocalDateTime start = nextWindowStart();
+        LocalDateTime end = start.plusDays(1);
+        return events.stream()
+                .filter(event -> !LocalDateTime.parse(event.endTime(), FORMATTER).isBefore(start))
+                .filter(event -> !LocalDateTime.parse(event.startTime(), FORMATTER).isAfter(end))
+                .toList();
+    }
+
+    @Benchmark
+    public List<CalendarEvent> indexedStoreWithKeyword() {
+        LocalDateTime start = nextWindowStart();
+        return store.findMatching(start, start.plusDays(1), KEYWORD);
+    }
+
+    @Benchmark
+    public List<CalendarEvent> streamFilterWithKeyword() {
+        LocalDateTime start = nextWindowStart();
+        LocalDateTime end = start.plusDays(1);
+        return events.stream()
+                .filter(event -> !LocalDateTime.parse(event.endTime(), FORMATTER).isBefore(start))
+                .filter(event -> !LocalDateTime.parse(event.startTime(), FORMATTER).isAfter(end))
+                .filter(event -> event.title().toLowerCase(Locale.ROOT).contains(KEYWORD)
+                        || event.description().toLowerCase(Locale.ROOT).contains(KEYWORD)
+                        || event.location().toLowerCase(Locale.ROOT).contains(KEYWORD))
+                .toList();
+    }
+
+    @Benchmark
+    public List<CalendarEvent> calendarServiceQuery() {
+        cursor = (cursor + 1) & (queryArguments.length - 1);
+        return calendarService.queryEvents(queryArguments[cursor]);
+    }
+
+    private LocalDateTime nextWindowStart() {
+        cursor = (cursor + 1) & (windowStarts.length - 1);
+        return windowStarts[cursor];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object>[] newArgumentsArray(int length) {
+        return new Map[length];
+    }
+
+    static List<CalendarEvent> generateEvents(int count, long seed) {
+        Random random = new Random(seed);
+        List<CalendarEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(DAYS * 24 * 60));
+            LocalDateTime end = start.plusMinutes(15 + random.nextInt(120));
+            events.add(new CalendarEvent(
+                    "evt-" + i,
+                    "Meeting " + i,
+                    start.toString(),
+                    end.toString(),
+                    "Room " + (i % 50),
+                    "Generated benchmark event " + i
+            ));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.protocol.McpNotifications;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * How long a streamed {@code tools/call} over every event keeps serializing chunks once its client is gone
+ * after the first one: {@code streamIgnoringCancellation} runs to the end as every call did before
+ * cancellation existed, {@code streamCancelledAfterFirstChunk} cancels its context and stops at the next
+ * checkpoint. {@code pagedCall} is a regular call with ({@code deadline=true}) and without a deadline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CancellationBenchmark {
+    private static final CompletableFuture<Void> WRITTEN = CompletableFuture.completedFuture(null);
+
+    @Param({"50000"})
+    public int events;
+
+    @Param({"false", "true"})
+    public boolean deadline;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private McpPipeline pipeline;
+    private Map<String, Object> streamParams;
+    private Map<String, Object> pagedParams;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pipeline = new McpPipeline(events, false, deadline ? Duration.ofSeconds(30) : Duration.ZERO);
+        streamParams = Map.of("name", "get_calendar_events", "arguments", Map.of());
+        pagedParams = McpPipeline.calendarCall();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.toolExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Object streamIgnoringCancellation() {
+        long[] bytes = {0};
+        return pipeline.toolsService.callToolAsync(streamParams, new ToolCallContext(), chunk -> {
+            bytes[0] += write(chunk);
+            return WRITTEN;
+        }).exceptionally(failure -> bytes[0]).join();
+    }
+
+    @Benchmark
+    public Object streamCancelledAfterFirstChunk() {
+        ToolCallContext context = new ToolCallContext();
+        long[] bytes = {0};
+        Function<List<?>, CompletableFuture<?>> disconnecting = chunk -> {
+            bytes[0] += write(chunk);
+            context.cancel("client disconnected");
+            return WRITTEN;
+        };
+        return pipeline.toolsService.callToolAsync(streamParams, context, disconnecting)
+                .exceptionally(failure -> bytes[0]).join();
+    }
+
+    @Benchmark
+    public Object pagedCall() {
+        return pipeline.toolsService.callTool(pagedParams);
+    }
+
+    private int write(List<?> chunk) {
+        try {
+            return objectMapper.writeValueAsBytes(McpNotifications.progress("bench", chunk.size(), chunk)).length;
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.protocol.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 100 ms tick of the SSE heartbeat timer with N open sessions checked every 15 s. {@code wheel} advances
+ * the {@link TimingWheel} {@code SseSessionManager} uses, where each session's check reschedules itself;
+ * {@code scan} visits every session each tick, as a single periodic sweep over the session map would. The
+ * clock is simulated, so each invocation is exactly one tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeartbeatTickBenchmark {
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(15);
+
+    @Param({"1000", "100000"})
+    public int sessions;
+
+    private TimingWheel wheel;
+    private Session[] all;
+    private long now;
+    private long heartbeats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wheel = new TimingWheel(TICK, 512, 0);
+        all = new Session[sessions];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < sessions; i++) {
+            all[i] = new Session(random.nextLong(INTERVAL));
+            wheel.schedule(all[i], all[i].lastWrite + INTERVAL);
+        }
+    }
+
+    @Benchmark
+    public int wheel() {
+        now += TICK;
+        return wheel.advance(now);
+    }
+
+    @Benchmark
+    public long scan() {
+        now += TICK;
+        for (Session session : all) {
+            if (now - session.lastWrite >= INTERVAL) {
+                session.lastWrite = now;
+                heartbeats++;
+            }
+        }
+        return heartbeats;
+    }
+
+    private final class Session implements Runnable {
+        private long lastWrite;
+
+        private Session(long lastWrite) {
+            this.lastWrite = lastWrite;
+        }
+
+        @Override
+        public void run() {
+            lastWrite = now;
+            heartbeats++;
+            wheel.schedule(this, now + INTERVAL);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code structuredContent} of a {@code get_calendar_events} result serialized with the events as JSON
+ * objects ({@code json}) or as one ISON table string ({@code ison}, {@code format: "ison"}), each to the bytes
+ * that go on the wire. Payload sizes are printed at setup; run with {@code -prof gc} for allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsonEncodingBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int events;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<CalendarEvent> results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = CalendarEventStoreBenchmark.generateEvents(events, 42L);
+        int json = json().length;
+        int ison = ison().length;
+        System.out.printf("%nstructuredContent: json %d bytes, ison %d bytes (%.1f%%)%n",
+                json, ison, 100.0 * ison / json);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return write(structuredContent(results, null));
+    }
+
+    @Benchmark
+    public byte[] ison() {
+        return write(structuredContent(CalendarEventsTool.toIson(results), "ison"));
+    }
+
+    private Map<String, Object> structuredContent(Object encoded, String format) {
+        Map<String, Object> structuredContent = new LinkedHashMap<>();
+        if (format != null) {
+            structuredContent.put("format", format);
+        }
+        structuredContent.put("events", encoded);
+        structuredContent.put("event_count", results.size());
+        structuredContent.put("has_events", !results.isEmpty());
+        return structuredContent;
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
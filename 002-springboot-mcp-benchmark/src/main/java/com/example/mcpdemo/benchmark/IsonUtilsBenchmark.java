@@ -0,0 +1,145 @@
+package com.example.mcpdemo.benchmark;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONUtil;
+import com.example.mcpdemo.tool.IsonTable;
+import com.example.mcpdemo.tool.IsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code IsonUtils} from 004-jison against the same table as a JSON array of objects: {@code parseTable} vs
+ * decoding to {@code List<Map>} and {@code generateTable} vs encoding, with Jackson and with hutool
+ * {@code JSONUtil} (what the jison demo round-trips through). {@code isonParseColumns} reads into the columnar
+ * {@link IsonTable}. Rows, columns and the type mix are parameters; sizes are printed at setup and
+ * {@code -prof gc} gives the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsonUtilsBenchmark {
+    private static final String[] WORDS = {"alpha", "standup", "review", "Room 7", "北京", "planning", "retro",
+            "design sync", "null", "1:1"};
+    private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() {
+    };
+
+    /**
+     * Column types: NUMERIC alternates int and float, TEXT is all strings (some quoted in ISON),
+     * MIXED cycles int, float, bool and string.
+     */
+    public enum Mix {
+        NUMERIC, TEXT, MIXED
+    }
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    @Param({"4", "16"})
+    public int columns;
+
+    @Param({"NUMERIC", "TEXT", "MIXED"})
+    public Mix mix;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<String> headers;
+    private List<List<Object>> table;
+    private List<Map<String, Object>> objects;
+    private String ison;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        Random random = new Random(42);
+        String[] types = new String[columns];
+        headers = new ArrayList<>(columns);
+        for (int c = 0; c < columns; c++) {
+            types[c] = switch (mix) {
+                case NUMERIC -> c % 2 == 0 ? "int" : "float";
+                case TEXT -> "string";
+                case MIXED -> List.of("int", "float", "bool", "string").get(c % 4);
+            };
+            headers.add("field" + c + ":" + types[c]);
+        }
+        table = new ArrayList<>(rows);
+        objects = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            List<Object> row = new ArrayList<>(columns);
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (int c = 0; c < columns; c++) {
+                Object value = switch (types[c]) {
+                    case "int" -> random.nextInt(1_000_000);
+                    case "float" -> random.nextInt(1_000_000) / 100.0;
+                    case "bool" -> random.nextBoolean();
+                    default -> WORDS[random.nextInt(WORDS.length)] + "-" + random.nextInt(100);
+                };
+                row.add(value);
+                object.put("field" + c, value);
+            }
+            table.add(row);
+            objects.add(object);
+        }
+        ison = IsonUtils.generateTable("bench", headers, table);
+        json = objectMapper.writeValueAsString(objects);
+        System.out.printf("%nison %d bytes, json %d bytes%n",
+                ison.getBytes(StandardCharsets.UTF_8).length, json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> isonParse() {
+        return IsonUtils.parseTable(ison);
+    }
+
+    @Benchmark
+    public IsonTable isonParseColumns() {
+        return IsonUtils.parseColumns(ison);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> jacksonParse() throws JsonProcessingException {
+        return objectMapper.readValue(json, ROWS);
+    }
+
+    @Benchmark
+    public JSONArray hutoolParse() {
+        return JSONUtil.parseArray(json);
+    }
+
+    @Benchmark
+    public String isonGenerate() {
+        return IsonUtils.generateTable("bench", headers, table);
+    }
+
+    @Benchmark
+    public String jacksonGenerate() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(objects);
+    }
+
+    @Benchmark
+    public String hutoolGenerate() {
+        return JSONUtil.toJsonStr(objects);
+    }
+}
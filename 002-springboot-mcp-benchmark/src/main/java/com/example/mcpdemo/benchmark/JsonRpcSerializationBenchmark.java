@@ -0,0 +1,79 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of the protocol envelopes: {@link JsonRpcRequest} serialization and binding, and
+ * {@link JsonRpcResponse} serialization for {@code tools/list} and a {@code tools/call} result.
+ * Streaming request decoding is covered by {@link RequestDecodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonRpcSerializationBenchmark {
+    private McpPipeline pipeline;
+    private ObjectMapper objectMapper;
+    private JsonRpcRequest request;
+    private byte[] requestBytes;
+    private JsonRpcResponse toolsListResponse;
+    private JsonRpcResponse toolsCallResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        pipeline = new McpPipeline(0, false);
+        objectMapper = pipeline.objectMapper;
+        request = McpPipeline.request(1, "tools/call", McpPipeline.calendarCall());
+        requestBytes = objectMapper.writeValueAsBytes(request);
+        toolsListResponse = JsonRpcResponse.success(2, pipeline.toolsService.listTools());
+        toolsCallResponse = JsonRpcResponse.success(3, pipeline.toolsService.callTool(Map.of(
+                "name", "get_calendar_events",
+                "arguments", Map.of("start_time", "2026-02-01T00:00:00", "end_time", "2026-03-01T00:00:00"))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.toolExecutor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public JsonRpcRequest deserializeRequest() throws IOException {
+        return objectMapper.readValue(requestBytes, JsonRpcRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeToolsListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toolsListResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeToolsCallResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toolsCallResponse);
+    }
+}
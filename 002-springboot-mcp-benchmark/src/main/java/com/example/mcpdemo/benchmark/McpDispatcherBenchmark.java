@@ -0,0 +1,76 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code McpRequestDispatcher.dispatch} per method on already-decoded requests, and
+ * {@code McpToolsService.listTools} on its own. {@code toolsCallCached} goes through the result cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class McpDispatcherBenchmark {
+    private McpPipeline pipeline;
+    private McpPipeline cachedPipeline;
+    private JsonRpcRequest initialize;
+    private JsonRpcRequest toolsList;
+    private JsonRpcRequest toolsCall;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pipeline = new McpPipeline(10_000, false);
+        cachedPipeline = new McpPipeline(10_000, true);
+        initialize = McpPipeline.request(1, "initialize", Map.of());
+        toolsList = McpPipeline.request(2, "tools/list", Map.of());
+        toolsCall = McpPipeline.request(3, "tools/call", McpPipeline.calendarCall());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.toolExecutor.shutdown();
+        cachedPipeline.toolExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Object dispatchInitialize() {
+        return pipeline.dispatcher.dispatch(initialize);
+    }
+
+    @Benchmark
+    public Object dispatchToolsList() {
+        return pipeline.dispatcher.dispatch(toolsList);
+    }
+
+    @Benchmark
+    public Object dispatchToolsCall() {
+        return pipeline.dispatcher.dispatch(toolsCall);
+    }
+
+    @Benchmark
+    public Object dispatchToolsCallCached() {
+        return cachedPipeline.dispatcher.dispatch(toolsCall);
+    }
+
+    @Benchmark
+    public Object listTools() {
+        return pipeline.toolsService.listTools();
+    }
+}
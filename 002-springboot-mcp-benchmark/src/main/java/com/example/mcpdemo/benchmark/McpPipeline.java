@@ -0,0 +1,76 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.protocol.InFlightRequests;
+import com.example.mcpdemo.protocol.McpRequestDispatcher;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.service.ToolCacheProperties;
+import com.example.mcpdemo.service.ToolExecutionProperties;
+import com.example.mcpdemo.service.ToolExecutor;
+import com.example.mcpdemo.service.ToolListProperties;
+import com.example.mcpdemo.service.ToolResultCache;
+import com.example.mcpdemo.service.ToolStreamingProperties;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The request pipeline wired by hand, without a Spring context: tools run inline on the benchmark
+ * thread and the result cache is off unless asked for, so the numbers measure the code path itself.
+ */
+final class McpPipeline {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+    final CalendarService calendarService;
+    final ToolExecutor toolExecutor;
+    final McpToolsService toolsService;
+    final McpRequestDispatcher dispatcher;
+
+    McpPipeline(int extraEvents, boolean resultCache) {
+        this(extraEvents, resultCache, Duration.ofSeconds(30));
+    }
+
+    McpPipeline(int extraEvents, boolean resultCache, Duration callTimeout) {
+        this(extraEvents, resultCache, callTimeout, new SimpleMeterRegistry());
+    }
+
+    McpPipeline(int extraEvents, boolean resultCache, Duration callTimeout, MeterRegistry meterRegistry) {
+        CalendarEventStoreBenchmark.generateEvents(extraEvents, 42L).forEach(store::add);
+        calendarService = new CalendarService(store);
+        toolExecutor = new ToolExecutor(new ToolExecutionProperties(
+                ToolExecutionProperties.Mode.DIRECT, 1, 1, 0, Map.of(), Duration.ofSeconds(5), callTimeout));
+        toolsService = new McpToolsService(
+                new ToolRegistry(List.of(new CalendarEventsTool(calendarService)), objectMapper, event -> { }),
+                toolExecutor,
+                new ToolResultCache(new ToolCacheProperties(resultCache, DataSize.ofMegabytes(64)), objectMapper),
+                new ToolStreamingProperties(500), new ToolListProperties(100), meterRegistry);
+        dispatcher = new McpRequestDispatcher(toolsService, new InFlightRequests(), meterRegistry);
+    }
+
+    static JsonRpcRequest request(Object id, String method, Map<String, Object> params) {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(id);
+        request.setMethod(method);
+        request.setParams(params);
+        return request;
+    }
+
+    static Map<String, Object> calendarCall() {
+        return Map.of(
+                "name", "get_calendar_events",
+                "arguments", Map.of(
+                        "start_time", "2026-02-11T00:00:00",
+                        "end_time", "2026-02-12T23:59:59",
+                        "keyword", "standup"));
+    }
+}
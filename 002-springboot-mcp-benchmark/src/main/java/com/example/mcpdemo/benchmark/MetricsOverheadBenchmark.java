@@ -0,0 +1,69 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the dispatcher and tool metrics cost per request. {@code noop} is a registry with no backend, so the
+ * meters do nothing and only the instrumentation code itself runs; {@code prometheus} records into the
+ * registry Actuator exposes, including the per-tool latency histogram. Both go through
+ * {@code respondAsync}, the path the controllers use, with the tool result served from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    @Param({"noop", "prometheus"})
+    public String registry;
+
+    private McpPipeline pipeline;
+    private JsonRpcRequest initialize;
+    private JsonRpcRequest toolsCall;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT) : new CompositeMeterRegistry();
+        pipeline = new McpPipeline(10_000, true, Duration.ofSeconds(30), meterRegistry);
+        initialize = McpPipeline.request(1, "initialize", Map.of());
+        toolsCall = McpPipeline.request(3, "tools/call", McpPipeline.calendarCall());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.toolExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Object initialize() {
+        return pipeline.dispatcher.respondAsync(initialize).join();
+    }
+
+    @Benchmark
+    public Object toolsCallCached() {
+        return pipeline.dispatcher.respondAsync(toolsCall).join();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.example.mcpdemo.tool.ToolSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cursor pagination at growing data sizes: the first and a middle page of an unfiltered calendar query
+ * and of {@code tools/list}, against the unpaged query and full tool list. Pages should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private CalendarService calendarService;
+    private Map<String, Object> firstPage;
+    private Map<String, Object> middlePage;
+    private ToolSnapshot tools;
+    private String middleToolCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        CalendarEventStoreBenchmark.generateEvents(size, 42L).forEach(store::add);
+        calendarService = new CalendarService(store);
+        firstPage = Map.of("keyword", "room 7");
+        middlePage = new HashMap<>(firstPage);
+        for (int page = 0; page < size / 50 / PAGE_SIZE / 2; page++) {
+            middlePage.put("cursor", calendarService.queryPage(middlePage, PAGE_SIZE).nextCursor());
+        }
+
+        List<McpTool> registered = IntStream.range(0, size / 10)
+                .<McpTool>mapToObj(i -> new ToolRegistryBenchmark.SyntheticTool(String.format("tool-%06d", i)))
+                .toList();
+        tools = new ToolRegistry(registered, new ObjectMapper(), event -> { }).snapshot();
+        Object cursor = null;
+        for (int page = 0; page < registered.size() / PAGE_SIZE / 2; page++) {
+            cursor = nextCursor(tools.listPage(cursor, PAGE_SIZE));
+        }
+        middleToolCursor = (String) cursor;
+    }
+
+    @Benchmark
+    public Object calendarFirstPage() {
+        return calendarService.queryPage(firstPage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object calendarMiddlePage() {
+        return calendarService.queryPage(middlePage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object calendarUnpaged() {
+        return calendarService.queryEvents(firstPage);
+    }
+
+    @Benchmark
+    public Object toolsMiddlePage() {
+        return tools.listPage(middleToolCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object toolsFullList() {
+        return tools.listResult();
+    }
+
+    private static String nextCursor(RawValue page) {
+        String json = page.rawValue().toString();
+        int at = json.lastIndexOf("\"nextCursor\":\"");
+        return json.substring(at + 14, json.length() - 2);
+    }
+}
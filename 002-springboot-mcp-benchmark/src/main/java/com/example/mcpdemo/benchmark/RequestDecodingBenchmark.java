@@ -0,0 +1,100 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.protocol.JsonRpcRequestDecoder;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body to a dispatchable {@link JsonRpcRequest}: binding through a {@link JsonNode} tree (the
+ * previous controller path), direct POJO binding, and the streaming {@link JsonRpcRequestDecoder}.
+ * Each variant touches {@code params} only for {@code tools/call}, as the dispatcher does. The decoder knows
+ * {@code get_calendar_events}, whose closed schema rejects {@code largeToolsCall}'s attendees, so it skips them.
+ * Run with {@code -prof gc} for bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestDecodingBenchmark {
+    @Param({"ping", "toolsCall", "largeToolsCall"})
+    public String payload;
+
+    private ObjectMapper objectMapper;
+    private JsonRpcRequestDecoder decoder;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        CalendarEventsTool tool = new CalendarEventsTool(new CalendarService(new IndexedCalendarEventStore()));
+        decoder = new JsonRpcRequestDecoder(objectMapper, new ToolRegistry(List.of(tool), objectMapper, event -> { }));
+        String json = switch (payload) {
+            case "ping" -> "{\"jsonrpc\":\"2.0\",\"method\":\"ping\",\"id\":1,\"params\":{\"_meta\":{\"progressToken\":\"t-1\"}}}";
+            case "toolsCall" -> toolsCall(0);
+            case "largeToolsCall" -> toolsCall(500);
+            default -> throw new IllegalArgumentException(payload);
+        };
+        body = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object treeThenBind() throws IOException {
+        JsonNode tree = objectMapper.readTree(body);
+        return touch(objectMapper.treeToValue(tree, JsonRpcRequest.class));
+    }
+
+    @Benchmark
+    public Object pojoBinding() throws IOException {
+        return touch(objectMapper.readValue(body, JsonRpcRequest.class));
+    }
+
+    @Benchmark
+    public Object streamingDecoder() {
+        return touch(decoder.decode(body).single());
+    }
+
+    private Object touch(JsonRpcRequest request) {
+        return "tools/call".equals(request.getMethod()) ? request.getParams() : request.getMethod();
+    }
+
+    private static String toolsCall(int attendees) {
+        StringBuilder json = new StringBuilder("{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":1,\"params\":{")
+                .append("\"name\":\"get_calendar_events\",\"arguments\":{")
+                .append("\"start_time\":\"2026-02-11T00:00:00\",\"end_time\":\"2026-02-12T23:59:59\",\"keyword\":\"standup\"");
+        if (attendees > 0) {
+            json.append(",\"attendees\":[");
+            for (int i = 0; i < attendees; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"email\":\"user").append(i).append("@example.com\",\"optional\":").append(i % 2 == 0).append('}');
+            }
+            json.append(']');
+        }
+        return json.append("}}}").toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.example.mcpdemo.tool.SchemaCompiler;
+import com.example.mcpdemo.tool.SchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating {@code get_calendar_events} arguments against the validator compiled from the tool's
+ * input schema; run with {@code -prof gc} to see the per-call allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+    private SchemaValidator validator;
+    private Map<String, Object> keywordOnly;
+    private Map<String, Object> fullQuery;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        CalendarEventsTool tool = new CalendarEventsTool(new CalendarService(new IndexedCalendarEventStore()));
+        validator = SchemaCompiler.compile(tool.getInputSchema());
+        keywordOnly = Map.of("keyword", "review");
+        fullQuery = (Map<String, Object>) McpPipeline.calendarCall().get("arguments");
+    }
+
+    @Benchmark
+    public Map<String, Object> validateKeywordOnly() {
+        validator.validate(keywordOnly);
+        return keywordOnly;
+    }
+
+    @Benchmark
+    public Map<String, Object> validateDateRange() {
+        validator.validate(fullQuery);
+        return fullQuery;
+    }
+}
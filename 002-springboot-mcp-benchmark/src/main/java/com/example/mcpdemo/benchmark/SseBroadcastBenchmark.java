@@ -0,0 +1,123 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.protocol.SseFrame;
+import com.example.mcpdemo.protocol.SseFrameEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one event to N sessions: the old path (one {@code SseEventBuilder} and one
+ * Jackson serialization per session) versus a single {@link SseFrameEncoder} frame shared by all.
+ * Run with {@code -prof gc} to get allocation per broadcast.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseBroadcastBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int sessions;
+
+    private ObjectMapper objectMapper;
+    private SseFrameEncoder encoder;
+    private SinkEmitter[] emitters;
+    private JsonRpcResponse payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        encoder = new SseFrameEncoder(objectMapper);
+        emitters = new SinkEmitter[sessions];
+        for (int i = 0; i < sessions; i++) {
+            emitters[i] = new SinkEmitter(objectMapper);
+        }
+        List<CalendarEvent> events = CalendarEventStoreBenchmark.generateEvents(20, 1L);
+        payload = JsonRpcResponse.success(1, Map.of("events", events, "event_count", events.size()));
+    }
+
+    @Benchmark
+    public long perSessionSerialization() throws IOException {
+        long written = 0;
+        for (SinkEmitter emitter : emitters) {
+            emitter.send(SseEmitter.event().name("message").data(payload));
+            written += emitter.sink.bytes;
+        }
+        return written;
+    }
+
+    @Benchmark
+    public long preSerializedFrame() throws IOException {
+        SseFrame frame = encoder.encode("message", payload);
+        long written = 0;
+        for (SinkEmitter emitter : emitters) {
+            emitter.send(frame.items());
+            written += emitter.sink.bytes;
+        }
+        return written;
+    }
+
+    /**
+     * Writes items the way the servlet message converters would, into a discarding sink.
+     */
+    static final class SinkEmitter extends SseEmitter {
+        private final ObjectMapper objectMapper;
+        private final CountingSink sink = new CountingSink();
+
+        SinkEmitter(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            for (DataWithMediaType item : items) {
+                Object data = item.getData();
+                if (data instanceof byte[] bytes) {
+                    sink.write(bytes);
+                } else if (data instanceof String text) {
+                    sink.write(text.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    objectMapper.writeValue(sink, data);
+                }
+            }
+        }
+    }
+
+    static final class CountingSink extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
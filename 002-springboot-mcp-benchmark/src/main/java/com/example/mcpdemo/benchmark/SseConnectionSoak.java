@@ -0,0 +1,70 @@
+package com.example.mcpdemo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Opens N idle SSE connections against a running server and holds them, so the server's thread
+ * count and memory can be sampled (e.g. {@code jcmd <pid> GC.heap_info}, {@code /proc/<pid>/status}).
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.mcpdemo.benchmark.SseConnectionSoak \
+ *     http://localhost:8080/mcp 10000 60
+ * </pre>
+ */
+public final class SseConnectionSoak {
+    private static final int MAX_PENDING_HANDSHAKES = 256;
+
+    private SseConnectionSoak() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/mcp";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        long holdSeconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Semaphore handshakes = new Semaphore(MAX_PENDING_HANDSHAKES);
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<HttpResponse<Stream<String>>>> streams = new ArrayList<>(connections);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            handshakes.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "?clientId=soak-" + i))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                    .whenComplete((response, ex) -> {
+                        if (ex == null && response.statusCode() == 200) {
+                            open.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                        handshakes.release();
+                    }));
+        }
+        handshakes.acquire(MAX_PENDING_HANDSHAKES);
+        System.out.printf("open=%d failed=%d in %d ms, holding for %d s%n",
+                open.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), holdSeconds);
+
+        TimeUnit.SECONDS.sleep(holdSeconds);
+        streams.forEach(stream -> stream.thenAccept(response -> response.body().close()));
+        System.exit(0);
+    }
+}
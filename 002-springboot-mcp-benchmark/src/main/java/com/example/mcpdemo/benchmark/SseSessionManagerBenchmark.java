@@ -0,0 +1,72 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.protocol.SseFrameEncoder;
+import com.example.mcpdemo.protocol.SseProperties;
+import com.example.mcpdemo.protocol.SseSessionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SseSessionManager#broadcast} to N connected sessions whose emitters discard what they are
+ * sent. The measured time is the caller's cost (encode once, enqueue per session); writer threads
+ * drain the queues concurrently, and drop-oldest keeps them bounded. {@code replayCapacity} 0 sends
+ * unnumbered events; otherwise each is numbered and kept for {@code Last-Event-ID} replay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseSessionManagerBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int sessions;
+
+    @Param({"0", "128"})
+    public int replayCapacity;
+
+    private SseSessionManager sessionManager;
+    private JsonRpcResponse payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        sessionManager = new SseSessionManager(
+                new SseProperties(256, SseProperties.OverflowPolicy.DROP_OLDEST, Duration.ofMillis(100), 4, Duration.ofSeconds(10),
+                        Duration.ofSeconds(30), Duration.ZERO, replayCapacity, DataSize.ofMegabytes(1), Duration.ofMinutes(2),
+                        Duration.ofSeconds(15), Duration.ofSeconds(60)),
+                new SseFrameEncoder(objectMapper), event -> { });
+        for (int i = 0; i < sessions; i++) {
+            sessionManager.connect("bench-" + i, new SseBroadcastBenchmark.SinkEmitter(objectMapper));
+        }
+        payload = JsonRpcResponse.success(1, Map.of("events", CalendarEventStoreBenchmark.generateEvents(20, 1L)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionManager.shutdown();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        sessionManager.broadcast("message", payload);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.protocol.McpNotifications;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@code tools/call} matching every event, answered as one serialized result ({@code fullResult}) or
+ * streamed as serialized {@code notifications/progress} chunks ({@code streamedResult}).
+ * {@code streamedFirstChunk} stops after the first chunk is serialized, i.e. time to first byte.
+ * Run with {@code -prof gc}; the largest single payload each mode materializes is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingResultBenchmark {
+    private static final RuntimeException STOP = new RuntimeException("first chunk written", null, false, false) {
+    };
+    private static final CompletableFuture<Void> WRITTEN = CompletableFuture.completedFuture(null);
+
+    @Param({"50000"})
+    public int events;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private McpPipeline pipeline;
+    private Map<String, Object> params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pipeline = new McpPipeline(events, false);
+        params = Map.of("name", "get_calendar_events", "arguments", Map.of());
+        long[] largestChunk = {0};
+        pipeline.toolsService.callToolAsync(params, new ToolCallContext(), chunk -> {
+            largestChunk[0] = Math.max(largestChunk[0], write(chunk).length);
+            return WRITTEN;
+        }).join();
+        System.out.printf("%nlargest payload: full result %d bytes, streamed chunk %d bytes%n",
+                fullResult().length, largestChunk[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.toolExecutor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] fullResult() {
+        return write(pipeline.toolsService.callTool(params));
+    }
+
+    @Benchmark
+    public long streamedResult() {
+        long[] bytes = {0};
+        Object summary = pipeline.toolsService.callToolAsync(params, new ToolCallContext(), chunk -> {
+            bytes[0] += writeChunk(chunk);
+            return WRITTEN;
+        }).join();
+        return bytes[0] + write(summary).length;
+    }
+
+    @Benchmark
+    public long streamedFirstChunk() {
+        long[] bytes = {0};
+        Function<List<?>, CompletableFuture<?>> firstOnly = chunk -> {
+            bytes[0] = writeChunk(chunk);
+            throw STOP;
+        };
+        pipeline.toolsService.callToolAsync(params, new ToolCallContext(), firstOnly).exceptionally(failure -> null).join();
+        return bytes[0];
+    }
+
+    private int writeChunk(List<?> chunk) {
+        return write(McpNotifications.progress("bench", chunk.size(), chunk)).length;
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
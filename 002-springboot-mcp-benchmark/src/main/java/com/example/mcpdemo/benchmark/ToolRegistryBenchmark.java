@@ -0,0 +1,85 @@
+package com.example.mcpdemo.benchmark;
+
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Copy-on-write {@code ToolRegistry}: {@code register} rebuilds and re-serializes the whole snapshot,
+ * so its cost grows with the registry; {@code findByName} reads the current snapshot only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolRegistryBenchmark {
+    @Param({"100", "1000", "5000"})
+    public int tools;
+
+    private ToolRegistry registry;
+    private String lookupName;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<McpTool> initial = IntStream.range(0, tools).<McpTool>mapToObj(i -> new SyntheticTool("tool-" + i)).toList();
+        registry = new ToolRegistry(initial, new ObjectMapper(), event -> { });
+        lookupName = "tool-" + (tools / 2);
+    }
+
+    @Benchmark
+    public long register() {
+        registry.register(new SyntheticTool("tool-" + (counter++ % tools)));
+        return registry.snapshot().version();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<McpTool> findByName() {
+        return registry.findByName(lookupName);
+    }
+
+    record SyntheticTool(String name) implements McpTool {
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Synthetic tool " + name;
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of("type", "object",
+                    "properties", Map.of("query", Map.of("type", "string", "description", "Search text")),
+                    "required", List.of("query"));
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            return Map.of();
+        }
+    }
+}
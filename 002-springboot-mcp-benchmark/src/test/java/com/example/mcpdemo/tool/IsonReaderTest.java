@@ -0,0 +1,188 @@
+package com.example.mcpdemo.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsonReaderTest {
+    private static final String USERS = """
+            # exported users
+            table.users
+            id:int name:string score:float active:bool manager:ref note
+            1 Alice 9.5 true :2 "likes \\"tea\\""
+            # comment between rows
+            2 "Bob Smith" -0.25 false null null
+
+            object.settings
+            key value
+            theme dark
+            """;
+
+    @Test
+    void readsTablesRowsAndTypedValues() {
+        try (IsonReader reader = IsonReader.of(USERS)) {
+            assertThat(reader.nextTable()).isTrue();
+            assertThat(reader.tableKind()).isEqualTo("table");
+            assertThat(reader.tableName()).isEqualTo("users");
+            assertThat(reader.columnCount()).isEqualTo(6);
+            assertThat(reader.columnType(0)).isEqualTo(IsonType.INT);
+            assertThat(reader.columnType(4)).isEqualTo(IsonType.REF);
+            assertThat(reader.columnType(5)).isEqualTo(IsonType.AUTO);
+
+            assertThat(reader.nextRow()).isTrue();
+            assertThat(reader.getInt(0)).isEqualTo(1);
+            assertThat(reader.getString(1)).isEqualTo("Alice");
+            assertThat(reader.getDouble(2)).isEqualTo(9.5);
+            assertThat(reader.getBoolean(3)).isTrue();
+            assertThat(reader.get(4)).isEqualTo(":2");
+            assertThat(reader.getString(5)).isEqualTo("likes \"tea\"");
+
+            assertThat(reader.nextRow()).isTrue();
+            assertThat(reader.lineNumber()).isEqualTo(6);
+            assertThat(reader.getString(1)).isEqualTo("Bob Smith");
+            assertThat(reader.getDouble(2)).isEqualTo(-0.25);
+            assertThat(reader.isNull(4)).isTrue();
+            assertThat(reader.rowAsMap()).containsEntry("active", false).containsEntry("note", null);
+            assertThat(reader.nextRow()).isFalse();
+
+            assertThat(reader.nextTable()).isTrue();
+            assertThat(reader.tableKind()).isEqualTo("object");
+            assertThat(reader.nextRow()).isTrue();
+            assertThat(reader.rowAsMap()).containsExactly(Map.entry("key", "theme"), Map.entry("value", "dark"));
+            assertThat(reader.nextTable()).isFalse();
+        }
+    }
+
+    @Test
+    void untypedValuesAreInferredFromTheirShape() {
+        String text = "table.t\na b c d e f g\n7 3000000000 1e3 true \"12\" :x 1.2.3\n";
+        try (IsonReader reader = IsonReader.of(text)) {
+            reader.nextTable();
+            reader.nextRow();
+            assertThat(reader.rowAsMap()).containsExactly(Map.entry("a", 7), Map.entry("b", 3_000_000_000L),
+                    Map.entry("c", 1000.0), Map.entry("d", true), Map.entry("e", "12"), Map.entry("f", ":x"),
+                    Map.entry("g", "1.2.3"));
+        }
+    }
+
+    @Test
+    void malformedInputIsReportedWithItsLine() {
+        assertThatThrownBy(() -> IsonUtils.parseTable("table.t\na b\n1 2\n3\n"))
+                .isInstanceOf(IsonFormatException.class)
+                .hasMessage("line 4: expected 2 values but found 1");
+        assertThatThrownBy(() -> IsonUtils.parseTable("table.t\na\n\"open\n"))
+                .isInstanceOf(IsonFormatException.class)
+                .extracting(ex -> ((IsonFormatException) ex).getLine())
+                .isEqualTo(3L);
+        assertThatThrownBy(() -> IsonUtils.parseTable("table.t\n\n"))
+                .isInstanceOf(IsonFormatException.class)
+                .hasMessageContaining("missing field definitions");
+        assertThatThrownBy(() -> IsonUtils.parseTable("table.t\nn:int\nabc\n"))
+                .isInstanceOf(IsonFormatException.class)
+                .hasMessageContaining("not a valid int");
+    }
+
+    @Test
+    void rowsLongerThanTheBufferAndEverySourceReadTheSame() {
+        String wide = "x".repeat(20_000);
+        String text = "table.t\nid text\r\n1 " + wide + "\r\n2 \"" + wide + " y\"\n";
+        List<Map<String, Object>> expected = List.of(row("id", 1, "text", wide), row("id", 2, "text", wide + " y"));
+
+        assertThat(IsonUtils.parseTable(text)).isEqualTo(expected);
+        assertThat(readAll(IsonReader.of(oneCharAtATime(text)))).isEqualTo(expected);
+        assertThat(readAll(IsonReader.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))))).isEqualTo(expected);
+    }
+
+    @Test
+    void whatTheWriterWritesReadsBackUnchanged() {
+        Random random = new Random(42);
+        List<String> headers = List.of("i:int", "l:int", "f:float", "b:bool", "s:string", "auto");
+        for (int round = 0; round < 200; round++) {
+            List<List<Object>> rows = new ArrayList<>();
+            for (int r = random.nextInt(20); r > 0; r--) {
+                rows.add(List.of(random.nextInt(), random.nextLong(), randomDouble(random), random.nextBoolean(),
+                        randomText(random), randomText(random)));
+            }
+            String text = IsonUtils.generateTable("fuzz", headers, rows);
+
+            List<Map<String, Object>> parsed = IsonUtils.parseTable(text);
+            assertThat(parsed).hasSize(rows.size());
+            for (int r = 0; r < rows.size(); r++) {
+                List<Object> expected = rows.get(r);
+                Map<String, Object> actual = parsed.get(r);
+                assertThat(actual.get("i")).isEqualTo(expected.get(0));
+                assertThat(((Number) actual.get("l")).longValue()).isEqualTo(expected.get(1));
+                assertThat(actual.get("f")).isEqualTo(expected.get(2));
+                assertThat(actual.get("b")).isEqualTo(expected.get(3));
+                assertThat(actual.get("s")).isEqualTo(expected.get(4));
+                assertThat(actual.get("auto")).isEqualTo(expected.get(5));
+            }
+            assertThat(IsonTable.parse(text).rows()).isEqualTo(parsed);
+        }
+    }
+
+    static double randomDouble(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(100_000) / 100.0;
+            case 1 -> -random.nextDouble();
+            case 2 -> random.nextGaussian() * 1e12;
+            default -> Double.longBitsToDouble(random.nextLong() & 0x7FEF_FFFF_FFFF_FFFFL);
+        };
+    }
+
+    /**
+     * Text the writer has to quote or escape half the time: separators, quotes, line breaks, a leading
+     * {@code #}, and words that would otherwise read as another type. Starts with a letter so that an
+     * untyped column infers it back as text.
+     */
+    static String randomText(Random random) {
+        String[] pieces = {"a", "Zed", " ", "\t", "\"", "\\", "\n", "\r\n", "#", "null", "true", "12", "中文", ":"};
+        StringBuilder text = new StringBuilder(random.nextBoolean() ? "w" : "");
+        for (int i = random.nextInt(6); i > 0; i--) {
+            text.append(pieces[random.nextInt(pieces.length)]);
+        }
+        if (text.isEmpty() || !Character.isLetter(text.charAt(0))) {
+            text.insert(0, 'w');
+        }
+        return text.toString();
+    }
+
+    private static List<Map<String, Object>> readAll(IsonReader reader) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (reader) {
+            reader.nextTable();
+            while (reader.nextRow()) {
+                rows.add(reader.rowAsMap());
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> row(Object... entries) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            row.put((String) entries[i], entries[i + 1]);
+        }
+        return row;
+    }
+
+    private static Reader oneCharAtATime(String text) {
+        return new StringReader(text) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.mcpdemo.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsonTableTest {
+
+    @Test
+    void untypedColumnsChangeStorageAsValuesArriveAndStillMatchParseTable() {
+        String text = """
+                table.t
+                small big mixed later text flag
+                null 1 1 null a true
+                2 3000000000 2.5 null b false
+                3 -4 x 7 a null
+                """;
+        IsonTable table = IsonTable.parse(text);
+
+        assertThat(table.rows()).isEqualTo(IsonUtils.parseTable(text));
+        assertThat(table.kind()).isEqualTo("table");
+        assertThat(table.rowCount()).isEqualTo(3);
+        assertThat(table.columnType(0)).isEqualTo(IsonType.AUTO);
+        assertThat(table.isNull(0, 0)).isTrue();
+        assertThat(table.getInt(1, 0)).isEqualTo(2);
+        assertThat(table.get(0, 1)).isEqualTo(1);
+        assertThat(table.get(1, 1)).isEqualTo(3_000_000_000L);
+        assertThat(table.getDouble(2, 1)).isEqualTo(-4.0);
+        assertThat(table.get(0, 2)).isEqualTo(1);
+        assertThat(table.get(1, 2)).isEqualTo(2.5);
+        assertThat(table.get(2, 2)).isEqualTo("x");
+        assertThat(table.get(2, table.columnIndex("later"))).isEqualTo(7);
+        assertThat(table.getString(2, table.columnIndex("text"))).isSameAs(table.getString(0, table.columnIndex("text")));
+        assertThat(table.isNull(2, table.columnIndex("flag"))).isTrue();
+        assertThat(table.columnIndex("missing")).isEqualTo(-1);
+    }
+
+    @Test
+    void gettersOfTheWrongKindFail() {
+        IsonTable table = IsonTable.parse("table.t\nn:int s:string f:float\n1 one 1.5\nnull two 2\n");
+
+        assertThat(table.column(0).getDouble(0)).isEqualTo(1.0);
+        assertThat(table.getDouble(1, 2)).isEqualTo(2.0);
+        assertThatThrownBy(() -> table.getLong(1, 0)).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is null");
+        assertThatThrownBy(() -> table.getLong(0, 1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> table.get(2, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> IsonTable.parse("table.t\nn:int\n1.5\n")).isInstanceOf(IsonFormatException.class);
+    }
+
+    @Test
+    void noTableGivesAnEmptyOne() {
+        IsonTable table = IsonTable.parse("# nothing here\n\n");
+
+        assertThat(table.rowCount()).isZero();
+        assertThat(table.columnCount()).isZero();
+        assertThat(table.rows()).isEmpty();
+    }
+
+    @Test
+    void randomUntypedColumnsMatchParseTable() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int columns = 1 + random.nextInt(4);
+            List<String> headers = new ArrayList<>();
+            for (int c = 0; c < columns; c++) {
+                headers.add("c" + c);
+            }
+            List<List<Object>> rows = new ArrayList<>();
+            for (int r = random.nextInt(30); r > 0; r--) {
+                Object[] row = new Object[columns];
+                for (int c = 0; c < columns; c++) {
+                    row[c] = switch (random.nextInt(c == 0 ? 6 : 3)) {
+                        case 0 -> null;
+                        case 1 -> random.nextInt(1000);
+                        case 2 -> random.nextLong();
+                        case 3 -> IsonReaderTest.randomDouble(random);
+                        case 4 -> random.nextBoolean();
+                        default -> IsonReaderTest.randomText(random);
+                    };
+                }
+                rows.add(Arrays.asList(row));
+            }
+            String text = IsonUtils.generateTable("fuzz", headers, rows);
+
+            assertThat(IsonTable.parse(text).rows()).isEqualTo(IsonUtils.parseTable(text));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.mcpdemo.reactive;
+
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    private final ReactiveSessionManager sessionManager;
+
+    public ReactiveExceptionHandler(ReactiveSessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+    @ExceptionHandler(McpException.class)
+    @ResponseStatus(HttpStatus.OK)
+    public JsonRpcResponse handleMcpException(McpException ex) {
+        sessionManager.broadcast("mcp-error", Map.of("message", ex.getMessage(), "code", ex.getCode()));
+        return JsonRpcResponse.failure(null, ex.getCode(), ex.getMessage(), ex.getData());
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.OK)
+    public JsonRpcResponse handleInvalidInput(ServerWebInputException ex) {
+        if (!(ex.getCause() instanceof DecodingException)) {
+            return handleUnhandledException(ex);
+        }
+        String message = "Invalid JSON payload";
+        sessionManager.broadcast("mcp-error", Map.of("message", message, "code", McpErrorCodes.PARSE_ERROR));
+        return JsonRpcResponse.failure(null, McpErrorCodes.PARSE_ERROR, message, null);
+    }
+
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.OK)
+    public JsonRpcResponse handleUnhandledException(Exception ex) {
+        sessionManager.broadcast("mcp-error", Map.of("message", String.valueOf(ex.getMessage()), "code", McpErrorCodes.INTERNAL_ERROR));
+        return JsonRpcResponse.failure(null, McpErrorCodes.INTERNAL_ERROR, "Internal server error", null);
+    }
+}
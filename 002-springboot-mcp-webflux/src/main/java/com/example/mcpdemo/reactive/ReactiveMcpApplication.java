@@ -0,0 +1,28 @@
+package com.example.mcpdemo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Runs the MCP server on WebFlux/Netty. Tools, services and {@code McpRequestDispatcher} come from
+ * the servlet module unchanged; its controllers and servlet session manager are left out.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ConfigurationPropertiesScan("com.example.mcpdemo")
+@ComponentScan(basePackages = "com.example.mcpdemo", excludeFilters = @ComponentScan.Filter(
+        type = FilterType.REGEX,
+        pattern = {
+                "com\\.example\\.mcpdemo\\.McpDemoApplication",
+                "com\\.example\\.mcpdemo\\.controller\\..*",
+                "com\\.example\\.mcpdemo\\.protocol\\.SseSessionManager"
+        }))
+public class ReactiveMcpApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveMcpApplication.class, args);
+    }
+}
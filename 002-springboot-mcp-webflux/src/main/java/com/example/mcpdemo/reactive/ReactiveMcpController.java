@@ -0,0 +1,104 @@
+package com.example.mcpdemo.reactive;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.protocol.McpRequestDispatcher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Same endpoints as the servlet {@code McpController}. Dispatch may run blocking tool code,
+ * so it is moved off the Netty event loop onto the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping(path = "/mcp")
+public class ReactiveMcpController {
+    private final McpRequestDispatcher dispatcher;
+    private final ReactiveSessionManager sessionManager;
+
+    public ReactiveMcpController(McpRequestDispatcher dispatcher, ReactiveSessionManager sessionManager) {
+        this.dispatcher = dispatcher;
+        this.sessionManager = sessionManager;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> connectMcpSse(
+            @RequestHeader(value = "X-Client-Id", required = false) String headerClientId,
+            @RequestParam(value = "clientId", required = false) String queryClientId
+    ) {
+        String clientId = resolveClientId(headerClientId, queryClientId);
+        Flux<ServerSentEvent<String>> events = sessionManager.connect(clientId);
+        sessionManager.sendToClient(clientId, "endpoint", "http://localhost:8080/mcp/messages?clientId=" + clientId);
+        return events;
+    }
+
+    @PostMapping(path = "/messages", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> handleMcpMessage(
+            @RequestParam("clientId") String clientId,
+            @RequestBody JsonRpcRequest request
+    ) {
+        return Mono.fromRunnable(() -> dispatchToSession(clientId, request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.just(ResponseEntity.status(HttpStatus.ACCEPTED).<Void>build()));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<JsonRpcResponse> handleHttp(
+            @RequestBody JsonRpcRequest request,
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId
+    ) {
+        return Mono.fromCallable(() -> {
+            if (request.getId() == null) {
+                dispatcher.dispatch(request);
+                return null;
+            }
+
+            Object result = dispatcher.dispatch(request);
+            JsonRpcResponse response = JsonRpcResponse.success(request.getId(), result);
+            sessionManager.sendToClient(clientId, "mcp-response", Map.of(
+                    "method", request.getMethod(),
+                    "id", request.getId(),
+                    "status", "ok"
+            ));
+            return response;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void dispatchToSession(String clientId, JsonRpcRequest request) {
+        if (request.getId() == null) {
+            dispatcher.dispatchAsync(request, clientId, null);
+            return;
+        }
+
+        dispatcher.respondAsync(request, clientId, null).thenAccept(response -> {
+            if (!McpRequestDispatcher.isCancelled(response)) {
+                sessionManager.sendToClient(clientId, "message", response);
+            }
+        });
+    }
+
+    private String resolveClientId(String headerClientId, String queryClientId) {
+        if (headerClientId != null && !headerClientId.isBlank()) {
+            return headerClientId.trim();
+        }
+        if (queryClientId != null && !queryClientId.isBlank()) {
+            return queryClientId.trim();
+        }
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.mcpdemo.reactive;
+
+import com.example.mcpdemo.protocol.McpNotifications;
+import com.example.mcpdemo.protocol.SessionClosedEvent;
+import com.example.mcpdemo.tool.ToolListChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive counterpart of {@code SseSessionManager}: each client gets a unicast sink with a bounded
+ * buffer that Netty drains as the socket allows. Senders never wait; when a slow client's buffer
+ * is full the event is dropped and counted.
+ */
+@Component
+public class ReactiveSessionManager {
+    private final Map<String, Sinks.Many<ServerSentEvent<String>>> sessions = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ReactiveSessionProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    public ReactiveSessionManager(ObjectMapper objectMapper, ReactiveSessionProperties properties,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Flux<ServerSentEvent<String>> connect(String clientId) {
+        String key = normalizeClientId(clientId);
+        Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(properties.bufferSize()).get());
+        Sinks.Many<ServerSentEvent<String>> previous = sessions.put(key, sink);
+        if (previous != null) {
+            previous.tryEmitComplete();
+        }
+        return sink.asFlux().doFinally(signal -> {
+            if (sessions.remove(key, sink)) {
+                eventPublisher.publishEvent(new SessionClosedEvent(key));
+            }
+        });
+    }
+
+    public void sendToClient(String clientId, String eventName, Object payload) {
+        Sinks.Many<ServerSentEvent<String>> sink = sessions.get(normalizeClientId(clientId));
+        if (sink == null) {
+            return;
+        }
+        emit(sink, event(eventName, payload));
+    }
+
+    public void broadcast(String eventName, Object payload) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        ServerSentEvent<String> event = event(eventName, payload);
+        sessions.values().forEach(sink -> emit(sink, event));
+    }
+
+    @EventListener
+    public void onToolListChanged(ToolListChangedEvent event) {
+        broadcast("message", McpNotifications.TOOLS_LIST_CHANGED);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public long droppedEvents() {
+        return droppedEvents.get();
+    }
+
+    private void emit(Sinks.Many<ServerSentEvent<String>> sink, ServerSentEvent<String> event) {
+        Sinks.EmitResult result;
+        while ((result = sink.tryEmitNext(event)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+        if (result.isFailure()) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    private ServerSentEvent<String> event(String eventName, Object payload) {
+        String data;
+        if (payload instanceof String text) {
+            data = text;
+        } else {
+            try {
+                data = objectMapper.writeValueAsString(payload);
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return ServerSentEvent.<String>builder()
+                .event(eventName)
+                .data(data)
+                .build();
+    }
+
+    private String normalizeClientId(String clientId) {
+        return (clientId == null || clientId.isBlank()) ? "default" : clientId.trim();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.mcpdemo.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mcp.reactive")
+public record ReactiveSessionProperties(
+        @DefaultValue("256") int bufferSize
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.mcpdemo.reactive;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping(path = "/mcp/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+public class ReactiveSseController {
+    private final ReactiveSessionManager sessionManager;
+
+    public ReactiveSseController(ReactiveSessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+    @GetMapping
+    public Flux<ServerSentEvent<String>> connect(@RequestHeader(value = "X-Client-Id", required = false) String clientId) {
+        return sessionManager.connect(clientId);
+    }
+}
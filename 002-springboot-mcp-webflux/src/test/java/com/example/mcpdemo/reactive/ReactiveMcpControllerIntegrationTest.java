@@ -0,0 +1,92 @@
+package com.example.mcpdemo.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveMcpControllerIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void toolsCallShouldReturnCalendarEvents() {
+        Map<String, Object> body = post(Map.of(
+                "jsonrpc", "2.0",
+                "method", "tools/call",
+                "params", Map.of(
+                        "name", "get_calendar_events",
+                        "arguments", Map.of("start_time", "2026-02-11T00:00:00", "end_time", "2026-02-12T23:59:59")
+                ),
+                "id", 1
+        ));
+
+        Map<String, Object> result = (Map<String, Object>) body.get("result");
+        assertThat(result.get("event_count")).isEqualTo(3);
+    }
+
+    @Test
+    void unknownToolShouldReturnError() {
+        Map<String, Object> body = post(Map.of(
+                "jsonrpc", "2.0",
+                "method", "tools/call",
+                "params", Map.of("name", "unknown_tool", "arguments", Map.of()),
+                "id", 2
+        ));
+
+        Map<String, Object> error = (Map<String, Object>) body.get("error");
+        assertThat(error.get("code")).isEqualTo(-32001);
+    }
+
+    @Test
+    void messageResponseShouldArriveOnSseStream() {
+        Flux<ServerSentEvent<String>> events = webTestClient.get()
+                .uri("/mcp?clientId=reactive-client")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .assertNext(event -> assertThat(event.event()).isEqualTo("endpoint"))
+                .then(() -> webTestClient.post()
+                        .uri("/mcp/messages?clientId=reactive-client")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("jsonrpc", "2.0", "method", "tools/list", "id", 3))
+                        .exchange()
+                        .expectStatus().isAccepted())
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("message");
+                    assertThat(event.data()).contains("get_calendar_events");
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private Map<String, Object> post(Map<String, Object> payload) {
+        return webTestClient.post()
+                .uri("/mcp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Client-Id", "test-client")
+                .bodyValue(payload)
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+    }
+}
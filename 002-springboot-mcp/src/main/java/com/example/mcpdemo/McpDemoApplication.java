@@ -2,8 +2,10 @@ package com.example.mcpdemo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class McpDemoApplication {
     public static void main(String[] args) {
         SpringApplication.run(McpDemoApplication.class, args);
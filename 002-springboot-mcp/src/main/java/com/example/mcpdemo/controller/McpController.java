@@ -2,10 +2,16 @@ package com.example.mcpdemo.controller;
 
 import com.example.mcpdemo.model.JsonRpcRequest;
 import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.protocol.JsonRpcMessage;
+import com.example.mcpdemo.protocol.JsonRpcRequestDecoder;
+import com.example.mcpdemo.protocol.McpBatchProcessor;
 import com.example.mcpdemo.protocol.McpErrorCodes;
 import com.example.mcpdemo.protocol.McpException;
 import com.example.mcpdemo.protocol.McpRequestDispatcher;
 import com.example.mcpdemo.protocol.SseSessionManager;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.example.mcpdemo.tool.ToolSnapshot;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,25 +26,35 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/mcp")
 public class McpController {
     private final McpRequestDispatcher dispatcher;
+    private final JsonRpcRequestDecoder requestDecoder;
+    private final McpBatchProcessor batchProcessor;
     private final SseSessionManager sseSessionManager;
+    private final ToolRegistry toolRegistry;
 
-    public McpController(McpRequestDispatcher dispatcher, SseSessionManager sseSessionManager) {
+    public McpController(McpRequestDispatcher dispatcher, JsonRpcRequestDecoder requestDecoder,
+                         McpBatchProcessor batchProcessor, SseSessionManager sseSessionManager,
+                         ToolRegistry toolRegistry) {
         this.dispatcher = dispatcher;
+        this.requestDecoder = requestDecoder;
+        this.batchProcessor = batchProcessor;
         this.sseSessionManager = sseSessionManager;
+        this.toolRegistry = toolRegistry;
     }
 
     @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter connectMcpSse(
             @RequestHeader(value = "X-Client-Id", required = false) String headerClientId,
-            @RequestParam(value = "clientId", required = false) String queryClientId
+            @RequestParam(value = "clientId", required = false) String queryClientId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
     ) {
-        String clientId = resolveClientId(headerClientId, queryClientId);
-        SseEmitter emitter = sseSessionManager.connect(clientId);
+        String clientId = resolveClientId(headerClientId, queryClientId, SseSessionManager.clientIdOf(lastEventId));
+        SseEmitter emitter = sseSessionManager.connect(clientId, lastEventId);
         sseSessionManager.sendToClient(clientId, "endpoint", "http://localhost:8080/mcp/messages?clientId=" + clientId);
         return emitter;
     }
@@ -46,60 +62,100 @@ public class McpController {
     @PostMapping(path = "/messages", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Void> handleMcpMessage(
             @RequestParam("clientId") String clientId,
-            @RequestBody JsonRpcRequest request
+            @RequestBody byte[] body
     ) {
-        if (request == null || request.getId() == null) {
-            try {
-                dispatcher.dispatch(request);
-            } catch (Exception ignored) {
-            }
+        JsonRpcMessage message = requestDecoder.decode(body);
+        if (message.batch()) {
+            batchProcessor.process(message.requests(), clientId).thenAccept(responses -> {
+                if (!responses.isEmpty()) {
+                    sseSessionManager.sendToClient(clientId, "message", responses);
+                }
+            });
             return ResponseEntity.status(HttpStatus.ACCEPTED).build();
         }
 
-        JsonRpcResponse response;
-        try {
-            Object result = dispatcher.dispatch(request);
-            response = JsonRpcResponse.success(request.getId(), result);
-        } catch (McpException ex) {
-            response = JsonRpcResponse.failure(request != null ? request.getId() : null, ex.getCode(), ex.getMessage(), ex.getData());
-        } catch (Exception ex) {
-            response = JsonRpcResponse.failure(request != null ? request.getId() : null,
-                    McpErrorCodes.INTERNAL_ERROR,
-                    "Internal server error",
-                    null);
+        JsonRpcRequest request = message.single();
+        if (request.getId() == null) {
+            dispatcher.dispatchAsync(request, clientId, null);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
         }
 
-        sseSessionManager.sendToClient(clientId, "message", response);
+        if (McpRequestDispatcher.progressToken(request) != null) {
+            dispatcher.respondAsync(request, clientId, notification -> sseSessionManager
+                    .stream(clientId, "message", notification)
+                    .thenAccept(queued -> {
+                        if (!queued) {
+                            throw new McpException(McpErrorCodes.STREAM_ABORTED,
+                                    "Client stopped consuming the result stream");
+                        }
+                    })).thenAccept(response -> {
+                if (!McpRequestDispatcher.isCancelled(response)) {
+                    // a response the stream could not queue in time still goes out, or is kept for replay
+                    sseSessionManager.stream(clientId, "message", response).thenAccept(queued -> {
+                        if (!queued) {
+                            sseSessionManager.sendToClient(clientId, "message", response);
+                        }
+                    });
+                }
+            });
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+
+        dispatcher.respondAsync(request, clientId, null).thenAccept(response -> {
+            if (!McpRequestDispatcher.isCancelled(response)) {
+                sseSessionManager.sendToClient(clientId, "message", response);
+            }
+        });
         return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public JsonRpcResponse handleHttp(
-            @RequestBody JsonRpcRequest request,
+    public CompletableFuture<?> handleHttp(
+            @RequestBody byte[] body,
             @RequestHeader(value = "X-Client-Id", required = false) String clientId
     ) {
-        if (request == null || request.getId() == null) {
-            dispatcher.dispatch(request);
-            return null;
+        JsonRpcMessage message = requestDecoder.decode(body);
+        if (message.batch()) {
+            return batchProcessor.process(message.requests(), clientId).thenApply(responses -> responses.isEmpty() ? null : responses);
         }
 
-        Object result = dispatcher.dispatch(request);
-        JsonRpcResponse response = JsonRpcResponse.success(request.getId(), result);
-        sseSessionManager.sendToClient(clientId, "mcp-response", Map.of(
-                "method", request.getMethod(),
-                "id", request.getId(),
-                "status", "ok"
-        ));
-        return response;
+        JsonRpcRequest request = message.single();
+        if (request.getId() == null) {
+            return dispatcher.dispatchAsync(request, clientId, null).thenApply(result -> null);
+        }
+
+        return dispatcher.dispatchAsync(request, clientId, null).thenApply(result -> {
+            JsonRpcResponse response = JsonRpcResponse.success(request.getId(), result);
+            sseSessionManager.sendToClient(clientId, "mcp-response", Map.of(
+                    "method", request.getMethod(),
+                    "id", request.getId(),
+                    "status", "ok"
+            ));
+            return response;
+        });
+    }
+
+    @GetMapping(path = "/tools", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listTools(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ToolSnapshot snapshot = toolRegistry.snapshot();
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.listJson());
     }
 
-    private String resolveClientId(String headerClientId, String queryClientId) {
+    private String resolveClientId(String headerClientId, String queryClientId, String resumedClientId) {
         if (headerClientId != null && !headerClientId.isBlank()) {
             return headerClientId.trim();
         }
         if (queryClientId != null && !queryClientId.isBlank()) {
             return queryClientId.trim();
         }
+        if (resumedClientId != null && !resumedClientId.isBlank()) {
+            return resumedClientId;
+        }
         return UUID.randomUUID().toString();
     }
 }
@@ -1,11 +1,22 @@
 package com.example.mcpdemo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 
 public class JsonRpcRequest {
+    private static final TypeReference<Map<String, Object>> PARAMS_TYPE = new TypeReference<>() {
+    };
+
     private String jsonrpc;
     private String method;
     private Map<String, Object> params;
+    private TokenBuffer rawParams;
     private Object id;
 
     public String getJsonrpc() {
@@ -25,11 +36,33 @@ public class JsonRpcRequest {
     }
 
     public Map<String, Object> getParams() {
+        if (params == null && rawParams != null) {
+            params = readParams(PARAMS_TYPE);
+        }
         return params;
     }
 
     public void setParams(Map<String, Object> params) {
         this.params = params;
+        this.rawParams = null;
+    }
+
+    /**
+     * Keeps {@code params} as buffered tokens; they are bound on first {@link #getParams()} call,
+     * so methods that never look at their params never build the map.
+     */
+    @JsonIgnore
+    public void setRawParams(TokenBuffer rawParams) {
+        this.params = null;
+        this.rawParams = rawParams;
+    }
+
+    private <T> T readParams(TypeReference<T> type) {
+        try (JsonParser parser = rawParams.asParser()) {
+            return parser.readValueAs(type);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 
     public Object getId() {
@@ -0,0 +1,95 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.tool.ToolCallContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contexts of the tool calls each client has in flight, keyed by request id, so that
+ * {@code notifications/cancelled} and a closed session can reach the calls they stop.
+ */
+@Component
+public class InFlightRequests {
+    private final Map<String, Map<Object, ToolCallContext>> byClient = new ConcurrentHashMap<>();
+
+    /**
+     * A context for a new call, tracked until {@link #complete} if the call has both a client and a request id.
+     */
+    public ToolCallContext register(String clientId, Object requestId) {
+        ToolCallContext context = new ToolCallContext();
+        if (clientId == null || requestId == null) {
+            return context;
+        }
+        byClient.compute(normalizeClientId(clientId), (key, calls) -> {
+            Map<Object, ToolCallContext> tracked = calls == null ? new HashMap<>() : calls;
+            tracked.put(normalizeRequestId(requestId), context);
+            return tracked;
+        });
+        return context;
+    }
+
+    public void complete(String clientId, Object requestId, ToolCallContext context) {
+        if (clientId == null || requestId == null) {
+            return;
+        }
+        byClient.computeIfPresent(normalizeClientId(clientId), (key, calls) -> {
+            calls.remove(normalizeRequestId(requestId), context);
+            return calls.isEmpty() ? null : calls;
+        });
+    }
+
+    /**
+     * Cancels the client's call with {@code requestId}; returns {@code false} if no such call is in flight.
+     */
+    public boolean cancel(String clientId, Object requestId, String reason) {
+        if (clientId == null || requestId == null) {
+            return false;
+        }
+        ToolCallContext[] found = new ToolCallContext[1];
+        byClient.computeIfPresent(normalizeClientId(clientId), (key, calls) -> {
+            found[0] = calls.remove(normalizeRequestId(requestId));
+            return calls.isEmpty() ? null : calls;
+        });
+        return found[0] != null && found[0].cancel(reason);
+    }
+
+    /**
+     * Cancels every call the client has in flight and returns how many there were.
+     */
+    public int cancelAll(String clientId, String reason) {
+        Map<Object, ToolCallContext> calls = byClient.remove(normalizeClientId(clientId));
+        if (calls == null) {
+            return 0;
+        }
+        List<ToolCallContext> contexts = new ArrayList<>(calls.values());
+        contexts.forEach(context -> context.cancel(reason));
+        return contexts.size();
+    }
+
+    public int size() {
+        return byClient.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @EventListener
+    public void onSessionClosed(SessionClosedEvent event) {
+        cancelAll(event.clientId(), "client disconnected");
+    }
+
+    private Object normalizeRequestId(Object requestId) {
+        if (requestId instanceof Number number) {
+            return new BigDecimal(number.toString()).stripTrailingZeros();
+        }
+        return requestId;
+    }
+
+    private String normalizeClientId(String clientId) {
+        return (clientId == null || clientId.isBlank()) ? "default" : clientId.trim();
+    }
+}
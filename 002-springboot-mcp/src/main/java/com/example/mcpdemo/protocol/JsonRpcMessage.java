@@ -0,0 +1,14 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+
+import java.util.List;
+
+/**
+ * A decoded request body: one request, or a batch whose invalid elements are {@code null}.
+ */
+public record JsonRpcMessage(boolean batch, List<JsonRpcRequest> requests) {
+    public JsonRpcRequest single() {
+        return requests.get(0);
+    }
+}
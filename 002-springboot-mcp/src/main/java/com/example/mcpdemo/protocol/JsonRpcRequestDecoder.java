@@ -0,0 +1,164 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.example.mcpdemo.tool.ToolSnapshot;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes request bodies with a streaming {@link JsonParser} instead of binding a tree: envelope fields
+ * are read directly and {@code params} is copied into a {@link TokenBuffer} that is only bound to a map
+ * if the handler asks for it. When {@code method} arrives first and is {@code tools/call}, whose params
+ * are always read, they are bound straight to the map instead.
+ *
+ * <p>If {@code params.name} also precedes {@code params.arguments}, the arguments are bound against that
+ * tool's input schema as they are read: a property its closed schema rejects is kept with a {@code null}
+ * value and its value is skipped, so validation fails the call as before without the value ever being
+ * materialized. The schema is the one registered when the body is decoded.
+ */
+@Component
+public class JsonRpcRequestDecoder {
+    private static final String TOOLS_CALL = "tools/call";
+
+    private final ObjectMapper objectMapper;
+    private final ToolRegistry toolRegistry;
+
+    public JsonRpcRequestDecoder(ObjectMapper objectMapper, ToolRegistry toolRegistry) {
+        this.objectMapper = objectMapper;
+        this.toolRegistry = toolRegistry;
+    }
+
+    public JsonRpcMessage decode(byte[] body) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            JsonRpcMessage message;
+            if (token == JsonToken.START_ARRAY) {
+                List<JsonRpcRequest> requests = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    requests.add(readElement(parser));
+                }
+                message = new JsonRpcMessage(true, requests);
+            } else if (token == JsonToken.START_OBJECT) {
+                JsonRpcRequest request = readRequest(parser);
+                if (request == null) {
+                    throw new McpException(McpErrorCodes.INVALID_REQUEST, "Invalid request");
+                }
+                message = new JsonRpcMessage(false, List.of(request));
+            } else if (token == null) {
+                throw new McpException(McpErrorCodes.PARSE_ERROR, "Invalid JSON payload");
+            } else {
+                throw new McpException(McpErrorCodes.INVALID_REQUEST, "Request must be a JSON object or array");
+            }
+            if (parser.nextToken() != null) {
+                throw new McpException(McpErrorCodes.PARSE_ERROR, "Invalid JSON payload");
+            }
+            return message;
+        } catch (JsonProcessingException ex) {
+            throw new McpException(McpErrorCodes.PARSE_ERROR, "Invalid JSON payload");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private JsonRpcRequest readElement(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return readRequest(parser);
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Reads one request object, leaving the parser on its END_OBJECT; returns {@code null} if a member
+     * has the wrong JSON type.
+     */
+    private JsonRpcRequest readRequest(JsonParser parser) throws IOException {
+        JsonRpcRequest request = new JsonRpcRequest();
+        boolean valid = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "jsonrpc" -> {
+                    if (value == JsonToken.VALUE_STRING) {
+                        request.setJsonrpc(parser.getText());
+                    } else {
+                        valid = false;
+                    }
+                }
+                case "method" -> {
+                    if (value == JsonToken.VALUE_STRING) {
+                        request.setMethod(parser.getText());
+                    } else {
+                        valid = false;
+                    }
+                }
+                case "id" -> {
+                    switch (value) {
+                        case VALUE_STRING -> request.setId(parser.getText());
+                        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> request.setId(parser.getNumberValue());
+                        case VALUE_NULL -> request.setId(null);
+                        default -> valid = false;
+                    }
+                }
+                case "params" -> {
+                    if (value == JsonToken.START_OBJECT && TOOLS_CALL.equals(request.getMethod())) {
+                        request.setParams(readToolCallParams(parser));
+                    } else if (value == JsonToken.START_OBJECT) {
+                        TokenBuffer params = new TokenBuffer(parser);
+                        params.copyCurrentStructure(parser);
+                        request.setRawParams(params);
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        valid = false;
+                    }
+                }
+                default -> {
+                }
+            }
+            parser.skipChildren();
+        }
+        return valid ? request : null;
+    }
+
+    private Map<String, Object> readToolCallParams(JsonParser parser) throws IOException {
+        Map<String, Object> params = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("arguments".equals(field) && value == JsonToken.START_OBJECT && params.get("name") instanceof String name) {
+                params.put(field, readArguments(parser, toolRegistry.snapshot(), name));
+            } else {
+                params.put(field, parser.readValueAs(Object.class));
+            }
+        }
+        return params;
+    }
+
+    private Map<String, Object> readArguments(JsonParser parser, ToolSnapshot snapshot, String toolName)
+            throws IOException {
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String property = parser.currentName();
+            parser.nextToken();
+            if (snapshot.rejectsArgument(toolName, property)) {
+                parser.skipChildren();
+                arguments.put(property, null);
+            } else {
+                arguments.put(property, parser.readValueAs(Object.class));
+            }
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.mcpdemo.protocol;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Nodes of one JVM connected to each other, for running several {@link SseSessionManager}s locally as a
+ * cluster would. Each {@link #join()} returns the transport of a new node; publishing hands the message to
+ * every other node's receiver on the publishing thread.
+ */
+public final class LoopbackSseCluster {
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    public SseClusterTransport join() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private final class Node implements SseClusterTransport {
+        private volatile Consumer<SseClusterMessage> receiver;
+
+        @Override
+        public void publish(SseClusterMessage message) {
+            for (Node node : nodes) {
+                Consumer<SseClusterMessage> target = node.receiver;
+                if (node != this && target != null) {
+                    target.accept(message);
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(Consumer<SseClusterMessage> receiver) {
+            this.receiver = receiver;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * JSON-RPC 2.0 batch handling: every element is dispatched before any is awaited, so tool calls run
+ * concurrently on the tool executor, and the responses are collected in request order with
+ * notifications and cancelled requests left out.
+ */
+@Component
+public class McpBatchProcessor {
+    private final McpRequestDispatcher dispatcher;
+    private final McpBatchProperties properties;
+
+    public McpBatchProcessor(McpRequestDispatcher dispatcher, McpBatchProperties properties) {
+        this.dispatcher = dispatcher;
+        this.properties = properties;
+    }
+
+    /**
+     * Completes with the batch responses, or with an empty list when every element was a notification or
+     * was cancelled.
+     * {@code null} elements are answered with an Invalid Request error.
+     */
+    public CompletableFuture<List<JsonRpcResponse>> process(List<JsonRpcRequest> batch) {
+        return process(batch, null);
+    }
+
+    /**
+     * Like {@link #process(List)}, with the tool calls cancellable by {@code clientId}.
+     */
+    public CompletableFuture<List<JsonRpcResponse>> process(List<JsonRpcRequest> batch, String clientId) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of(invalid("Batch must not be empty")));
+        }
+        if (batch.size() > properties.maxSize()) {
+            return CompletableFuture.completedFuture(List.of(
+                    invalid("Batch size " + batch.size() + " exceeds limit " + properties.maxSize())));
+        }
+
+        List<CompletableFuture<JsonRpcResponse>> pending = new ArrayList<>(batch.size());
+        for (JsonRpcRequest request : batch) {
+            if (request == null) {
+                pending.add(CompletableFuture.completedFuture(invalid("Invalid request")));
+            } else if (request.getId() == null) {
+                dispatcher.dispatchAsync(request, clientId, null);
+            } else {
+                pending.add(dispatcher.respondAsync(request, clientId, null));
+            }
+        }
+
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> pending.stream()
+                        .map(CompletableFuture::join)
+                        .filter(response -> !McpRequestDispatcher.isCancelled(response))
+                        .toList());
+    }
+
+    private JsonRpcResponse invalid(String message) {
+        return JsonRpcResponse.failure(null, McpErrorCodes.INVALID_REQUEST, message, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.mcpdemo.protocol;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mcp.batch")
+public record McpBatchProperties(
+        @DefaultValue("100") int maxSize
+) {
+}
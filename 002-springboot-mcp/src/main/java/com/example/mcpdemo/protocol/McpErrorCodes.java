@@ -10,4 +10,8 @@ public final class McpErrorCodes {
     public static final int INVALID_PARAMS = -32602;
     public static final int INTERNAL_ERROR = -32603;
     public static final int TOOL_NOT_FOUND = -32001;
+    public static final int TOOL_BUSY = -32002;
+    public static final int STREAM_ABORTED = -32003;
+    public static final int DEADLINE_EXCEEDED = -32004;
+    public static final int REQUEST_CANCELLED = -32800;
 }
@@ -0,0 +1,24 @@
+package com.example.mcpdemo.protocol;
+
+import java.util.List;
+import java.util.Map;
+
+public final class McpNotifications {
+    private McpNotifications() {
+    }
+
+    public static final Map<String, Object> TOOLS_LIST_CHANGED =
+            Map.of("jsonrpc", "2.0", "method", "notifications/tools/list_changed");
+
+    /**
+     * A {@code notifications/progress} message whose {@code progress} counts the items streamed so far
+     * and whose {@code items} carries the latest chunk.
+     */
+    public static Map<String, Object> progress(Object progressToken, long progress, List<?> items) {
+        return Map.of("jsonrpc", "2.0", "method", "notifications/progress", "params", Map.of(
+                "progressToken", progressToken,
+                "progress", progress,
+                "items", items
+        ));
+    }
+}
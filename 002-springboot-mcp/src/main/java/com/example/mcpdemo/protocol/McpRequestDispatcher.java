@@ -1,38 +1,234 @@
 package com.example.mcpdemo.protocol;
 
 import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
 import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.tool.ToolCallContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+/**
+ * Routes JSON-RPC requests to their handlers. Each request is timed in {@code mcp.requests} by method, until
+ * its result completes for {@code tools/call}, and a failure counts in {@code mcp.request.errors} by method and
+ * JSON-RPC error code. Methods outside the protocol share the tag {@code unknown} to keep the series bounded.
+ */
 @Component
 public class McpRequestDispatcher {
+    private static final List<String> METHODS = List.of("initialize", "ping", "notifications/initialized",
+            "initialized", "notifications/cancelled", "tools/list", "tools/call");
+    private static final String UNKNOWN_METHOD = "unknown";
+
     private final McpToolsService mcpToolsService;
+    private final InFlightRequests inFlightRequests;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
 
-    public McpRequestDispatcher(McpToolsService mcpToolsService) {
+    public McpRequestDispatcher(McpToolsService mcpToolsService, InFlightRequests inFlightRequests,
+                                MeterRegistry meterRegistry) {
         this.mcpToolsService = mcpToolsService;
+        this.inFlightRequests = inFlightRequests;
+        this.meterRegistry = meterRegistry;
+        METHODS.forEach(method -> timers.put(method, requestTimer(method)));
+        timers.put(UNKNOWN_METHOD, requestTimer(UNKNOWN_METHOD));
     }
 
     public Object dispatch(JsonRpcRequest request) {
-        if (request == null || request.getMethod() == null || request.getMethod().isBlank()) {
-            throw new McpException(McpErrorCodes.INVALID_REQUEST, "Missing method in request");
-        }
-        if (request.getJsonrpc() == null || !"2.0".equals(request.getJsonrpc())) {
-            throw new McpException(McpErrorCodes.INVALID_REQUEST, "Only JSON-RPC 2.0 is supported");
+        long start = System.nanoTime();
+        try {
+            Object result = route(request);
+            record(request, start, null);
+            return result;
+        } catch (RuntimeException ex) {
+            record(request, start, ex);
+            throw ex;
         }
+    }
 
+    private Object route(JsonRpcRequest request) {
+        validate(request);
         return switch (request.getMethod()) {
             case "initialize" -> handleInitialize();
             case "ping" -> Map.of();
-            case "notifications/initialized", "initialized" -> Map.of();
-            case "tools/list" -> mcpToolsService.listTools();
+            case "notifications/initialized", "initialized", "notifications/cancelled" -> Map.of();
+            case "tools/list" -> mcpToolsService.listTools(request.getParams());
             case "tools/call" -> mcpToolsService.callTool(request.getParams());
             default -> throw new McpException(McpErrorCodes.METHOD_NOT_FOUND,
                     "Method not found: " + request.getMethod());
         };
     }
 
+    /**
+     * Like {@link #dispatch} but hands {@code tools/call} to the tool executor instead of waiting for it;
+     * every other method completes before returning. Failures are reported through the future.
+     */
+    public CompletableFuture<Object> dispatchAsync(JsonRpcRequest request) {
+        return dispatchAsync(request, null, null);
+    }
+
+    /**
+     * Like {@link #dispatchAsync(JsonRpcRequest)} on behalf of {@code clientId}: its {@code tools/call} can be
+     * stopped by {@code notifications/cancelled} or by its session closing, and a {@code tools/call} carrying
+     * {@code _meta.progressToken} streams the items of a streaming tool to {@code notifications}, if given, as
+     * {@code notifications/progress} messages before the result completes. The next message follows once the
+     * future {@code notifications} returned for the previous one completes; a failed future stops the call.
+     */
+    public CompletableFuture<Object> dispatchAsync(JsonRpcRequest request, String clientId,
+                                                   Function<Object, CompletableFuture<?>> notifications) {
+        long start = System.nanoTime();
+        try {
+            validate(request);
+            return switch (request.getMethod()) {
+                case "tools/call" -> callTool(request, clientId, notifications)
+                        .whenComplete((result, failure) -> record(request, start, failure));
+                case "notifications/cancelled" -> {
+                    cancel(clientId, request.getParams());
+                    record(request, start, null);
+                    yield CompletableFuture.completedFuture(Map.of());
+                }
+                default -> {
+                    Object result = route(request);
+                    record(request, start, null);
+                    yield CompletableFuture.completedFuture(result);
+                }
+            };
+        } catch (RuntimeException ex) {
+            record(request, start, ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Dispatches asynchronously and folds the outcome into a response carrying the request id;
+     * the returned future never completes exceptionally.
+     */
+    public CompletableFuture<JsonRpcResponse> respondAsync(JsonRpcRequest request) {
+        return respondAsync(request, null, null);
+    }
+
+    /**
+     * {@link #respondAsync(JsonRpcRequest)} with the cancellation and streaming of
+     * {@link #dispatchAsync(JsonRpcRequest, String, Function)}.
+     */
+    public CompletableFuture<JsonRpcResponse> respondAsync(JsonRpcRequest request, String clientId,
+                                                           Function<Object, CompletableFuture<?>> notifications) {
+        return respond(request, dispatchAsync(request, clientId, notifications));
+    }
+
+    /**
+     * Whether {@code response} reports a cancelled request, which MCP says not to send back.
+     */
+    public static boolean isCancelled(JsonRpcResponse response) {
+        return response.getError() != null && response.getError().getCode() == McpErrorCodes.REQUEST_CANCELLED;
+    }
+
+    /**
+     * The {@code params._meta.progressToken} of a {@code tools/call}, or {@code null} if it has none.
+     */
+    public static Object progressToken(JsonRpcRequest request) {
+        if (request == null || !"tools/call".equals(request.getMethod()) || request.getParams() == null) {
+            return null;
+        }
+        if (request.getParams().get("_meta") instanceof Map<?, ?> meta) {
+            Object token = meta.get("progressToken");
+            return token instanceof String || token instanceof Number ? token : null;
+        }
+        return null;
+    }
+
+    private CompletableFuture<Object> callTool(JsonRpcRequest request, String clientId,
+                                               Function<Object, CompletableFuture<?>> notifications) {
+        Object progressToken = notifications == null ? null : progressToken(request);
+        Function<List<?>, CompletableFuture<?>> chunks = null;
+        if (progressToken != null) {
+            AtomicLong progress = new AtomicLong();
+            chunks = items -> notifications.apply(
+                    McpNotifications.progress(progressToken, progress.addAndGet(items.size()), items));
+        }
+        Object id = request.getId();
+        ToolCallContext context = inFlightRequests.register(clientId, id);
+        CompletableFuture<Object> result;
+        try {
+            result = mcpToolsService.callToolAsync(request.getParams(), context, chunks);
+        } catch (RuntimeException ex) {
+            inFlightRequests.complete(clientId, id, context);
+            throw ex;
+        }
+        return result.whenComplete((value, failure) -> inFlightRequests.complete(clientId, id, context));
+    }
+
+    private void cancel(String clientId, Map<String, Object> params) {
+        if (params == null) {
+            return;
+        }
+        Object reason = params.get("reason");
+        inFlightRequests.cancel(clientId, params.get("requestId"), reason instanceof String text ? text : null);
+    }
+
+    private CompletableFuture<JsonRpcResponse> respond(JsonRpcRequest request, CompletableFuture<Object> outcome) {
+        Object id = request != null ? request.getId() : null;
+        return outcome.handle((result, failure) -> {
+            if (failure == null) {
+                return JsonRpcResponse.success(id, result);
+            }
+            if (unwrap(failure) instanceof McpException ex) {
+                return JsonRpcResponse.failure(id, ex.getCode(), ex.getMessage(), ex.getData());
+            }
+            return JsonRpcResponse.failure(id, McpErrorCodes.INTERNAL_ERROR, "Internal server error", null);
+        });
+    }
+
+    private void record(JsonRpcRequest request, long start, Throwable failure) {
+        String method = request == null ? null : request.getMethod();
+        Timer timer = method == null ? null : timers.get(method);
+        if (timer == null) {
+            method = UNKNOWN_METHOD;
+            timer = timers.get(UNKNOWN_METHOD);
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            int code = unwrap(failure) instanceof McpException ex ? ex.getCode() : McpErrorCodes.INTERNAL_ERROR;
+            String tag = method;
+            errors.computeIfAbsent(method + ' ' + code, key -> Counter.builder("mcp.request.errors")
+                    .description("JSON-RPC requests that failed, by error code")
+                    .tag("method", tag)
+                    .tag("code", Integer.toString(code))
+                    .register(meterRegistry)).increment();
+        }
+    }
+
+    private Timer requestTimer(String method) {
+        return Timer.builder("mcp.requests")
+                .description("JSON-RPC request handling time")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private void validate(JsonRpcRequest request) {
+        if (request == null || request.getMethod() == null || request.getMethod().isBlank()) {
+            throw new McpException(McpErrorCodes.INVALID_REQUEST, "Missing method in request");
+        }
+        if (request.getJsonrpc() == null || !"2.0".equals(request.getJsonrpc())) {
+            throw new McpException(McpErrorCodes.INVALID_REQUEST, "Only JSON-RPC 2.0 is supported");
+        }
+    }
+
     private Map<String, Object> handleInitialize() {
         return Map.of(
                 "protocolVersion", "2025-06-18",
@@ -41,7 +237,7 @@ public class McpRequestDispatcher {
                         "version", "0.0.1"
                 ),
                 "capabilities", Map.of(
-                        "tools", Map.of("listChanged", false)
+                        "tools", Map.of("listChanged", true)
                 )
         );
     }
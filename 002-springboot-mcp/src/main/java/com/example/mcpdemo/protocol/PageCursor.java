@@ -0,0 +1,44 @@
+package com.example.mcpdemo.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque {@code cursor}/{@code nextCursor} values: the sort-key parts of the last item returned, joined and
+ * base64url-encoded. Clients must treat them as opaque; a value that does not decode is {@code INVALID_PARAMS}.
+ */
+public final class PageCursor {
+    private static final char SEPARATOR = '\n';
+
+    private PageCursor() {
+    }
+
+    public static String encode(String... parts) {
+        String joined = String.join(String.valueOf(SEPARATOR), parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor made of exactly {@code parts} parts; the last part may contain anything.
+     */
+    public static String[] decode(Object cursor, int parts) {
+        if (!(cursor instanceof String text) || text.isEmpty()) {
+            throw invalid();
+        }
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalid();
+        }
+        String[] decoded = joined.split(String.valueOf(SEPARATOR), parts);
+        if (decoded.length != parts) {
+            throw invalid();
+        }
+        return decoded;
+    }
+
+    public static McpException invalid() {
+        return new McpException(McpErrorCodes.INVALID_PARAMS, "Invalid cursor");
+    }
+}
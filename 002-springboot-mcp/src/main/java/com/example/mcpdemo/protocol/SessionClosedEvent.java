@@ -0,0 +1,8 @@
+package com.example.mcpdemo.protocol;
+
+/**
+ * Published when a client's event stream ends for good (completion, timeout or error), as opposed to being
+ * replaced by a reconnect under the same client id.
+ */
+public record SessionClosedEvent(String clientId) {
+}
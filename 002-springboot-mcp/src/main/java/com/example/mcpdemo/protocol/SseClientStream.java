@@ -0,0 +1,94 @@
+package com.example.mcpdemo.protocol;
+
+import java.util.ArrayDeque;
+
+/**
+ * What the server keeps for one client id across reconnects: the numbering of its events, the most recent
+ * of them for {@code Last-Event-ID} replay, and the session currently attached, if any. Callers number,
+ * queue and keep an event while holding the stream's monitor, so ids reach the wire in order.
+ */
+final class SseClientStream {
+    private final String clientId;
+    private final int capacity;
+    private final long maxBytes;
+    private final ArrayDeque<SseEvent> recent = new ArrayDeque<>();
+    private long recentBytes;
+    private long lastId;
+    private SseSession session;
+    private long detachedAt;
+
+    SseClientStream(String clientId, int capacity, long maxBytes) {
+        this.clientId = clientId;
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+    }
+
+    String clientId() {
+        return clientId;
+    }
+
+    synchronized SseSession session() {
+        return session;
+    }
+
+    /**
+     * The event {@code frame} becomes if it is kept; unnumbered when replay is off.
+     */
+    synchronized SseEvent next(SseFrame frame) {
+        return capacity > 0 ? new SseEvent(lastId + 1, frame) : new SseEvent(frame);
+    }
+
+    /**
+     * Takes the number of an event from {@link #next} and keeps it for replay, evicting the oldest events
+     * beyond the count and byte budgets.
+     */
+    synchronized void keep(SseEvent event) {
+        if (event.id() == 0) {
+            return;
+        }
+        lastId = event.id();
+        recent.addLast(event);
+        recentBytes += event.frame().size();
+        while (!recent.isEmpty() && (recent.size() > capacity || recentBytes > maxBytes)) {
+            recentBytes -= recent.removeFirst().frame().size();
+        }
+    }
+
+    /**
+     * Attaches {@code next} in place of the current session, first queueing the kept events after
+     * {@code lastEventId} if it is given, and returns how many were queued.
+     */
+    synchronized int attach(SseSession next, Long lastEventId) {
+        session = next;
+        detachedAt = 0;
+        int replayed = 0;
+        if (lastEventId != null) {
+            for (SseEvent event : recent) {
+                if (event.id() > lastEventId) {
+                    next.offerDroppingOldest(event);
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Detaches {@code ended} if it is still the attached session.
+     */
+    synchronized boolean detach(SseSession ended, long now) {
+        if (session != ended) {
+            return false;
+        }
+        session = null;
+        detachedAt = now;
+        return true;
+    }
+
+    /**
+     * Whether no session has been attached for at least {@code retentionNanos}.
+     */
+    synchronized boolean expired(long now, long retentionNanos) {
+        return session == null && now - detachedAt >= retentionNanos;
+    }
+}
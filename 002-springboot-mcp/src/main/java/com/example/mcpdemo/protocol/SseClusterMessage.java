@@ -0,0 +1,35 @@
+package com.example.mcpdemo.protocol;
+
+/**
+ * A message on its way to the other nodes. An {@link Type#EVENT} carries an encoded SSE event for the one
+ * client {@code clientId}, or for every client when it is {@code null}; {@code frame} is the event as written
+ * to the wire, without an {@code id:} line, and the node that delivers it numbers it for its own client
+ * streams. {@link Type#SESSION_ATTACHED} and {@link Type#SESSION_CLOSED} carry no frame: the first says the
+ * client's stream now lives on the publishing node, the second that the client is gone for good.
+ */
+public record SseClusterMessage(Type type, String clientId, byte[] frame) {
+
+    public enum Type {
+        EVENT, SESSION_ATTACHED, SESSION_CLOSED
+    }
+
+    public SseClusterMessage(String clientId, byte[] frame) {
+        this(Type.EVENT, clientId, frame);
+    }
+
+    public static SseClusterMessage broadcast(byte[] frame) {
+        return new SseClusterMessage(null, frame);
+    }
+
+    public static SseClusterMessage sessionAttached(String clientId) {
+        return new SseClusterMessage(Type.SESSION_ATTACHED, clientId, null);
+    }
+
+    public static SseClusterMessage sessionClosed(String clientId) {
+        return new SseClusterMessage(Type.SESSION_CLOSED, clientId, null);
+    }
+
+    public boolean isBroadcast() {
+        return type == Type.EVENT && clientId == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mcpdemo.protocol;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries SSE events between the nodes serving the same clients, so that a response produced on the node a
+ * POST happened to reach gets to the node holding the client's SSE connection. Without a transport bean
+ * {@link SseSessionManager} serves only its own sessions.
+ * <p>
+ * Implementations deliver each published message to every other node, not back to the publisher, and keep
+ * the order of messages from one node. Nodes without a session for the client ignore the message.
+ */
+public interface SseClusterTransport {
+
+    void publish(SseClusterMessage message);
+
+    /**
+     * Registers the receiver of messages published by other nodes; called once, by {@link SseSessionManager}.
+     */
+    void subscribe(Consumer<SseClusterMessage> receiver);
+}
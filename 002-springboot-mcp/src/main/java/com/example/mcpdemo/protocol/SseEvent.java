@@ -0,0 +1,40 @@
+package com.example.mcpdemo.protocol;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A frame queued for one client together with its position in that client's event stream;
+ * {@code id} 0 means the event is not numbered and is sent without an {@code id:} line.
+ */
+record SseEvent(long id, SseFrame frame) {
+    SseEvent(SseFrame frame) {
+        this(0, frame);
+    }
+
+    /**
+     * The {@code id:clientId:} prefix of a client's event ids, so that a reconnect's {@code Last-Event-ID}
+     * alone names the stream to resume; line breaks in the client id would end the field and are replaced.
+     */
+    static byte[] idPrefix(String clientId) {
+        return ("id:" + clientId.replace('\n', ' ').replace('\r', ' ') + ":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The complete {@code id:} line of this event, written straight into bytes.
+     */
+    byte[] idLine(byte[] prefix) {
+        int digits = 1;
+        for (long rest = id / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        byte[] line = new byte[prefix.length + digits + 1];
+        System.arraycopy(prefix, 0, line, 0, prefix.length);
+        long rest = id;
+        for (int i = prefix.length + digits - 1; i >= prefix.length; i--) {
+            line[i] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        }
+        line[line.length - 1] = '\n';
+        return line;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.mcpdemo.protocol;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A fully encoded SSE event ({@code event:} line, {@code data:} lines and terminating blank line).
+ * The bytes are immutable once built, so one frame can be written to any number of sessions.
+ */
+public final class SseFrame {
+    private final byte[] bytes;
+    private final DataWithMediaType data;
+    private final Set<DataWithMediaType> items;
+
+    SseFrame(byte[] bytes) {
+        this.bytes = bytes;
+        this.data = new DataWithMediaType(bytes, MediaType.TEXT_EVENT_STREAM);
+        this.items = Set.of(data);
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * The encoded bytes, shared rather than copied; callers must not modify them.
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    public Set<DataWithMediaType> items() {
+        return items;
+    }
+
+    /**
+     * The frame preceded by {@code idLine}, written as two items so the frame bytes stay shared.
+     */
+    Set<DataWithMediaType> items(byte[] idLine) {
+        DataWithMediaType id = new DataWithMediaType(idLine, MediaType.TEXT_EVENT_STREAM);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<DataWithMediaType> iterator() {
+                return List.of(id, data).iterator();
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.mcpdemo.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes an SSE event to bytes the same way {@code SseEmitter.event().name(..).data(..)} would be
+ * written by the message converters: strings as plain text, everything else as JSON.
+ */
+@Component
+public class SseFrameEncoder {
+    private static final byte[] DATA_PREFIX = "\ndata:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    public SseFrameEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public SseFrame encode(String eventName, Object payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            out.write(("event:" + eventName).getBytes(StandardCharsets.UTF_8));
+            out.write(DATA_PREFIX);
+            if (payload instanceof String text) {
+                out.write(text.replace("\n", "\ndata:").getBytes(StandardCharsets.UTF_8));
+            } else {
+                objectMapper.writeValue(out, payload);
+            }
+            out.write(EVENT_END);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new SseFrame(out.toByteArray());
+    }
+}
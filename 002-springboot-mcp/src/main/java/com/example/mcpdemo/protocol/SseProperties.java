@@ -0,0 +1,39 @@
+package com.example.mcpdemo.protocol;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "mcp.sse")
+public record SseProperties(
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("DROP_OLDEST") OverflowPolicy overflowPolicy,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("8") int writerThreads,
+        @DefaultValue("10s") Duration writeTimeout,
+        @DefaultValue("30s") Duration streamTimeout,
+        @DefaultValue("30m") Duration emitterTimeout,
+        @DefaultValue("128") int replayCapacity,
+        @DefaultValue("1MB") DataSize replayMaxBytes,
+        @DefaultValue("2m") Duration replayRetention,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("60s") Duration idleTimeout
+) {
+    /**
+     * What to do when a session's outbound queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest queued event to make room. */
+        DROP_OLDEST,
+        /** Close the session; the client is expected to reconnect. */
+        DISCONNECT,
+        /**
+         * Wait up to {@code offerTimeout} for room, then discard the new event. The sender's thread does the
+         * waiting; a broadcast gives all sessions the same deadline, so it is held up {@code offerTimeout} at
+         * most, however many clients are slow.
+         */
+        BLOCK
+    }
+}
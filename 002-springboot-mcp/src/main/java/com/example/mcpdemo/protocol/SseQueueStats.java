@@ -0,0 +1,10 @@
+package com.example.mcpdemo.protocol;
+
+public record SseQueueStats(
+        int sessions,
+        long queuedEvents,
+        int maxQueueDepth,
+        long droppedEvents,
+        long overflowDisconnects
+) {
+}
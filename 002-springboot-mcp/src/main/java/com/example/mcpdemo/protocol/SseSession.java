@@ -0,0 +1,267 @@
+package com.example.mcpdemo.protocol;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * One connected client: a bounded outbound queue drained by at most one writer task
+ * at a time, so producers never block on the client's socket and event order is kept.
+ * <p>
+ * The emitter's {@code send} and {@code complete} lock the same monitor, so a write blocked on a client that
+ * stopped reading would also block whoever completes the session. {@link #complete()} therefore leaves the
+ * emitter to the writer while a write is in progress, and {@link #abandonWrite} lets the writer go entirely.
+ */
+final class SseSession {
+    private static final int DRAIN_BATCH = 64;
+    private static final int IDLE = 0;
+    private static final int WRITING = 1;
+    private static final int COMPLETE_AFTER_WRITE = 2;
+    private static final int ABANDONED = 3;
+    private static final int DONE = 4;
+
+    private final String clientId;
+    private final byte[] idPrefix;
+    private final SseEmitter emitter;
+    private final BlockingDeque<SseEvent> queue;
+    private final Executor writer;
+    private final LongAdder sentBytes;
+    private final Consumer<SseSession> onFailure;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger writeState = new AtomicInteger(IDLE);
+    private final Object room = new Object();
+    private final Queue<Runnable> roomWaiters = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+    private volatile long lastWrite = System.nanoTime();
+    private volatile long writeStarted;
+    private volatile Runnable onWriteReturned;
+
+    SseSession(String clientId, SseEmitter emitter, int capacity, Executor writer, LongAdder sentBytes,
+               Consumer<SseSession> onFailure) {
+        this.clientId = clientId;
+        this.idPrefix = SseEvent.idPrefix(clientId);
+        this.emitter = emitter;
+        this.queue = new LinkedBlockingDeque<>(capacity);
+        this.writer = writer;
+        this.sentBytes = sentBytes;
+        this.onFailure = onFailure;
+    }
+
+    String clientId() {
+        return clientId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    boolean offer(SseEvent event) {
+        return accepted(queue.offerLast(event));
+    }
+
+    /**
+     * Enqueues the frame, evicting from the head until it fits; returns the number evicted.
+     */
+    int offerDroppingOldest(SseEvent event) {
+        int dropped = 0;
+        while (!queue.offerLast(event)) {
+            if (queue.pollFirst() != null) {
+                dropped++;
+            }
+        }
+        accepted(true);
+        return dropped;
+    }
+
+    /**
+     * Waits up to {@code timeout} until the queue has room or the session closes; producers retry their
+     * offer afterwards, so they never wait while holding the client stream's monitor.
+     */
+    void awaitRoom(long timeout, TimeUnit unit) throws InterruptedException {
+        synchronized (room) {
+            if (!closed && queue.remainingCapacity() == 0) {
+                unit.timedWait(room, timeout);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code waiter} once, as soon as the queue has room or the session closes: right away if it already
+     * does, otherwise on the writer thread that frees the room. For producers that must not block a thread;
+     * they retry their offer from {@code waiter}, which therefore has to be quick.
+     */
+    void onRoom(Runnable waiter) {
+        roomWaiters.add(waiter);
+        if (closed || queue.remainingCapacity() > 0) {
+            runRoomWaiters();
+        }
+    }
+
+    /**
+     * When the last write to the client completed, or the session opened if nothing was written yet. A write
+     * completes once the kernel accepts it, so on a half-open connection this only stops advancing when the
+     * socket send buffer fills, which small heartbeats take a long time to do.
+     */
+    long lastWrite() {
+        return lastWrite;
+    }
+
+    /**
+     * Whether a write to the client is in progress; it started at {@link #writeStarted()}.
+     */
+    boolean isWriting() {
+        int state = writeState.get();
+        return state == WRITING || state == COMPLETE_AFTER_WRITE;
+    }
+
+    long writeStarted() {
+        return writeStarted;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session and completes its emitter, or has the writer complete it once a write in progress
+     * returns, so the caller never waits on the client.
+     */
+    void complete() {
+        close();
+        while (true) {
+            int state = writeState.get();
+            if (state == IDLE && writeState.compareAndSet(IDLE, DONE)) {
+                emitter.complete();
+                return;
+            }
+            if (state == WRITING && writeState.compareAndSet(WRITING, COMPLETE_AFTER_WRITE)) {
+                return;
+            }
+            if (state != IDLE && state != WRITING) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the session and gives up on the write in progress, if any: its writer completes the emitter and
+     * runs {@code onReturned} when the write finally returns. Returns {@code false}, leaving the session open,
+     * if no write is in progress.
+     */
+    boolean abandonWrite(Runnable onReturned) {
+        onWriteReturned = onReturned;
+        while (true) {
+            int state = writeState.get();
+            if (state != WRITING && state != COMPLETE_AFTER_WRITE) {
+                return false;
+            }
+            if (writeState.compareAndSet(state, ABANDONED)) {
+                close();
+                return true;
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        signalRoom();
+    }
+
+    private void signalRoom() {
+        synchronized (room) {
+            room.notifyAll();
+        }
+        runRoomWaiters();
+    }
+
+    private void runRoomWaiters() {
+        // only the waiters present now: one that finds the queue full again registers anew for the next signal
+        for (int waiting = roomWaiters.size(); waiting > 0; waiting--) {
+            Runnable waiter = roomWaiters.poll();
+            if (waiter == null) {
+                return;
+            }
+            waiter.run();
+        }
+    }
+
+    private boolean accepted(boolean enqueued) {
+        if (enqueued) {
+            scheduleDrain();
+        }
+        return enqueued;
+    }
+
+    private void scheduleDrain() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH && !closed; i++) {
+                SseEvent event = queue.pollFirst();
+                if (event == null) {
+                    break;
+                }
+                writeStarted = System.nanoTime();
+                if (!writeState.compareAndSet(IDLE, WRITING)) {
+                    break;
+                }
+                write(event);
+                lastWrite = System.nanoTime();
+                if (!writeState.compareAndSet(WRITING, IDLE)) {
+                    writeReturned(writeState.getAndSet(DONE));
+                    emitter.complete();
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close();
+            writeReturned(writeState.getAndSet(DONE));
+            onFailure.accept(this);
+            emitter.completeWithError(ex);
+        } finally {
+            draining.set(false);
+            signalRoom();
+        }
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void write(SseEvent event) throws IOException {
+        SseFrame frame = event.frame();
+        if (event.id() > 0) {
+            byte[] idLine = event.idLine(idPrefix);
+            emitter.send(frame.items(idLine));
+            sentBytes.add(idLine.length + frame.size());
+        } else {
+            emitter.send(frame.items());
+            sentBytes.add(frame.size());
+        }
+    }
+
+    private void writeReturned(int state) {
+        Runnable onReturned = onWriteReturned;
+        if (state == ABANDONED && onReturned != null) {
+            onReturned.run();
+        }
+    }
+}
@@ -1,50 +1,604 @@
 package com.example.mcpdemo.protocol;
 
+import com.example.mcpdemo.tool.ToolListChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * SSE sessions keyed by client id. Events are numbered per client ({@code id: clientId:n}) and the most recent
+ * are kept, so a client reconnecting with {@code Last-Event-ID} gets what it missed, including events sent
+ * while it was away. A client's stream outlives its connection by {@code replayRetention}; only when that
+ * passes without a reconnect is the client considered gone and {@link SessionClosedEvent} published.
+ * <p>
+ * One timer thread drives a {@link TimingWheel} for every session: a session that has written nothing for
+ * {@code heartbeatInterval} is sent an SSE comment, and one whose writes have not completed for
+ * {@code idleTimeout} is evicted. That catches a connection whose send buffer has filled, but not every dead
+ * peer: a write completes once the kernel accepts it, so a half-open connection carrying only heartbeats keeps
+ * completing them for a long time. {@code emitterTimeout} therefore still bounds every connection; the client
+ * reconnects with {@code Last-Event-ID} and loses nothing.
+ * <p>
+ * Writers are a fixed pool shared by all sessions. A session whose write has been blocked for
+ * {@code writeTimeout}, a client that stopped reading, is evicted and its writer abandoned to the blocked call,
+ * with an extra pool thread standing in for it until that call returns, so stuck clients cannot take every
+ * writer from the healthy ones.
+ * <p>
+ * With an {@link SseClusterTransport}, events for a client without a session on this node are published to the
+ * other nodes, and broadcasts reach every node, so clients can connect to any node behind a round-robin balancer.
+ * Each node numbers what it delivers itself; {@code Last-Event-ID} replay covers the node the client reconnects to.
+ * A node that attaches a session announces it, and the others drop their detached copy of the client's stream, so
+ * only the node holding the client last decides that it is gone; {@link SessionClosedEvent} is then published on
+ * every node, including those that only ever served the client's POSTs.
+ * <p>
+ * Meters under {@code mcp.sse}: session gauges, bytes written, failed writes, dropped events and heartbeats.
+ * Queue depth is gauged as the total and the deepest queue rather than per session, which would add a series per
+ * client id.
+ */
 @Component
 public class SseSessionManager {
-    private static final long SSE_TIMEOUT_MS = 60_000L;
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WHEEL_SLOTS = 512;
+    private static final SseEvent HEARTBEAT = new SseEvent(new SseFrame(":ping\n\n".getBytes(StandardCharsets.UTF_8)));
+
+    private final Map<String, SseClientStream> streams = new ConcurrentHashMap<>();
+    private final SseProperties properties;
+    private final SseFrameEncoder frameEncoder;
+    private final ThreadPoolExecutor writers;
+    private final ScheduledExecutorService timer;
+    private final TimingWheel wheel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SseClusterTransport cluster;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+    private final AtomicLong replayedEvents = new AtomicLong();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final AtomicLong heartbeats = new AtomicLong();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong writeTimeouts = new AtomicLong();
+    private final AtomicInteger blockedWriters = new AtomicInteger();
+    private final AtomicLong sendFailures = new AtomicLong();
+    private final LongAdder sentBytes = new LongAdder();
+
+    public SseSessionManager(SseProperties properties, SseFrameEncoder frameEncoder,
+                             ApplicationEventPublisher eventPublisher) {
+        this(properties, frameEncoder, eventPublisher, null, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public SseSessionManager(SseProperties properties, SseFrameEncoder frameEncoder,
+                             ApplicationEventPublisher eventPublisher, @Nullable SseClusterTransport cluster,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.frameEncoder = frameEncoder;
+        this.eventPublisher = eventPublisher;
+        this.cluster = cluster;
+        this.writers = new ThreadPoolExecutor(properties.writerThreads(), properties.writerThreads(), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-writer-"));
+        if (retainsStreams() || checkInterval() > 0 || properties.streamTimeout().toNanos() > 0) {
+            CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("sse-timer-");
+            timerThreads.setDaemon(true);
+            this.timer = Executors.newSingleThreadScheduledExecutor(timerThreads);
+            this.wheel = new TimingWheel(TICK_NANOS, WHEEL_SLOTS, System.nanoTime());
+            this.timer.scheduleAtFixedRate(() -> wheel.advance(System.nanoTime()), TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+        } else {
+            this.timer = null;
+            this.wheel = null;
+        }
+        if (cluster != null) {
+            cluster.subscribe(this::receive);
+        }
+        registerMeters(meterRegistry);
+    }
 
     public SseEmitter connect(String clientId) {
+        return connect(clientId, (String) null);
+    }
+
+    /**
+     * Opens a session for {@code clientId}; with the {@code Last-Event-ID} of an earlier connection the events
+     * sent after it are queued first.
+     */
+    public SseEmitter connect(String clientId, String lastEventId) {
+        return connect(clientId, new SseEmitter(properties.emitterTimeout().toMillis()), lastEventId);
+    }
+
+    public SseEmitter connect(String clientId, SseEmitter emitter) {
+        return connect(clientId, emitter, null);
+    }
+
+    public SseEmitter connect(String clientId, SseEmitter emitter, String lastEventId) {
         String key = normalizeClientId(clientId);
-        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
-        emitters.put(key, emitter);
+        Long resumeAfter = key.equals(clientIdOf(lastEventId)) ? sequenceOf(lastEventId) : null;
+        SseSession session = new SseSession(key, emitter, properties.queueCapacity(), writers, sentBytes, this::sendFailed);
+        SseSession[] previous = new SseSession[1];
+        streams.compute(key, (k, stream) -> {
+            SseClientStream attached = stream != null ? stream
+                    : new SseClientStream(k, properties.replayCapacity(), properties.replayMaxBytes().toBytes());
+            previous[0] = attached.session();
+            replayedEvents.addAndGet(attached.attach(session, resumeAfter));
+            return attached;
+        });
+        if (previous[0] != null) {
+            // the replaced connection is no longer checked for liveness, so it must not be left open
+            previous[0].complete();
+        } else {
+            liveSessions.incrementAndGet();
+            if (cluster != null) {
+                cluster.publish(SseClusterMessage.sessionAttached(key));
+            }
+        }
+        if (checkInterval() > 0) {
+            wheel.schedule(() -> checkLiveness(session), session.lastWrite() + checkInterval());
+        }
 
-        emitter.onCompletion(() -> emitters.remove(key));
+        emitter.onCompletion(() -> evict(session));
         emitter.onTimeout(() -> {
-            emitters.remove(key);
-            emitter.complete();
+            evict(session);
+            session.complete();
         });
-        emitter.onError(ex -> emitters.remove(key));
+        emitter.onError(ex -> evict(session));
         return emitter;
     }
 
+    /**
+     * Queues an event for the client's session here, or publishes it to the other nodes when the client has
+     * none on this node; a detached stream still keeps it for replay.
+     */
     public void sendToClient(String clientId, String eventName, Object payload) {
         String key = normalizeClientId(clientId);
-        SseEmitter emitter = emitters.get(key);
-        if (emitter == null) {
+        SseClientStream stream = streams.get(key);
+        if (stream == null && cluster == null) {
             return;
         }
+        SseFrame frame = frameEncoder.encode(eventName, payload);
+        if (stream != null) {
+            enqueue(stream, frame, offerDeadline());
+        }
+        if (cluster != null && (stream == null || stream.session() == null)) {
+            cluster.publish(new SseClusterMessage(key, frame.bytes()));
+        }
+    }
 
-        try {
-            emitter.send(SseEmitter.event()
-                    .name(eventName)
-                    .data(payload));
-        } catch (IOException ex) {
-            emitters.remove(key);
-            emitter.completeWithError(ex);
+    /**
+     * Sends an event of a streamed tool result. Unlike {@link #sendToClient} it waits up to
+     * {@code streamTimeout} for room in the session queue whatever the overflow policy, so a slow client
+     * throttles the producing tool instead of losing chunks. The wait holds no thread: the returned future
+     * completes once the event is queued, with {@code false} if no session is attached or the wait timed out.
+     * An event for a client whose session is on another node is published without waiting, since that node's
+     * queue cannot be seen from here.
+     */
+    public CompletableFuture<Boolean> stream(String clientId, String eventName, Object payload) {
+        String key = normalizeClientId(clientId);
+        SseClientStream stream = streams.get(key);
+        if (cluster != null && (stream == null || stream.session() == null)) {
+            cluster.publish(new SseClusterMessage(key, frameEncoder.encode(eventName, payload).bytes()));
+            return CompletableFuture.completedFuture(true);
+        }
+        if (stream == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> queued = new CompletableFuture<>();
+        long timeout = properties.streamTimeout().toNanos();
+        offerWhenRoom(stream, frameEncoder.encode(eventName, payload), queued, timeout > 0);
+        if (!queued.isDone() && timeout > 0) {
+            wheel.schedule(() -> queued.complete(false), System.nanoTime() + timeout);
         }
+        return queued;
     }
 
     public void broadcast(String eventName, Object payload) {
-        emitters.keySet().forEach(clientId -> sendToClient(clientId, eventName, payload));
+        if (streams.isEmpty() && cluster == null) {
+            return;
+        }
+        SseFrame frame = frameEncoder.encode(eventName, payload);
+        long deadline = offerDeadline();
+        streams.values().forEach(stream -> enqueue(stream, frame, deadline));
+        if (cluster != null) {
+            cluster.publish(SseClusterMessage.broadcast(frame.bytes()));
+        }
+    }
+
+    /**
+     * Tells this node's clients only: every node has its own registry and announces its own changes.
+     */
+    @EventListener
+    public void onToolListChanged(ToolListChangedEvent event) {
+        if (streams.isEmpty()) {
+            return;
+        }
+        SseFrame frame = frameEncoder.encode("message", McpNotifications.TOOLS_LIST_CHANGED);
+        long deadline = offerDeadline();
+        streams.values().forEach(stream -> enqueue(stream, frame, deadline));
+    }
+
+    public int queueDepth(String clientId) {
+        SseClientStream stream = streams.get(normalizeClientId(clientId));
+        SseSession session = stream == null ? null : stream.session();
+        return session == null ? 0 : session.queueDepth();
+    }
+
+    public SseQueueStats queueStats() {
+        int count = 0;
+        long queued = 0;
+        int maxDepth = 0;
+        for (SseClientStream stream : streams.values()) {
+            SseSession session = stream.session();
+            if (session == null) {
+                continue;
+            }
+            int depth = session.queueDepth();
+            count++;
+            queued += depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return new SseQueueStats(count, queued, maxDepth, droppedEvents.get(), overflowDisconnects.get());
+    }
+
+    /**
+     * Live-session gauges; unlike {@link #queueStats()} they are read without visiting every session.
+     */
+    public SseSessionStats sessionStats() {
+        int live = liveSessions.get();
+        return new SseSessionStats(live, Math.max(0, streams.size() - live), wheel == null ? 0 : wheel.pending(),
+                heartbeats.get(), idleEvictions.get(), writeTimeouts.get(), blockedWriters.get());
+    }
+
+    /**
+     * Events queued again for clients that reconnected with {@code Last-Event-ID}.
+     */
+    public long replayedEvents() {
+        return replayedEvents.get();
+    }
+
+    /**
+     * The client id encoded in an event id this manager sent, or {@code null} for anything else.
+     */
+    public static String clientIdOf(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        int separator = lastEventId.lastIndexOf(':');
+        return separator > 0 && sequenceOf(lastEventId) != null ? lastEventId.substring(0, separator).trim() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Delivers an event published by another node. A client's event only goes to a session attached here: a
+     * stream detached here means the client has moved or gone, and the node it reconnected to received it too.
+     * A session attached elsewhere makes a stream detached here obsolete, so it is dropped without a
+     * {@link SessionClosedEvent}; a client gone elsewhere is gone here too unless it has just attached here.
+     */
+    private void receive(SseClusterMessage message) {
+        switch (message.type()) {
+            case SESSION_ATTACHED -> streams.computeIfPresent(message.clientId(),
+                    (key, stream) -> stream.expired(System.nanoTime(), 0) ? null : stream);
+            case SESSION_CLOSED -> {
+                boolean[] attached = {false};
+                streams.computeIfPresent(message.clientId(), (key, stream) -> {
+                    attached[0] = !stream.expired(System.nanoTime(), 0);
+                    return attached[0] ? stream : null;
+                });
+                if (!attached[0]) {
+                    eventPublisher.publishEvent(new SessionClosedEvent(message.clientId()));
+                }
+            }
+            case EVENT -> {
+                SseFrame frame = new SseFrame(message.frame());
+                long deadline = offerDeadline();
+                if (message.isBroadcast()) {
+                    streams.values().forEach(stream -> enqueue(stream, frame, deadline));
+                    return;
+                }
+                SseClientStream stream = streams.get(message.clientId());
+                if (stream != null && stream.session() != null) {
+                    enqueue(stream, frame, deadline);
+                }
+            }
+        }
+    }
+
+    /**
+     * When a {@link SseProperties.OverflowPolicy#BLOCK} wait for room gives up. An event for many sessions shares
+     * one deadline, so however many of them are full the caller waits {@code offerTimeout} at most.
+     */
+    private long offerDeadline() {
+        return System.nanoTime() + properties.offerTimeout().toNanos();
+    }
+
+    private void enqueue(SseClientStream stream, SseFrame frame, long offerDeadline) {
+        switch (properties.overflowPolicy()) {
+            case DROP_OLDEST -> {
+                synchronized (stream) {
+                    SseEvent event = stream.next(frame);
+                    SseSession session = stream.session();
+                    if (session != null) {
+                        droppedEvents.addAndGet(session.offerDroppingOldest(event));
+                    }
+                    stream.keep(event);
+                }
+            }
+            case BLOCK -> {
+                if (!offerWaiting(stream, frame, offerDeadline)) {
+                    droppedEvents.incrementAndGet();
+                }
+            }
+            case DISCONNECT -> {
+                SseSession overflowed = null;
+                synchronized (stream) {
+                    SseEvent event = stream.next(frame);
+                    SseSession session = stream.session();
+                    if (session != null && !session.offer(event)) {
+                        overflowed = session;
+                    }
+                    // kept either way: the client that is disconnected gets it back when it resumes
+                    stream.keep(event);
+                }
+                if (overflowed != null) {
+                    overflowDisconnects.incrementAndGet();
+                    evict(overflowed);
+                    overflowed.complete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues {@code frame} on the attached session, waiting until {@code deadline} for room without holding
+     * the stream's monitor; a detached stream keeps the event for replay.
+     */
+    private boolean offerWaiting(SseClientStream stream, SseFrame frame, long deadline) {
+        while (true) {
+            SseSession session;
+            synchronized (stream) {
+                SseEvent event = stream.next(frame);
+                session = stream.session();
+                if (session == null) {
+                    stream.keep(event);
+                    return true;
+                }
+                if (session.offer(event)) {
+                    stream.keep(event);
+                    return true;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || session.isClosed()) {
+                return false;
+            }
+            try {
+                session.awaitRoom(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Queues {@code frame} on the attached session and completes {@code queued} with {@code true}; if the queue is
+     * full and {@code wait}, tries again from the session's writer once it has made room, until {@code queued}
+     * is completed by the caller's timeout. Completes with {@code false} when no open session is attached.
+     */
+    private void offerWhenRoom(SseClientStream stream, SseFrame frame, CompletableFuture<Boolean> queued, boolean wait) {
+        if (queued.isDone()) {
+            return;
+        }
+        SseSession session;
+        boolean offered;
+        synchronized (stream) {
+            session = stream.session();
+            if (session == null || session.isClosed()) {
+                offered = false;
+            } else {
+                SseEvent event = stream.next(frame);
+                offered = session.offer(event);
+                if (offered) {
+                    stream.keep(event);
+                }
+            }
+        }
+        if (offered || session == null || session.isClosed() || !wait) {
+            queued.complete(offered);
+        } else {
+            session.onRoom(() -> offerWhenRoom(stream, frame, queued, true));
+        }
+    }
+
+    private void sendFailed(SseSession session) {
+        sendFailures.incrementAndGet();
+        evict(session);
+    }
+
+    private void evict(SseSession session) {
+        session.close();
+        SseClientStream stream = streams.get(session.clientId());
+        long now = System.nanoTime();
+        if (stream == null || !stream.detach(session, now)) {
+            return;
+        }
+        liveSessions.decrementAndGet();
+        if (retainsStreams()) {
+            // a stale expiry left by an earlier disconnect finds the stream not yet expired and does nothing
+            wheel.schedule(() -> remove(stream.clientId(), System.nanoTime()), now + properties.replayRetention().toNanos());
+        } else {
+            remove(stream.clientId(), now);
+        }
+    }
+
+    /**
+     * Runs on the timer thread once per check interval of each open session: evicts it if its current write
+     * has been blocked for {@code writeTimeout} or no write has completed within {@code idleTimeout}, otherwise
+     * sends a heartbeat if nothing was written or queued within {@code heartbeatInterval}, and schedules the
+     * next check. A closed session whose last write is still blocked stays checked until the write is abandoned.
+     */
+    private void checkLiveness(SseSession session) {
+        long now = System.nanoTime();
+        long writeTimeout = properties.writeTimeout().toNanos();
+        if (writeTimeout > 0 && session.isWriting() && now - session.writeStarted() >= writeTimeout) {
+            evictStalled(session, writeTimeouts);
+            return;
+        }
+        if (session.isClosed()) {
+            if (writeTimeout > 0 && session.isWriting()) {
+                wheel.schedule(() -> checkLiveness(session), now + checkInterval());
+            }
+            return;
+        }
+        long lastWrite = session.lastWrite();
+        long idleTimeout = properties.idleTimeout().toNanos();
+        if (idleTimeout > 0 && now - lastWrite >= idleTimeout) {
+            evictStalled(session, idleEvictions);
+            return;
+        }
+        long heartbeatInterval = properties.heartbeatInterval().toNanos();
+        boolean pinged = heartbeatInterval > 0 && now - lastWrite >= heartbeatInterval
+                && session.queueDepth() == 0 && session.offer(HEARTBEAT);
+        if (pinged) {
+            heartbeats.incrementAndGet();
+        }
+        long next = pinged || now - lastWrite >= checkInterval() ? now + checkInterval() : lastWrite + checkInterval();
+        wheel.schedule(() -> checkLiveness(session), next);
+    }
+
+    /**
+     * Evicts a session from the timer thread without waiting on the client: a writer blocked in the session's
+     * emitter is abandoned to its call, and another pool thread stands in for it until the call returns.
+     */
+    private void evictStalled(SseSession session, AtomicLong evictions) {
+        evict(session);
+        evictions.incrementAndGet();
+        if (session.abandonWrite(this::writerReturned)) {
+            blockedWriters.incrementAndGet();
+            resizeWriters();
+        } else {
+            session.complete();
+        }
+    }
+
+    private void writerReturned() {
+        blockedWriters.decrementAndGet();
+        resizeWriters();
+    }
+
+    /**
+     * Sizes the writer pool to {@code writerThreads} plus the writers blocked in abandoned writes; a writer
+     * returning before its abandonment is counted leaves the count briefly negative, hence the floor.
+     */
+    private void resizeWriters() {
+        synchronized (writers) {
+            int size = properties.writerThreads() + Math.max(0, blockedWriters.get());
+            if (size >= writers.getCorePoolSize()) {
+                writers.setMaximumPoolSize(size);
+                writers.setCorePoolSize(size);
+            } else {
+                writers.setCorePoolSize(size);
+                writers.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * How often each session is checked: the shortest of the heartbeat interval, the idle timeout and the write
+     * timeout, ignoring those that are off; 0 when all are.
+     */
+    private long checkInterval() {
+        long interval = 0;
+        for (Duration duration : List.of(properties.heartbeatInterval(), properties.idleTimeout(), properties.writeTimeout())) {
+            long nanos = duration.toNanos();
+            if (nanos > 0 && (interval == 0 || nanos < interval)) {
+                interval = nanos;
+            }
+        }
+        return interval;
+    }
+
+    private void remove(String clientId, long now) {
+        long retention = retainsStreams() ? properties.replayRetention().toNanos() : 0;
+        boolean[] removed = {false};
+        streams.computeIfPresent(clientId, (key, stream) -> {
+            removed[0] = stream.expired(now, retention);
+            return removed[0] ? null : stream;
+        });
+        if (removed[0]) {
+            eventPublisher.publishEvent(new SessionClosedEvent(clientId));
+            if (cluster != null) {
+                cluster.publish(SseClusterMessage.sessionClosed(clientId));
+            }
+        }
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("mcp.sse.sessions", liveSessions, AtomicInteger::get)
+                .description("SSE sessions attached to this node").tag("state", "live").register(registry);
+        Gauge.builder("mcp.sse.sessions", this, manager -> manager.sessionStats().detachedStreams())
+                .description("Client streams kept for replay without a session").tag("state", "detached").register(registry);
+        Gauge.builder("mcp.sse.queue.depth", this, manager -> manager.queueStats().queuedEvents())
+                .description("Events queued across all sessions").tag("stat", "total").register(registry);
+        Gauge.builder("mcp.sse.queue.depth", this, manager -> manager.queueStats().maxQueueDepth())
+                .description("Events queued in the deepest session queue").tag("stat", "max").register(registry);
+        FunctionCounter.builder("mcp.sse.sent", sentBytes, LongAdder::sum)
+                .description("Bytes written to SSE connections").baseUnit("bytes").register(registry);
+        counter(registry, "mcp.sse.send.failures", "Writes that failed and closed their session", sendFailures);
+        counter(registry, "mcp.sse.events.dropped", "Events dropped from full session queues", droppedEvents);
+        counter(registry, "mcp.sse.overflow.disconnects", "Sessions closed because their queue overflowed",
+                overflowDisconnects);
+        counter(registry, "mcp.sse.heartbeats", "Heartbeat comments sent to quiet sessions", heartbeats);
+        counter(registry, "mcp.sse.idle.evictions", "Sessions closed after no write completed for idle-timeout",
+                idleEvictions);
+        counter(registry, "mcp.sse.write.timeouts", "Sessions closed after a write blocked for write-timeout",
+                writeTimeouts);
+        Gauge.builder("mcp.sse.writers.blocked", blockedWriters, AtomicInteger::get)
+                .description("Writer threads still blocked in writes to evicted sessions").register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, AtomicLong count) {
+        FunctionCounter.builder(name, count, AtomicLong::get).description(description).register(registry);
+    }
+
+    private boolean retainsStreams() {
+        return properties.replayCapacity() > 0 && properties.replayRetention().toNanos() > 0;
+    }
+
+    private static Long sequenceOf(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(lastEventId.lastIndexOf(':') + 1).trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
     }
 
     private String normalizeClientId(String clientId) {
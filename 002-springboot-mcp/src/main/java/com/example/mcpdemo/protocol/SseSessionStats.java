@@ -0,0 +1,17 @@
+package com.example.mcpdemo.protocol;
+
+/**
+ * Gauges of the SSE connections: attached sessions, client streams kept for replay without one, tasks
+ * waiting on the timing wheel, running totals of heartbeats sent and sessions evicted as idle or for a blocked
+ * write, and the writer threads still blocked in writes to evicted sessions.
+ */
+public record SseSessionStats(
+        int liveSessions,
+        int detachedStreams,
+        int pendingTimers,
+        long heartbeats,
+        long idleEvictions,
+        long writeTimeouts,
+        int blockedWriters
+) {
+}
@@ -0,0 +1,89 @@
+package com.example.mcpdemo.protocol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel advanced by a single thread. Scheduling is O(1) and a tick only visits its own slot,
+ * so with the tasks spread over the wheel a tick costs the same however many are waiting further out. Tasks
+ * run no earlier than their deadline, up to one tick late, and are never cancelled: a task checks when it runs
+ * whether it still applies.
+ */
+public final class TimingWheel {
+    private final long tickNanos;
+    private final long startNanos;
+    private final ArrayDeque<Timeout>[] slots;
+    private final int mask;
+    private long tick;
+    private int pending;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickNanos, int slotCount, long now) {
+        if (tickNanos <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("tick must be positive and the slot count a power of two");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = now;
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Runs {@code task} on the advancing thread at the first tick at or after {@code deadlineNanos}.
+     */
+    public synchronized void schedule(Runnable task, long deadlineNanos) {
+        long due = Math.max(tick, Math.floorDiv(deadlineNanos - startNanos + tickNanos - 1, tickNanos));
+        slots[(int) (due & mask)].addLast(new Timeout(task, (due - tick) / slots.length));
+        pending++;
+    }
+
+    /**
+     * Processes every tick that has ended by {@code now} and runs the tasks that fell due, outside the lock
+     * so that they can reschedule themselves; returns how many ran.
+     */
+    public int advance(long now) {
+        List<Runnable> due = new ArrayList<>();
+        synchronized (this) {
+            while (now - (startNanos + tick * tickNanos) >= 0) {
+                ArrayDeque<Timeout> slot = slots[(int) (tick & mask)];
+                for (int i = slot.size(); i > 0; i--) {
+                    Timeout timeout = slot.pollFirst();
+                    if (timeout.rounds == 0) {
+                        due.add(timeout.task);
+                    } else {
+                        timeout.rounds--;
+                        slot.addLast(timeout);
+                    }
+                }
+                tick++;
+            }
+            pending -= due.size();
+        }
+        for (Runnable task : due) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                // one failing task must not stop the wheel for everyone else
+            }
+        }
+        return due.size();
+    }
+
+    public synchronized int pending() {
+        return pending;
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        private long rounds;
+
+        private Timeout(Runnable task, long rounds) {
+            this.task = task;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+
+import java.util.List;
+
+/**
+ * One page of {@link CalendarEventStore#findMatching} results; {@code next} is the key of the last event
+ * on the page when more follow, otherwise {@code null}.
+ */
+public record CalendarEventPage(List<CalendarEvent> events, Key next) {
+    /**
+     * Position of an event in the store's order: start time, then insertion sequence.
+     */
+    public record Key(long startMillis, int sequence) {
+    }
+}
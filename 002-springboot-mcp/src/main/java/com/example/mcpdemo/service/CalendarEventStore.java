@@ -0,0 +1,38 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface CalendarEventStore {
+    void add(CalendarEvent event);
+
+    /**
+     * Returns events overlapping the inclusive range whose title, description or location
+     * contains the keyword (case-insensitive), ordered by start time.
+     * A {@code null} bound or keyword leaves that filter open.
+     */
+    List<CalendarEvent> findMatching(LocalDateTime start, LocalDateTime end, String keyword);
+
+    /**
+     * Visits the same events as {@link #findMatching}, in the same order, without collecting them.
+     */
+    default void forEachMatching(LocalDateTime start, LocalDateTime end, String keyword, Consumer<CalendarEvent> action) {
+        findMatching(start, end, keyword).forEach(action);
+    }
+
+    /**
+     * Returns up to {@code limit} events of {@link #findMatching} in the same order, resuming after the event
+     * with key {@code after} ({@code null} for the first page).
+     */
+    CalendarEventPage findPage(LocalDateTime start, LocalDateTime end, String keyword,
+                               CalendarEventPage.Key after, int limit);
+
+    default List<CalendarEvent> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        return findMatching(start, end, null);
+    }
+
+    int size();
+}
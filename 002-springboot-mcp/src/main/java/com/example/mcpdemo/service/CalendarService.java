@@ -1,29 +1,104 @@
 package com.example.mcpdemo.service;
 
 import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.protocol.PageCursor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @Service
 public class CalendarService {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
 
+    private final CalendarEventStore eventStore;
+
+    public CalendarService(CalendarEventStore eventStore) {
+        this.eventStore = eventStore;
+        sampleEvents().forEach(eventStore::add);
+    }
+
     public List<CalendarEvent> queryEvents(Map<String, Object> arguments) {
         LocalDateTime start = parseDateTime(arguments.get("start_time"));
         LocalDateTime end = parseDateTime(arguments.get("end_time"));
         String keyword = readKeyword(arguments.get("keyword"));
 
-        return sampleEvents().stream()
-                .filter(event -> start == null || !LocalDateTime.parse(event.endTime(), FORMATTER).isBefore(start))
-                .filter(event -> end == null || !LocalDateTime.parse(event.startTime(), FORMATTER).isAfter(end))
-                .filter(event -> keyword == null || containsKeyword(event, keyword))
-                .toList();
+        return eventStore.findMatching(start, end, keyword);
+    }
+
+    /**
+     * One page of {@link #queryEvents}, continuing from {@code arguments.cursor} if present. The cursor is
+     * bound to the filters it was issued for, which it carries in their normalized form, and is rejected with
+     * other filters.
+     */
+    public Page queryPage(Map<String, Object> arguments, int limit) {
+        LocalDateTime start = parseDateTime(arguments.get("start_time"));
+        LocalDateTime end = parseDateTime(arguments.get("end_time"));
+        String keyword = readKeyword(arguments.get("keyword"));
+        // the keyword goes last: it may contain anything, the bounds contain no space
+        String filter = Objects.toString(start, "") + ' ' + Objects.toString(end, "") + ' '
+                + Objects.toString(keyword, "");
+
+        CalendarEventPage.Key after = null;
+        Object cursor = arguments.get("cursor");
+        if (cursor != null) {
+            String[] parts = PageCursor.decode(cursor, 3);
+            if (!parts[2].equals(filter)) {
+                throw PageCursor.invalid();
+            }
+            try {
+                after = new CalendarEventPage.Key(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+            } catch (NumberFormatException ex) {
+                throw PageCursor.invalid();
+            }
+        }
+
+        CalendarEventPage page = eventStore.findPage(start, end, keyword, after, limit);
+        String nextCursor = page.next() == null ? null : PageCursor.encode(
+                Long.toString(page.next().startMillis()), Integer.toString(page.next().sequence()), filter);
+        return new Page(page.events(), nextCursor);
+    }
+
+    /**
+     * The events of {@link #queryEvents} in pages of up to {@code chunkSize}, each fetched only when asked
+     * for, so a caller that stops early or consumes slowly never holds more than one page.
+     */
+    public Iterator<List<CalendarEvent>> eventChunks(Map<String, Object> arguments, int chunkSize) {
+        LocalDateTime start = parseDateTime(arguments.get("start_time"));
+        LocalDateTime end = parseDateTime(arguments.get("end_time"));
+        String keyword = readKeyword(arguments.get("keyword"));
+        return new Iterator<>() {
+            private CalendarEventPage page;
+            private CalendarEventPage.Key after;
+            private boolean last;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null && !last) {
+                    page = eventStore.findPage(start, end, keyword, after, chunkSize);
+                    after = page.next();
+                    last = after == null;
+                }
+                return page != null && !page.events().isEmpty();
+            }
+
+            @Override
+            public List<CalendarEvent> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<CalendarEvent> events = page.events();
+                page = null;
+                return events;
+            }
+        };
     }
 
     private String readKeyword(Object value) {
@@ -33,12 +108,6 @@ public class CalendarService {
         return value.toString().trim().toLowerCase(Locale.ROOT);
     }
 
-    private boolean containsKeyword(CalendarEvent event, String keyword) {
-        return event.title().toLowerCase(Locale.ROOT).contains(keyword)
-                || event.description().toLowerCase(Locale.ROOT).contains(keyword)
-                || event.location().toLowerCase(Locale.ROOT).contains(keyword);
-    }
-
     private LocalDateTime parseDateTime(Object value) {
         if (value == null || value.toString().isBlank()) {
             return null;
@@ -50,6 +119,9 @@ public class CalendarService {
         }
     }
 
+    public record Page(List<CalendarEvent> events, String nextCursor) {
+    }
+
     private List<CalendarEvent> sampleEvents() {
         return List.of(
                 new CalendarEvent(
@@ -0,0 +1,347 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Event store backed by an implicit interval tree over a start-sorted array.
+ * Start/end times are parsed once on {@link #add}; the index is rebuilt lazily
+ * on the first query after a write, so a range query costs O(log n + k).
+ * Keyword filters intersect {@link TrigramIndex} postings with the range candidates
+ * when the postings are the more selective side. Pages resume by binary-searching the
+ * (start, insertion slot) key of the previous page's last event and walking the tree from there.
+ */
+@Component
+public class IndexedCalendarEventStore implements CalendarEventStore {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final int POSTINGS_PER_CANDIDATE = 4;
+    private static final int PAGE_POSTINGS_PER_EVENT = 16;
+
+    private final Object writeLock = new Object();
+    private CalendarEvent[] events = new CalendarEvent[16];
+    private long[] starts = new long[16];
+    private long[] ends = new long[16];
+    private String[][] searchTexts = new String[16][];
+    private long[] signatures = new long[16 * TrigramIndex.SIGNATURE_WORDS];
+    private int count;
+    private final TrigramIndex keywordIndex = new TrigramIndex();
+    private volatile IntervalIndex index = IntervalIndex.build(events, starts, ends, searchTexts, signatures, 0);
+
+    @Override
+    public void add(CalendarEvent event) {
+        long start = toEpochMillis(LocalDateTime.parse(event.startTime(), FORMATTER));
+        long end = toEpochMillis(LocalDateTime.parse(event.endTime(), FORMATTER));
+        String[] searchText = {lower(event.title()), lower(event.description()), lower(event.location())};
+        synchronized (writeLock) {
+            if (count == events.length) {
+                int capacity = count << 1;
+                events = Arrays.copyOf(events, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                searchTexts = Arrays.copyOf(searchTexts, capacity);
+                signatures = Arrays.copyOf(signatures, capacity * TrigramIndex.SIGNATURE_WORDS);
+            }
+            events[count] = event;
+            starts[count] = start;
+            ends[count] = end;
+            searchTexts[count] = searchText;
+            TrigramIndex.signature(signatures, count * TrigramIndex.SIGNATURE_WORDS, searchText);
+            keywordIndex.add(count, searchText);
+            count++;
+            index = null;
+        }
+    }
+
+    @Override
+    public List<CalendarEvent> findMatching(LocalDateTime start, LocalDateTime end, String keyword) {
+        List<CalendarEvent> result = new ArrayList<>();
+        forEachMatching(start, end, keyword, result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachMatching(LocalDateTime start, LocalDateTime end, String keyword, Consumer<CalendarEvent> action) {
+        IntervalIndex current = currentIndex();
+        long from = start == null ? Long.MIN_VALUE : toEpochMillis(start);
+        long to = end == null ? Long.MAX_VALUE : toEpochMillis(end);
+        if (from > to) {
+            return;
+        }
+
+        String loweredKeyword = keyword == null || keyword.isEmpty() ? null : lower(keyword);
+        BitSet candidates = null;
+        long[] keywordSignature = null;
+        if (loweredKeyword != null) {
+            // events starting inside the range stand in for the number of range candidates
+            int inRange = current.positionAfter(to, Integer.MAX_VALUE)
+                    - (from == Long.MIN_VALUE ? 0 : current.positionAfter(from - 1, Integer.MAX_VALUE));
+            candidates = keywordIndex.candidates(loweredKeyword, inRange * POSTINGS_PER_CANDIDATE);
+            keywordSignature = new long[TrigramIndex.SIGNATURE_WORDS];
+            TrigramIndex.signature(keywordSignature, 0, loweredKeyword);
+        }
+
+        BitSet matchCandidates = candidates;
+        long[] matchSignature = keywordSignature;
+        current.visitOverlapping(from, to, 0, position -> {
+            if (current.matches(position, loweredKeyword, matchCandidates, matchSignature)) {
+                action.accept(current.events[position]);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public CalendarEventPage findPage(LocalDateTime start, LocalDateTime end, String keyword,
+                                      CalendarEventPage.Key after, int limit) {
+        IntervalIndex current = currentIndex();
+        long from = start == null ? Long.MIN_VALUE : toEpochMillis(start);
+        long to = end == null ? Long.MAX_VALUE : toEpochMillis(end);
+        if (from > to || limit <= 0) {
+            return new CalendarEventPage(List.of(), null);
+        }
+
+        int fromPosition = after == null ? 0 : current.positionAfter(after.startMillis(), after.sequence());
+        String loweredKeyword = keyword == null || keyword.isEmpty() ? null : lower(keyword);
+        BitSet candidates = null;
+        long[] keywordSignature = null;
+        if (loweredKeyword != null) {
+            // postings beyond a small multiple of the page mean the keyword is common enough that
+            // scanning from the cursor fills the page sooner than intersecting the postings would
+            candidates = keywordIndex.candidates(loweredKeyword, limit * PAGE_POSTINGS_PER_EVENT);
+            keywordSignature = new long[TrigramIndex.SIGNATURE_WORDS];
+            TrigramIndex.signature(keywordSignature, 0, loweredKeyword);
+        }
+
+        List<CalendarEvent> events = new ArrayList<>(Math.min(limit, 64));
+        int[] last = {-1};
+        boolean[] more = {false};
+        String pageKeyword = loweredKeyword;
+        BitSet pageCandidates = candidates;
+        long[] pageSignature = keywordSignature;
+        current.visitOverlapping(from, to, fromPosition, position -> {
+            if (!current.matches(position, pageKeyword, pageCandidates, pageSignature)) {
+                return true;
+            }
+            if (events.size() == limit) {
+                more[0] = true;
+                return false;
+            }
+            events.add(current.events[position]);
+            last[0] = position;
+            return true;
+        });
+        CalendarEventPage.Key next = more[0]
+                ? new CalendarEventPage.Key(current.starts[last[0]], current.slots[last[0]])
+                : null;
+        return new CalendarEventPage(events, next);
+    }
+
+    @Override
+    public int size() {
+        return currentIndex().size;
+    }
+
+    private IntervalIndex currentIndex() {
+        IntervalIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (index == null) {
+                index = IntervalIndex.build(events, starts, ends, searchTexts, signatures, count);
+            }
+            return index;
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable snapshot laid out as an implicit binary tree: position {@code i} sits at
+     * the level given by its number of trailing one bits, and {@code maxEnds[i]} holds
+     * the largest end time in its subtree (same layout as Heng Li's cgranges).
+     */
+    private static final class IntervalIndex {
+        private static final int LINEAR_SCAN_LEVEL = 3;
+        private static final int MAX_STACK = 128;
+
+        private final CalendarEvent[] events;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+        private final int[] slots;
+        private final String[][] searchTexts;
+        private final long[] signatures;
+        private final int size;
+        private final int maxLevel;
+
+        private IntervalIndex(CalendarEvent[] events, long[] starts, long[] ends, long[] maxEnds,
+                              int[] slots, String[][] searchTexts, long[] signatures, int size, int maxLevel) {
+            this.events = events;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+            this.slots = slots;
+            this.searchTexts = searchTexts;
+            this.signatures = signatures;
+            this.size = size;
+            this.maxLevel = maxLevel;
+        }
+
+        static IntervalIndex build(CalendarEvent[] sourceEvents, long[] sourceStarts, long[] sourceEnds,
+                                   String[][] sourceSearchTexts, long[] sourceSignatures, int size) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> sourceStarts[i]));
+
+            CalendarEvent[] events = new CalendarEvent[size];
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            int[] slots = new int[size];
+            String[][] searchTexts = new String[size][];
+            long[] signatures = new long[size * TrigramIndex.SIGNATURE_WORDS];
+            for (int i = 0; i < size; i++) {
+                int slot = order[i];
+                events[i] = sourceEvents[slot];
+                starts[i] = sourceStarts[slot];
+                ends[i] = sourceEnds[slot];
+                slots[i] = slot;
+                searchTexts[i] = sourceSearchTexts[slot];
+                System.arraycopy(sourceSignatures, slot * TrigramIndex.SIGNATURE_WORDS,
+                        signatures, i * TrigramIndex.SIGNATURE_WORDS, TrigramIndex.SIGNATURE_WORDS);
+            }
+            long[] maxEnds = new long[size];
+            int maxLevel = buildMaxEnds(ends, maxEnds, size);
+            return new IntervalIndex(events, starts, ends, maxEnds, slots, searchTexts, signatures, size, maxLevel);
+        }
+
+        private static int buildMaxEnds(long[] ends, long[] maxEnds, int size) {
+            if (size == 0) {
+                return -1;
+            }
+            int lastIndex = 0;
+            long last = 0;
+            for (int i = 0; i < size; i += 2) {
+                lastIndex = i;
+                last = maxEnds[i] = ends[i];
+            }
+
+            int level = 1;
+            for (; (1L << level) <= size; level++) {
+                int half = 1 << (level - 1);
+                int step = half << 2;
+                for (long i = (half << 1) - 1; i < size; i += step) {
+                    int node = (int) i;
+                    long left = maxEnds[node - half];
+                    long right = node + half < size ? maxEnds[node + half] : last;
+                    maxEnds[node] = Math.max(ends[node], Math.max(left, right));
+                }
+                lastIndex = ((lastIndex >> level) & 1) != 0 ? lastIndex : lastIndex - half;
+                if (lastIndex >= 0 && lastIndex < size && maxEnds[lastIndex] > last) {
+                    last = maxEnds[lastIndex];
+                }
+            }
+            return level - 1;
+        }
+
+        /**
+         * Visits the positions overlapping the inclusive range in ascending start order, skipping subtrees lying
+         * entirely before {@code fromPosition} and stopping as soon as {@code visitor} returns {@code false}, so
+         * a page costs O(log n + page) and a full scan holds no list of its matches.
+         */
+        void visitOverlapping(long from, long to, int fromPosition, IntPredicate visitor) {
+            if (fromPosition >= size) {
+                return;
+            }
+            long[] stack = new long[MAX_STACK];
+            int top = 0;
+            stack[top++] = frame((1L << maxLevel) - 1, maxLevel, false);
+            while (top > 0) {
+                long frame = stack[--top];
+                long node = frame >>> 8;
+                int level = (int) (frame >>> 1) & 0x7F;
+                boolean leftVisited = (frame & 1L) != 0;
+
+                if (level <= LINEAR_SCAN_LEVEL) {
+                    long first = Math.max(node >> level << level, fromPosition);
+                    long last = Math.min((node >> level << level) + (1L << (level + 1)) - 1, size);
+                    for (int i = (int) first; i < last && starts[i] <= to; i++) {
+                        if (ends[i] >= from && !visitor.test(i)) {
+                            return;
+                        }
+                    }
+                } else if (!leftVisited) {
+                    long left = node - (1L << (level - 1));
+                    stack[top++] = frame(node, level, true);
+                    if (node > fromPosition && (left >= size || maxEnds[(int) left] >= from)) {
+                        stack[top++] = frame(left, level - 1, false);
+                    }
+                } else if (node < size && starts[(int) node] <= to) {
+                    if (node >= fromPosition && ends[(int) node] >= from && !visitor.test((int) node)) {
+                        return;
+                    }
+                    stack[top++] = frame(node + (1L << (level - 1)), level - 1, false);
+                }
+            }
+        }
+
+        /**
+         * The first position ordered after (startMillis, slot); equal starts keep insertion order.
+         */
+        int positionAfter(long startMillis, int slot) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < startMillis || (starts[mid] == startMillis && slots[mid] <= slot)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        boolean matches(int position, String keyword, BitSet candidates, long[] keywordSignature) {
+            if (keyword == null) {
+                return true;
+            }
+            if (candidates != null && !candidates.get(slots[position])) {
+                return false;
+            }
+            if (!TrigramIndex.mayContain(signatures, position * TrigramIndex.SIGNATURE_WORDS, keywordSignature)) {
+                return false;
+            }
+            for (String text : searchTexts[position]) {
+                if (text.contains(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long frame(long node, int level, boolean leftVisited) {
+            return node << 8 | (long) level << 1 | (leftVisited ? 1L : 0L);
+        }
+    }
+}
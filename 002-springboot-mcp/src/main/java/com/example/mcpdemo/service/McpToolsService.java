@@ -3,34 +3,90 @@ package com.example.mcpdemo.service;
 import com.example.mcpdemo.protocol.McpErrorCodes;
 import com.example.mcpdemo.protocol.McpException;
 import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.StreamingMcpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.example.mcpdemo.tool.ToolListChangedEvent;
 import com.example.mcpdemo.tool.ToolRegistry;
+import com.example.mcpdemo.tool.ToolSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+/**
+ * Lists and calls the registered tools. Calls that reach a tool are timed per tool in {@code mcp.tool.calls},
+ * with a percentile histogram, from validation to the result, cache hits included; {@code mcp.tool.calls.active}
+ * gauges those still running. A tool's timer is removed when the tool is unregistered.
+ */
 @Service
 public class McpToolsService {
     private final ToolRegistry toolRegistry;
+    private final ToolExecutor toolExecutor;
+    private final ToolResultCache resultCache;
+    private final ToolStreamingProperties streamingProperties;
+    private final ToolListProperties listProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> callTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger activeCalls = new AtomicInteger();
 
-    public McpToolsService(ToolRegistry toolRegistry) {
+    public McpToolsService(ToolRegistry toolRegistry, ToolExecutor toolExecutor, ToolResultCache resultCache,
+                           ToolStreamingProperties streamingProperties, ToolListProperties listProperties,
+                           MeterRegistry meterRegistry) {
         this.toolRegistry = toolRegistry;
+        this.toolExecutor = toolExecutor;
+        this.resultCache = resultCache;
+        this.streamingProperties = streamingProperties;
+        this.listProperties = listProperties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mcp.tool.calls.active", activeCalls, AtomicInteger::get)
+                .description("Tool calls in flight")
+                .register(meterRegistry);
     }
 
-    public Map<String, Object> listTools() {
-        List<Map<String, Object>> tools = toolRegistry.list().stream()
-                .map(tool -> Map.<String, Object>of(
-                        "name", tool.getName(),
-                        "description", tool.getDescription(),
-                        "inputSchema", tool.getInputSchema()
-                ))
-                .toList();
-        return Map.of("tools", tools);
+    /**
+     * The pre-serialized {@code tools/list} result of the current tool snapshot.
+     */
+    public Object listTools() {
+        return toolRegistry.snapshot().listResult();
+    }
+
+    /**
+     * A page of the current tool snapshot, continuing from {@code params.cursor} if present.
+     */
+    public Object listTools(Map<String, Object> params) {
+        Object cursor = params == null ? null : params.get("cursor");
+        return toolRegistry.snapshot().listPage(cursor, listProperties.pageSize());
     }
 
-    @SuppressWarnings("unchecked")
     public Object callTool(Map<String, Object> params) {
+        return ToolExecutor.join(callToolAsync(params));
+    }
+
+    public CompletableFuture<Object> callToolAsync(Map<String, Object> params) {
+        return callToolAsync(params, new ToolCallContext(), null);
+    }
+
+    /**
+     * Like {@link #callToolAsync(Map)}, but the call stops when {@code context} is cancelled, and a
+     * {@link StreamingMcpTool} hands its result items to {@code chunks} while it runs and completes with its
+     * summary. The next chunk is produced once the future {@code chunks} returned for the previous one
+     * completes, and a failed future aborts the call; streamed calls bypass the result cache. Other tools, or a {@code null} {@code chunks}, take the
+     * regular path.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Object> callToolAsync(Map<String, Object> params, ToolCallContext context,
+                                                   Function<List<?>, CompletableFuture<?>> chunks) {
         if (params == null) {
             throw new McpException(McpErrorCodes.INVALID_PARAMS, "tools/call requires params");
         }
@@ -46,10 +102,56 @@ public class McpToolsService {
         }
 
         Map<String, Object> arguments = (Map<String, Object>) mapArguments;
-        McpTool tool = toolRegistry.findByName(toolName)
-                .orElseThrow(() -> new McpException(McpErrorCodes.TOOL_NOT_FOUND,
-                        "Tool not found: " + toolName));
+        ToolSnapshot snapshot = toolRegistry.snapshot();
+        McpTool tool = snapshot.find(toolName);
+        if (tool == null) {
+            throw new McpException(McpErrorCodes.TOOL_NOT_FOUND, "Tool not found: " + toolName);
+        }
+        snapshot.validator(toolName).validate(arguments);
+
+        Timer timer = callTimers.computeIfAbsent(toolName, this::callTimer);
+        long start = System.nanoTime();
+        activeCalls.incrementAndGet();
+        CompletableFuture<Object> result;
+        try {
+            if (chunks != null && tool instanceof StreamingMcpTool streamingTool) {
+                result = toolExecutor.submitStreaming(tool, context,
+                        call -> streamingTool.openStream(arguments, streamingProperties.chunkSize(), call), chunks);
+            } else {
+                result = resultCache.getOrLoad(tool, arguments, context,
+                        load -> toolExecutor.submit(tool, load, call -> tool.invoke(arguments, call)));
+            }
+        } catch (RuntimeException ex) {
+            activeCalls.decrementAndGet();
+            throw ex;
+        }
+        return result.whenComplete((value, failure) -> {
+            activeCalls.decrementAndGet();
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Removes the {@code mcp.tool.calls} timers of tools that are no longer registered, so tools that come and
+     * go do not leave a series behind each.
+     */
+    @EventListener
+    public void onToolListChanged(ToolListChangedEvent event) {
+        ToolSnapshot current = toolRegistry.snapshot();
+        for (Iterator<Map.Entry<String, Timer>> it = callTimers.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Timer> entry = it.next();
+            if (current.find(entry.getKey()) == null) {
+                it.remove();
+                meterRegistry.remove(entry.getValue());
+            }
+        }
+    }
 
-        return tool.invoke(arguments);
+    private Timer callTimer(String toolName) {
+        return Timer.builder("mcp.tool.calls")
+                .description("Tool call latency")
+                .tag("tool", toolName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,10 @@
+package com.example.mcpdemo.service;
+
+public record ToolCacheStats(
+        long entries,
+        long weightedBytes,
+        long hits,
+        long misses,
+        long evictions
+) {
+}
@@ -0,0 +1,41 @@
+package com.example.mcpdemo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "mcp.tools.execution")
+public record ToolExecutionProperties(
+        @DefaultValue("BOUNDED") Mode mode,
+        @DefaultValue("16") int poolSize,
+        @DefaultValue("1024") int queueCapacity,
+        @DefaultValue("0") int defaultMaxConcurrency,
+        Map<String, Integer> maxConcurrency,
+        @DefaultValue("5s") Duration acquireTimeout,
+        @DefaultValue("30s") Duration callTimeout
+) {
+    public ToolExecutionProperties {
+        maxConcurrency = maxConcurrency == null ? Map.of() : Map.copyOf(maxConcurrency);
+    }
+
+    /**
+     * In-flight call limit for a tool; zero or negative means unlimited.
+     */
+    public int maxConcurrency(String toolName) {
+        return maxConcurrency.getOrDefault(toolName, defaultMaxConcurrency);
+    }
+
+    /**
+     * Where {@code McpTool.invoke} runs.
+     */
+    public enum Mode {
+        /** On the caller's thread, as before. */
+        DIRECT,
+        /** On a fixed pool of {@code poolSize} platform threads with a bounded queue. */
+        BOUNDED,
+        /** One virtual thread per call; requires running on Java 21 or later. */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.StreamingMcpTool.ResultStream;
+import com.example.mcpdemo.tool.ToolCallContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs tool invocations in the configured {@link ToolExecutionProperties.Mode} and caps in-flight
+ * calls per tool. A call over its tool's limit waits for a permit in that tool's queue before it is handed to
+ * the executor, so it holds no worker while it waits and a saturated tool cannot starve the others; only in
+ * {@code DIRECT} mode does the caller's own thread wait. A call that gets no permit within
+ * {@code acquireTimeout}, or that the bounded pool rejects, fails with {@link McpErrorCodes#TOOL_BUSY}. Every
+ * call gets a deadline of {@code callTimeout}; when it passes, or the call's {@link ToolCallContext} is
+ * cancelled, the returned future fails, the worker thread is interrupted and a call still waiting for a permit
+ * or in the queue never starts. Tools see the exact deadline at their checkpoints; calls that do not reach one,
+ * and permit waits that run out, are expired by a periodic sweep, which is cheaper per call than arming a
+ * timer for each.
+ */
+@Component
+public class ToolExecutor {
+    private static final Duration SWEEP_PERIOD = Duration.ofMillis(100);
+
+    private final ToolExecutionProperties properties;
+    private final Executor executor;
+    private final ExecutorService pool;
+    private final ScheduledExecutorService deadlineSweeper;
+    private final Set<ToolCallContext> withDeadline = ConcurrentHashMap.newKeySet();
+    private final Map<String, ToolPermits> permits = new ConcurrentHashMap<>();
+
+    public ToolExecutor(ToolExecutionProperties properties) {
+        this.properties = properties;
+        if (hasCallTimeout() || properties.acquireTimeout().toNanos() > 0) {
+            CustomizableThreadFactory sweeperThreads = new CustomizableThreadFactory("mcp-deadline-");
+            sweeperThreads.setDaemon(true);
+            this.deadlineSweeper = Executors.newSingleThreadScheduledExecutor(sweeperThreads);
+            long period = SWEEP_PERIOD.toNanos();
+            for (Duration timeout : List.of(properties.callTimeout(), properties.acquireTimeout())) {
+                if (timeout.toNanos() > 0) {
+                    period = Math.min(period, timeout.toNanos() / 4);
+                }
+            }
+            period = Math.max(1, period);
+            this.deadlineSweeper.scheduleAtFixedRate(this::expireOverdue, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            this.deadlineSweeper = null;
+        }
+        switch (properties.mode()) {
+            case DIRECT -> {
+                this.pool = null;
+                this.executor = Runnable::run;
+            }
+            case BOUNDED -> {
+                this.pool = new ThreadPoolExecutor(properties.poolSize(), properties.poolSize(),
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(properties.queueCapacity()),
+                        new CustomizableThreadFactory("mcp-tool-"));
+                this.executor = pool;
+            }
+            case VIRTUAL -> {
+                this.pool = null;
+                this.executor = virtualThreads();
+            }
+            default -> throw new IllegalStateException("Unknown execution mode: " + properties.mode());
+        }
+    }
+
+    public CompletableFuture<Object> submit(McpTool tool, Map<String, Object> arguments) {
+        return submit(tool, new ToolCallContext(), context -> tool.invoke(arguments, context));
+    }
+
+    /**
+     * Runs {@code call} under {@code tool}'s concurrency limit and {@code context}'s cancellation, for
+     * invocations other than a plain {@code invoke} with a fresh context.
+     */
+    public CompletableFuture<Object> submit(McpTool tool, ToolCallContext context,
+                                            Function<ToolCallContext, Object> call) {
+        return admit(tool, context, (toolPermits, result) -> start(tool, context, call, toolPermits, result));
+    }
+
+    /**
+     * Runs a streaming call under the same limits as {@link #submit}: the stream {@code open} returns is pulled
+     * on a worker and each chunk handed to {@code chunks}. While the future returned for a chunk is pending the
+     * call gives its worker back and keeps only its permit, so consumers that are slow to take chunks cannot
+     * tie up the pool; a failed future fails the call. In {@code DIRECT} mode the caller's thread waits instead.
+     */
+    public CompletableFuture<Object> submitStreaming(McpTool tool, ToolCallContext context,
+                                                     Function<ToolCallContext, ResultStream> open,
+                                                     Function<List<?>, CompletableFuture<?>> chunks) {
+        return admit(tool, context,
+                (toolPermits, result) -> new StreamedCall(tool, context, open, chunks, toolPermits, result).dispatch());
+    }
+
+    /**
+     * Waits for a submitted call and rethrows its failure unwrapped, for callers that need a plain result.
+     */
+    public static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        if (deadlineSweeper != null) {
+            deadlineSweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands an admitted call to the executor; the permit goes back when the call ends, or right away if the
+     * pool rejects it.
+     */
+    private void start(McpTool tool, ToolCallContext context, Function<ToolCallContext, Object> call,
+                       ToolPermits toolPermits, CompletableFuture<Object> result) {
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(invoke(context, call));
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                } finally {
+                    toolPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            toolPermits.release();
+            result.completeExceptionally(busy(tool.getName()));
+        }
+    }
+
+    /**
+     * Sets the call's deadline and waits for a permit without holding a thread, then passes the permit and the
+     * call's future to {@code start}, which must release the permit when the call ends.
+     */
+    private CompletableFuture<Object> admit(McpTool tool, ToolCallContext context,
+                                            BiConsumer<ToolPermits, CompletableFuture<Object>> start) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        context.onCancel(result::completeExceptionally);
+        if (hasCallTimeout()) {
+            context.expireAfter(properties.callTimeout());
+            withDeadline.add(context);
+            result.whenComplete((value, failure) -> withDeadline.remove(context));
+        }
+        if (context.isCancelled()) {
+            return result;
+        }
+        ToolPermits toolPermits = permits.computeIfAbsent(tool.getName(), this::newPermits);
+        CompletableFuture<Void> admission = toolPermits.acquire(properties.acquireTimeout().toNanos());
+        if (admission == null) {
+            result.completeExceptionally(busy(tool.getName()));
+            return result;
+        }
+        if (!admission.isDone()) {
+            context.onCancel(reason -> toolPermits.withdraw(admission, reason));
+            if (properties.mode() == ToolExecutionProperties.Mode.DIRECT) {
+                // the caller's thread is the worker here, so it is the one that waits
+                admission.handle((granted, failure) -> null).join();
+            }
+        }
+        admission.whenComplete((granted, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                start.accept(toolPermits, result);
+            }
+        });
+        return result;
+    }
+
+    private Object invoke(ToolCallContext context, Function<ToolCallContext, Object> call) {
+        context.bindWorker(Thread.currentThread());
+        try {
+            context.checkpoint();
+            return call.apply(context);
+        } finally {
+            if (context.unbindWorker()) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private boolean hasCallTimeout() {
+        return !properties.callTimeout().isZero() && !properties.callTimeout().isNegative();
+    }
+
+    private void expireOverdue() {
+        for (ToolCallContext context : withDeadline) {
+            if (context.isCancelled()) {
+                withDeadline.remove(context);
+            }
+        }
+        long now = System.nanoTime();
+        permits.forEach((toolName, toolPermits) -> {
+            for (CompletableFuture<Void> admission : toolPermits.expire(now)) {
+                admission.completeExceptionally(busy(toolName));
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private ToolPermits newPermits(String toolName) {
+        return new ToolPermits(properties.maxConcurrency(toolName));
+    }
+
+    private McpException busy(String toolName) {
+        return new McpException(McpErrorCodes.TOOL_BUSY, "Tool is busy, try again later: " + toolName);
+    }
+
+    /**
+     * A streaming call between its chunks. It runs on a worker only while it produces chunks that the consumer
+     * takes right away; on the first it does not, the worker returns and the consumer's future resubmits the
+     * call. The permit goes back once, when the stream ends or fails, or when the call is cancelled while
+     * suspended.
+     */
+    private final class StreamedCall implements Runnable {
+        private static final int RUNNING = 0;
+        private static final int SUSPENDED = 1;
+        private static final int DONE = 2;
+
+        private final McpTool tool;
+        private final ToolCallContext context;
+        private final Function<ToolCallContext, ResultStream> open;
+        private final Function<List<?>, CompletableFuture<?>> chunks;
+        private final ToolPermits toolPermits;
+        private final CompletableFuture<Object> result;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private ResultStream stream;
+        private Object summary;
+
+        StreamedCall(McpTool tool, ToolCallContext context, Function<ToolCallContext, ResultStream> open,
+                     Function<List<?>, CompletableFuture<?>> chunks, ToolPermits toolPermits,
+                     CompletableFuture<Object> result) {
+            this.tool = tool;
+            this.context = context;
+            this.open = open;
+            this.chunks = chunks;
+            this.toolPermits = toolPermits;
+            this.result = result;
+            context.onCancel(reason -> abandon());
+        }
+
+        void dispatch() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                finish(null, busy(tool.getName()));
+            }
+        }
+
+        @Override
+        public void run() {
+            CompletableFuture<?> pending;
+            try {
+                pending = produce();
+            } catch (Throwable ex) {
+                finish(null, unwrap(ex));
+                return;
+            }
+            if (pending == null) {
+                finish(summary, null);
+                return;
+            }
+            state.set(SUSPENDED);
+            if (context.isCancelled()) {
+                abandon();
+                return;
+            }
+            pending.whenComplete((accepted, failure) -> resume(failure));
+        }
+
+        /**
+         * Pulls chunks until the consumer leaves one pending, which is returned, or the stream ends.
+         */
+        private CompletableFuture<?> produce() {
+            context.bindWorker(Thread.currentThread());
+            try {
+                while (true) {
+                    context.checkpoint();
+                    if (stream == null) {
+                        stream = open.apply(context);
+                    }
+                    List<?> chunk = stream.next();
+                    if (chunk == null) {
+                        summary = stream.summary();
+                        return null;
+                    }
+                    CompletableFuture<?> accepted = chunks.apply(chunk);
+                    if (properties.mode() == ToolExecutionProperties.Mode.DIRECT) {
+                        accepted.handle((value, failure) -> null).join();
+                    }
+                    if (!accepted.isDone()) {
+                        return accepted;
+                    }
+                    accepted.join();
+                }
+            } finally {
+                if (context.unbindWorker()) {
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private void resume(Throwable failure) {
+            if (!state.compareAndSet(SUSPENDED, RUNNING)) {
+                return;
+            }
+            if (failure != null) {
+                finish(null, unwrap(failure));
+            } else {
+                dispatch();
+            }
+        }
+
+        private void abandon() {
+            // the cancellation has already failed the result
+            if (state.compareAndSet(SUSPENDED, DONE)) {
+                toolPermits.release();
+            }
+        }
+
+        private void finish(Object value, Throwable failure) {
+            if (state.getAndSet(DONE) == DONE) {
+                return;
+            }
+            toolPermits.release();
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+
+    private static Executor virtualThreads() {
+        try {
+            return new VirtualThreadTaskExecutor("mcp-tool-");
+        } catch (UnsupportedOperationException ex) {
+            throw new IllegalStateException("mcp.tools.execution.mode=VIRTUAL requires Java 21 or later", ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.mcpdemo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mcp.tools.list")
+public record ToolListProperties(
+        @DefaultValue("100") int pageSize
+) {
+    public ToolListProperties {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("mcp.tools.list.page-size must be positive");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mcpdemo.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The in-flight limit of one tool. A call over the limit waits in a FIFO queue without holding a thread, and
+ * a finishing call hands its permit straight to the oldest waiter. Whoever takes a waiter off the queue
+ * completes its admission: {@link #release} grants it, {@link #withdraw} and {@link #expire} fail it.
+ */
+final class ToolPermits {
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final int limit;
+    private final ArrayDeque<Waiter> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    ToolPermits(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * An admission that completes once the call holds a permit, already complete if one is free; {@code null}
+     * if none is free and {@code timeoutNanos} leaves no time to wait.
+     */
+    CompletableFuture<Void> acquire(long timeoutNanos) {
+        if (limit <= 0) {
+            return GRANTED;
+        }
+        synchronized (this) {
+            if (inFlight < limit) {
+                inFlight++;
+                return GRANTED;
+            }
+            if (timeoutNanos <= 0) {
+                return null;
+            }
+            Waiter waiter = new Waiter(System.nanoTime() + timeoutNanos);
+            waiting.addLast(waiter);
+            return waiter.admission;
+        }
+    }
+
+    /**
+     * Gives the permit of a finished or never-started call to the oldest waiter, or back to the pool.
+     */
+    void release() {
+        if (limit <= 0) {
+            return;
+        }
+        Waiter next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        next.admission.complete(null);
+    }
+
+    /**
+     * Takes a waiting call off the queue and fails its admission with {@code reason}; does nothing if the call
+     * was already admitted.
+     */
+    void withdraw(CompletableFuture<Void> admission, Throwable reason) {
+        boolean removed;
+        synchronized (this) {
+            removed = waiting.removeIf(waiter -> waiter.admission == admission);
+        }
+        if (removed) {
+            admission.completeExceptionally(reason);
+        }
+    }
+
+    /**
+     * Takes the calls that have waited past their timeout off the queue and returns their admissions, for the
+     * caller to fail. Every waiter has the same timeout, so the overdue ones are at the head.
+     */
+    List<CompletableFuture<Void>> expire(long now) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<CompletableFuture<Void>> expired = null;
+        synchronized (this) {
+            while (!waiting.isEmpty() && now - waiting.peekFirst().deadlineNanos >= 0) {
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(waiting.pollFirst().admission);
+            }
+        }
+        return expired == null ? List.of() : expired;
+    }
+
+    private record Waiter(long deadlineNanos, CompletableFuture<Void> admission) {
+        private Waiter(long deadlineNanos) {
+            this(deadlineNanos, new CompletableFuture<>());
+        }
+    }
+}
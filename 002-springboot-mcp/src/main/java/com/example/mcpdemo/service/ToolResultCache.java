@@ -0,0 +1,261 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.example.mcpdemo.tool.ToolListChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.RecordComponent;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Results of cacheable tools, keyed by tool name and a SHA-256 digest of the arguments serialized with
+ * sorted map keys. Caffeine's W-TinyLFU policy evicts against a budget of result bytes, estimated as the
+ * JSON size without serializing the result a second time, and entries expire after the tool's own TTL.
+ * Concurrent identical calls share one in-flight load; failed calls are not cached. A caller that cancels
+ * stops waiting at once, while the shared load itself is cancelled only when every caller waiting for it
+ * has been. Hits, misses, evictions, entries and weighted bytes are published as {@code mcp.tools.cache.*}
+ * meters.
+ */
+@Component
+public class ToolResultCache {
+    private static final ClassValue<RecordComponent[]> RECORD_COMPONENTS = new ClassValue<>() {
+        @Override
+        protected RecordComponent[] computeValue(Class<?> type) {
+            return type.getRecordComponents();
+        }
+    };
+
+    private final boolean enabled;
+    private final ObjectMapper canonicalMapper;
+    private final AsyncCache<Key, Object> cache;
+    private final Map<Key, ToolCallContext> loading = new ConcurrentHashMap<>();
+
+    public ToolResultCache(ToolCacheProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public ToolResultCache(ToolCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.canonicalMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((Key key, Object value) -> weigh(key, value))
+                .expireAfter(new Expiry<Key, Object>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Object value, long currentTime) {
+                        return key.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Object value, long currentTime, long currentDuration) {
+                        return key.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        registerMeters(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result for a cacheable tool, or starts {@code loader} once and caches what it produces.
+     * The loader receives the context the load runs under: {@code context} itself for uncached calls, otherwise
+     * one shared by all callers of the load.
+     */
+    public CompletableFuture<Object> getOrLoad(McpTool tool, Map<String, Object> arguments, ToolCallContext context,
+                                               Function<ToolCallContext, CompletableFuture<Object>> loader) {
+        if (!enabled || !tool.isCacheable() || tool.getCacheTtl().isZero() || tool.getCacheTtl().isNegative()) {
+            return loader.apply(context);
+        }
+
+        Key key = new Key(tool.getName(), digest(arguments), tool.getCacheTtl());
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        ToolCallContext shared = new ToolCallContext();
+        CompletableFuture<Object> result = cache.get(key, (k, executor) -> {
+            shared.attach(context);
+            loading.put(k, shared);
+            return pending;
+        });
+        if (result == pending) {
+            loader.apply(shared).whenComplete((value, failure) -> {
+                loading.remove(key, shared);
+                if (failure != null) {
+                    pending.completeExceptionally(failure);
+                } else {
+                    pending.complete(value);
+                }
+            });
+        } else if (!result.isDone()) {
+            ToolCallContext load = loading.get(key);
+            if (load != null && !load.attach(context)) {
+                return loader.apply(context);
+            }
+        }
+        return forCaller(result, context);
+    }
+
+    /**
+     * Counts as of now. Evictions and expirations Caffeine has not carried out yet are not included; call
+     * {@link #cleanUp()} first to count them.
+     */
+    public ToolCacheStats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new ToolCacheStats(cache.synchronous().estimatedSize(), weightedBytes(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    /**
+     * Carries out pending evictions and expirations now instead of during later reads and writes.
+     */
+    public void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Drops results of tools that were replaced or removed so a re-registered tool never serves stale output.
+     */
+    @EventListener
+    public void onToolListChanged(ToolListChangedEvent event) {
+        cache.synchronous().asMap().keySet().removeIf(key -> event.changed(key.tool()));
+    }
+
+    private long weightedBytes() {
+        return cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        counter(registry, "mcp.tools.cache.hits", "Cacheable tool calls served from the result cache",
+                CacheStats::hitCount);
+        counter(registry, "mcp.tools.cache.misses", "Cacheable tool calls that had to run the tool",
+                CacheStats::missCount);
+        counter(registry, "mcp.tools.cache.evictions", "Results evicted for the byte budget or expired",
+                CacheStats::evictionCount);
+        Gauge.builder("mcp.tools.cache.size", this, owner -> owner.cache.synchronous().estimatedSize())
+                .description("Cached tool results").register(registry);
+        Gauge.builder("mcp.tools.cache.weight", this, ToolResultCache::weightedBytes)
+                .description("Estimated bytes of cached tool results").baseUnit("bytes").register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<CacheStats> count) {
+        FunctionCounter.builder(name, this, owner -> count.applyAsDouble(owner.cache.synchronous().stats()))
+                .description(description).register(registry);
+    }
+
+    private CompletableFuture<Object> forCaller(CompletableFuture<Object> result, ToolCallContext context) {
+        if (result.isDone()) {
+            return result;
+        }
+        CompletableFuture<Object> own = result.thenApply(Function.identity());
+        context.onCancel(own::completeExceptionally);
+        return own;
+    }
+
+    private String digest(Map<String, Object> arguments) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonicalMapper.writeValueAsBytes(arguments)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot build cache key", ex);
+        }
+    }
+
+    private int weigh(Key key, Object value) {
+        long bytes = (long) key.tool().length() + key.digest().length() + estimateSize(value);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Approximate JSON size of {@code value}, walked from the lengths of its text and the shape of its maps,
+     * collections, arrays and records; escapes and multi-byte characters are not counted. Only values of
+     * other types, which tool results rarely hold, are serialized to be measured.
+     */
+    long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof Boolean flag) {
+            return flag ? 4 : 5;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 2L;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return Long.toString(((Number) value).longValue()).length();
+        }
+        if (value instanceof Number || value instanceof Enum<?>) {
+            return value.toString().length() + 2L;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 1L + map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += String.valueOf(entry.getKey()).length() + 3L + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> items) {
+            long size = 1L + items.size();
+            for (Object item : items) {
+                size += estimateSize(item);
+            }
+            return size;
+        }
+        if (value instanceof Object[] items) {
+            return estimateSize(Arrays.asList(items));
+        }
+        if (value instanceof Record) {
+            try {
+                RecordComponent[] components = RECORD_COMPONENTS.get(value.getClass());
+                long size = 1L + components.length;
+                for (RecordComponent component : components) {
+                    size += component.getName().length() + 3L + estimateSize(component.getAccessor().invoke(value));
+                }
+                return size;
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                // a record whose accessors cannot be called from here is measured like any other value
+            }
+        }
+        try {
+            return canonicalMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException ex) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private record Key(String tool, String digest, Duration ttl) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.mcpdemo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mcp.tools.streaming")
+public record ToolStreamingProperties(
+        @DefaultValue("500") int chunkSize
+) {
+    public ToolStreamingProperties {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("mcp.tools.streaming.chunk-size must be positive");
+        }
+    }
+}
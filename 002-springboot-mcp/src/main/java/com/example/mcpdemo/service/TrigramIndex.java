@@ -0,0 +1,148 @@
+package com.example.mcpdemo.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram inverted index over lower-cased text, keyed by store slot.
+ * Posting lists are append-only int arrays sorted by slot; a single writer appends
+ * while readers take lock-free snapshots. Candidates are a superset of the
+ * substring matches and must still be verified; {@link #signature} gives a
+ * 128-bit trigram Bloom filter per entry as a cheap pre-check for that.
+ */
+class TrigramIndex {
+    static final int GRAM_LENGTH = 3;
+    static final int SIGNATURE_WORDS = 2;
+
+    private final Map<Long, Postings> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Must be called by one writer at a time with increasing slots.
+     */
+    void add(int slot, String... loweredTexts) {
+        for (String text : loweredTexts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                postings.computeIfAbsent(gram(text, i), key -> new Postings()).append(slot);
+            }
+        }
+    }
+
+    /**
+     * Returns the slots that contain every trigram of the keyword, or {@code null} when the
+     * keyword is too short or its rarest trigram has more than {@code maxPostings} entries,
+     * in which case verifying the other candidates directly is cheaper.
+     */
+    BitSet candidates(String loweredKeyword, int maxPostings) {
+        int gramCount = loweredKeyword.length() - GRAM_LENGTH + 1;
+        if (gramCount <= 0) {
+            return null;
+        }
+
+        Postings[] lists = new Postings[gramCount];
+        int smallest = 0;
+        for (int i = 0; i < gramCount; i++) {
+            lists[i] = postings.get(gram(loweredKeyword, i));
+            if (lists[i] == null) {
+                return new BitSet();
+            }
+            if (lists[i].size < lists[smallest].size) {
+                smallest = i;
+            }
+        }
+        if (lists[smallest].size > maxPostings) {
+            return null;
+        }
+
+        int resultSize = lists[smallest].size;
+        int[] result = Arrays.copyOf(lists[smallest].slots, resultSize);
+        for (int i = 0; i < gramCount && resultSize > 0; i++) {
+            if (i != smallest) {
+                int otherSize = lists[i].size;
+                resultSize = intersect(result, resultSize, lists[i].slots, otherSize);
+            }
+        }
+
+        BitSet candidates = new BitSet();
+        for (int i = 0; i < resultSize; i++) {
+            candidates.set(result[i]);
+        }
+        return candidates;
+    }
+
+    /**
+     * Intersects the sorted prefix {@code target[0, size)} with {@code other} in place,
+     * galloping through the (usually much longer) other list.
+     */
+    private static int intersect(int[] target, int size, int[] other, int otherSize) {
+        int kept = 0;
+        int low = 0;
+        for (int i = 0; i < size && low < otherSize; i++) {
+            int value = target[i];
+            int step = 1;
+            int high = low;
+            while (high < otherSize && other[high] < value) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(other, low, Math.min(high + 1, otherSize), value);
+            if (found >= 0) {
+                target[kept++] = value;
+                low = found + 1;
+            } else {
+                low = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Writes the trigram signature of the texts into {@code target[offset, offset + SIGNATURE_WORDS)}.
+     */
+    static void signature(long[] target, int offset, String... loweredTexts) {
+        for (String text : loweredTexts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                int bit = signatureBit(gram(text, i));
+                target[offset + (bit >>> 6)] |= 1L << bit;
+            }
+        }
+    }
+
+    static boolean mayContain(long[] signatures, int offset, long[] keywordSignature) {
+        for (int i = 0; i < SIGNATURE_WORDS; i++) {
+            if ((signatures[offset + i] & keywordSignature[i]) != keywordSignature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int signatureBit(long gram) {
+        return (int) ((gram * 0x9E3779B97F4A7C15L) >>> 57);
+    }
+
+    private static long gram(String text, int offset) {
+        return (long) text.charAt(offset) << 32 | (long) text.charAt(offset + 1) << 16 | text.charAt(offset + 2);
+    }
+
+    private static final class Postings {
+        private volatile int[] slots = new int[4];
+        private volatile int size;
+
+        void append(int slot) {
+            int current = size;
+            if (current > 0 && slots[current - 1] == slot) {
+                return;
+            }
+            int[] array = slots;
+            if (current == array.length) {
+                array = Arrays.copyOf(array, current << 1);
+                slots = array;
+            }
+            array[current] = slot;
+            size = current + 1;
+        }
+    }
+}
@@ -6,15 +6,24 @@ import com.example.mcpdemo.protocol.McpException;
 import com.example.mcpdemo.service.CalendarService;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Component
-public class CalendarEventsTool implements McpTool {
+public class CalendarEventsTool implements StreamingMcpTool {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final Duration CACHE_TTL = Duration.ofSeconds(30);
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 500;
+    private static final String ISON = "ison";
+    private static final List<String> ISON_FIELDS = List.of("id:string", "title:string", "startTime:string",
+            "endTime:string", "location:string", "description:string");
 
     private final CalendarService calendarService;
 
@@ -37,35 +46,147 @@ public class CalendarEventsTool implements McpTool {
         return Map.of(
                 "type", "object",
                 "properties", Map.of(
-                        "start_time", Map.of("type", "string", "format", "date-time", "description", "Inclusive start time"),
-                        "end_time", Map.of("type", "string", "format", "date-time", "description", "Inclusive end time"),
-                        "keyword", Map.of("type", "string", "description", "Keyword in title, location or description")
+                        "start_time", timeBound("Inclusive start time"),
+                        "end_time", timeBound("Inclusive end time"),
+                        "keyword", Map.of("type", "string", "description", "Keyword in title, location or description"),
+                        "limit", Map.of("type", "integer", "minimum", 1, "maximum", MAX_LIMIT,
+                                "description", "Maximum events to return, default " + DEFAULT_LIMIT),
+                        "cursor", Map.of("type", "string", "description", "nextCursor of the previous page"),
+                        "format", Map.of("type", "string", "enum", List.of("json", ISON),
+                                "description", "Encoding of structuredContent.events: an array of objects (json, "
+                                        + "default) or one ISON table that names each field once (ison)")
                 ),
                 "additionalProperties", false
         );
     }
 
+    /**
+     * A date-time, or a blank string for no bound, as clients sent before the schema was validated.
+     */
+    private static Map<String, Object> timeBound(String description) {
+        return Map.of("type", "string",
+                "anyOf", List.of(Map.of("format", "date-time"), Map.of("pattern", "^\\s*$")),
+                "description", description + "; blank for no bound");
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public Duration getCacheTtl() {
+        return CACHE_TTL;
+    }
+
     @Override
     public Object invoke(Map<String, Object> arguments) {
+        return invoke(arguments, new ToolCallContext());
+    }
+
+    @Override
+    public Object invoke(Map<String, Object> arguments, ToolCallContext context) {
         validate(arguments);
-        List<CalendarEvent> events = calendarService.queryEvents(arguments);
+        context.checkpoint();
+        CalendarService.Page page = calendarService.queryPage(arguments, limit(arguments));
+        context.checkpoint();
+        List<CalendarEvent> events = page.events();
         String summary = buildSummary(events);
+        if (page.nextCursor() != null) {
+            summary += "\nMore events match; pass nextCursor as cursor to continue.";
+        }
 
-        return Map.of(
-                "event_count", events.size(),
-                "has_events", !events.isEmpty(),
-                "structuredContent", Map.of(
-                        "events", events,
-                        "event_count", events.size(),
-                        "has_events", !events.isEmpty()
-                ),
-                "content", List.of(
-                        Map.of(
-                                "type", "text",
-                                "text", summary
-                        )
+        Map<String, Object> structuredContent = new LinkedHashMap<>();
+        if (ISON.equals(arguments == null ? null : arguments.get("format"))) {
+            structuredContent.put("format", ISON);
+            structuredContent.put("events", toIson(events));
+        } else {
+            structuredContent.put("events", events);
+        }
+        structuredContent.put("event_count", events.size());
+        structuredContent.put("has_events", !events.isEmpty());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("event_count", events.size());
+        result.put("has_events", !events.isEmpty());
+        if (page.nextCursor() != null) {
+            structuredContent.put("nextCursor", page.nextCursor());
+            result.put("nextCursor", page.nextCursor());
+        }
+        result.put("structuredContent", structuredContent);
+        result.put("content", List.of(
+                Map.of(
+                        "type", "text",
+                        "text", summary
                 )
-        );
+        ));
+        return result;
+    }
+
+    /**
+     * The events as an ISON {@code table.events}; every value is quoted or escaped as needed, so titles and
+     * descriptions with spaces or line breaks read back unchanged.
+     */
+    public static String toIson(List<CalendarEvent> events) {
+        StringBuilder table = new StringBuilder(96 + events.size() * 128);
+        try (IsonWriter writer = IsonWriter.of(table)) {
+            writer.beginTable("events", ISON_FIELDS);
+            for (CalendarEvent event : events) {
+                writer.value(event.id())
+                        .value(event.title())
+                        .value(event.startTime())
+                        .value(event.endTime())
+                        .value(event.location())
+                        .value(event.description())
+                        .endRow();
+            }
+        }
+        return table.toString();
+    }
+
+    private int limit(Map<String, Object> arguments) {
+        return arguments != null && arguments.get("limit") instanceof Number limit ? limit.intValue() : DEFAULT_LIMIT;
+    }
+
+    @Override
+    public ResultStream openStream(Map<String, Object> arguments, int chunkSize, ToolCallContext context) {
+        validate(arguments);
+        Iterator<List<CalendarEvent>> pages = calendarService.eventChunks(arguments, chunkSize);
+        return new ResultStream() {
+            private int eventCount;
+
+            @Override
+            public List<?> next() {
+                context.checkpoint();
+                if (!pages.hasNext()) {
+                    return null;
+                }
+                List<CalendarEvent> chunk = pages.next();
+                eventCount += chunk.size();
+                return chunk;
+            }
+
+            @Override
+            public Object summary() {
+                String summary = eventCount == 0
+                        ? "No calendar events found in the specified time range."
+                        : "Found " + eventCount + " calendar events; they were sent as progress notifications.";
+                return Map.of(
+                        "event_count", eventCount,
+                        "has_events", eventCount > 0,
+                        "structuredContent", Map.of(
+                                "event_count", eventCount,
+                                "has_events", eventCount > 0,
+                                "streamed", true
+                        ),
+                        "content", List.of(
+                                Map.of(
+                                        "type", "text",
+                                        "text", summary
+                                )
+                        )
+                );
+            }
+        };
     }
 
     private String buildSummary(List<CalendarEvent> events) {
@@ -92,10 +213,6 @@ public class CalendarEventsTool implements McpTool {
             return;
         }
 
-        validateType(arguments, "start_time");
-        validateType(arguments, "end_time");
-        validateType(arguments, "keyword");
-
         LocalDateTime start = parse(arguments.get("start_time"), "start_time");
         LocalDateTime end = parse(arguments.get("end_time"), "end_time");
         if (start != null && end != null && start.isAfter(end)) {
@@ -104,16 +221,6 @@ public class CalendarEventsTool implements McpTool {
         }
     }
 
-    private void validateType(Map<String, Object> arguments, String field) {
-        Object value = arguments.get(field);
-        if (value == null) {
-            return;
-        }
-        if (!(value instanceof String)) {
-            throw new McpException(McpErrorCodes.INVALID_PARAMS, field + " must be string");
-        }
-    }
-
     private LocalDateTime parse(Object value, String field) {
         if (value == null) {
             return null;
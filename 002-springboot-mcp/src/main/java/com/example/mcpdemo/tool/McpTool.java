@@ -1,5 +1,6 @@
 package com.example.mcpdemo.tool;
 
+import java.time.Duration;
 import java.util.Map;
 
 public interface McpTool {
@@ -10,4 +11,23 @@ public interface McpTool {
     Map<String, Object> getInputSchema();
 
     Object invoke(Map<String, Object> arguments);
+
+    /**
+     * Like {@link #invoke(Map)} but able to stop early: long-running tools should call
+     * {@link ToolCallContext#checkpoint()} between units of work. The default ignores {@code context}.
+     */
+    default Object invoke(Map<String, Object> arguments, ToolCallContext context) {
+        return invoke(arguments);
+    }
+
+    /**
+     * Whether identical calls may be answered from the result cache; only for tools without side effects.
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
+    default Duration getCacheTtl() {
+        return Duration.ZERO;
+    }
 }
@@ -0,0 +1,501 @@
+package com.example.mcpdemo.tool;
+
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles the JSON Schema subset used by tool input schemas into a {@link SchemaValidator} tree:
+ * {@code type}, {@code enum}, {@code const}, {@code anyOf}, {@code properties}, {@code required},
+ * {@code additionalProperties}, {@code items}, {@code minItems}/{@code maxItems},
+ * {@code minLength}/{@code maxLength}, {@code pattern}, numeric bounds and the {@code date-time},
+ * {@code date}, {@code time}, {@code email}, {@code uri} and {@code uuid} formats. Other keywords are
+ * annotations and are ignored. An object property whose value is JSON {@code null} counts as absent.
+ * {@code date-time} accepts a missing offset, as the tools' own examples do.
+ */
+public final class SchemaCompiler {
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern UUID = Pattern.compile("^[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}$");
+
+    private SchemaCompiler() {
+    }
+
+    /**
+     * Compiles a tool's input schema; the validator is applied to the {@code arguments} object.
+     *
+     * @throws IllegalArgumentException if the schema is malformed
+     */
+    public static SchemaValidator compile(Map<String, Object> inputSchema) {
+        if (inputSchema == null || inputSchema.isEmpty()) {
+            return SchemaValidator.ACCEPT_ALL;
+        }
+        return compile(inputSchema, "");
+    }
+
+    /**
+     * The names a closed input schema ({@code additionalProperties: false}) allows in {@code arguments}, or
+     * {@code null} if it allows any. Under a closed schema any other name fails validation whatever its value.
+     */
+    public static Set<String> closedProperties(Map<String, Object> inputSchema) {
+        if (inputSchema == null || !Boolean.FALSE.equals(inputSchema.get("additionalProperties"))) {
+            return null;
+        }
+        Map<?, ?> properties = inputSchema.get("properties") instanceof Map<?, ?> map ? map : Map.of();
+        return properties.keySet().stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static SchemaValidator compile(Object node, String path) {
+        if (Boolean.TRUE.equals(node)) {
+            return SchemaValidator.ACCEPT_ALL;
+        }
+        if (Boolean.FALSE.equals(node)) {
+            return value -> fail(path, "is not allowed");
+        }
+        if (!(node instanceof Map<?, ?> schema)) {
+            throw new IllegalArgumentException("Schema at " + display(path) + " must be an object or boolean");
+        }
+
+        List<SchemaValidator> checks = new ArrayList<>();
+        if (schema.containsKey("type")) {
+            checks.add(typeCheck(schema.get("type"), path));
+        }
+        if (schema.get("enum") instanceof List<?> allowed) {
+            List<Object> values = List.copyOf(allowed);
+            checks.add(value -> {
+                for (Object candidate : values) {
+                    if (jsonEquals(candidate, value)) {
+                        return;
+                    }
+                }
+                fail(path, "must be one of " + values);
+            });
+        }
+        if (schema.containsKey("const")) {
+            Object expected = schema.get("const");
+            checks.add(value -> {
+                if (!jsonEquals(expected, value)) {
+                    fail(path, "must be " + expected);
+                }
+            });
+        }
+        if (schema.containsKey("anyOf")) {
+            checks.add(anyOf(schema.get("anyOf"), path));
+        }
+        addStringChecks(schema, path, checks);
+        addNumberChecks(schema, path, checks);
+        addArrayChecks(schema, path, checks);
+        if (schema.containsKey("properties") || schema.containsKey("required") || schema.containsKey("additionalProperties")) {
+            checks.add(objectCheck(schema, path));
+        }
+
+        return switch (checks.size()) {
+            case 0 -> SchemaValidator.ACCEPT_ALL;
+            case 1 -> checks.get(0);
+            default -> {
+                SchemaValidator[] all = checks.toArray(SchemaValidator[]::new);
+                yield value -> {
+                    for (SchemaValidator check : all) {
+                        check.validate(value);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Passes if any alternative does; otherwise reports why the first one failed. Alternatives are tried in
+     * order, so the one most values match should come first.
+     */
+    private static SchemaValidator anyOf(Object alternatives, String path) {
+        if (!(alternatives instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalArgumentException("anyOf at " + display(path) + " must be a non-empty array");
+        }
+        SchemaValidator[] validators = list.stream().map(alternative -> compile(alternative, path))
+                .toArray(SchemaValidator[]::new);
+        return value -> {
+            McpException first = null;
+            for (SchemaValidator validator : validators) {
+                try {
+                    validator.validate(value);
+                    return;
+                } catch (McpException ex) {
+                    if (first == null) {
+                        first = ex;
+                    }
+                }
+            }
+            throw first;
+        };
+    }
+
+    private static SchemaValidator typeCheck(Object type, String path) {
+        List<String> names = type instanceof Collection<?> list
+                ? list.stream().map(String::valueOf).toList()
+                : List.of(String.valueOf(type));
+        names.forEach(name -> {
+            if (!Set.of("string", "integer", "number", "boolean", "object", "array", "null").contains(name)) {
+                throw new IllegalArgumentException("Unsupported type '" + name + "' at " + display(path));
+            }
+        });
+        if (names.size() == 1) {
+            String name = names.get(0);
+            String message = "must be " + name;
+            return value -> {
+                if (!hasType(value, name)) {
+                    fail(path, message);
+                }
+            };
+        }
+        String[] any = names.toArray(String[]::new);
+        String message = "must be one of types " + names;
+        return value -> {
+            for (String name : any) {
+                if (hasType(value, name)) {
+                    return;
+                }
+            }
+            fail(path, message);
+        };
+    }
+
+    private static void addStringChecks(Map<?, ?> schema, String path, List<SchemaValidator> checks) {
+        Integer minLength = intKeyword(schema, "minLength", path);
+        Integer maxLength = intKeyword(schema, "maxLength", path);
+        if (minLength != null || maxLength != null) {
+            int min = minLength == null ? 0 : minLength;
+            int max = maxLength == null ? Integer.MAX_VALUE : maxLength;
+            checks.add(value -> {
+                if (value instanceof String text) {
+                    int length = text.codePointCount(0, text.length());
+                    if (length < min || length > max) {
+                        fail(path, "length must be between " + min + " and " + max);
+                    }
+                }
+            });
+        }
+        if (schema.get("pattern") instanceof String regex) {
+            Pattern pattern = Pattern.compile(regex);
+            checks.add(value -> {
+                if (value instanceof String text && !pattern.matcher(text).find()) {
+                    fail(path, "must match pattern " + regex);
+                }
+            });
+        }
+        if (schema.get("format") instanceof String format) {
+            SchemaValidator formatCheck = formatCheck(format, path);
+            if (formatCheck != null) {
+                checks.add(formatCheck);
+            }
+        }
+    }
+
+    private static SchemaValidator formatCheck(String format, String path) {
+        String message = "must be " + format;
+        return switch (format) {
+            case "date-time" -> temporal(DateTimeFormatter.ISO_DATE_TIME, SchemaCompiler::isSimpleDateTime, path, message);
+            case "date" -> temporal(DateTimeFormatter.ISO_LOCAL_DATE, text -> text.length() == 10 && isDate(text), path, message);
+            case "time" -> temporal(DateTimeFormatter.ISO_TIME, text -> false, path, message);
+            case "email" -> matching(EMAIL, path, message);
+            case "uuid" -> matching(UUID, path, message);
+            case "uri" -> value -> {
+                if (value instanceof String text) {
+                    try {
+                        if (!new URI(text).isAbsolute()) {
+                            fail(path, message);
+                        }
+                    } catch (URISyntaxException ex) {
+                        fail(path, message);
+                    }
+                }
+            };
+            default -> null;
+        };
+    }
+
+    /**
+     * {@code DateTimeFormatter.parse} allocates a parsed field map per call, so the common
+     * {@code yyyy-MM-ddTHH:mm[:ss[.fraction]][Z|±HH:MM]} and {@code yyyy-MM-dd} shapes are checked by hand
+     * and only other input falls back to the formatter.
+     */
+    private static SchemaValidator temporal(DateTimeFormatter formatter, Predicate<String> fastPath,
+                                            String path, String message) {
+        return value -> {
+            if (value instanceof String text) {
+                if (fastPath.test(text)) {
+                    return;
+                }
+                try {
+                    formatter.parse(text);
+                } catch (DateTimeParseException ex) {
+                    fail(path, message);
+                }
+            }
+        };
+    }
+
+    private static boolean isSimpleDateTime(String text) {
+        int length = text.length();
+        if (length < 16 || !isDate(text) || text.charAt(10) != 'T'
+                || !isNumber(text, 11, 2, 23) || text.charAt(13) != ':' || !isNumber(text, 14, 2, 59)) {
+            return false;
+        }
+        int index = 16;
+        if (index < length && text.charAt(index) == ':') {
+            if (!isNumber(text, index + 1, 2, 59)) {
+                return false;
+            }
+            index += 3;
+            if (index < length && text.charAt(index) == '.') {
+                int digits = 0;
+                while (index + 1 + digits < length && isDigit(text.charAt(index + 1 + digits))) {
+                    digits++;
+                }
+                if (digits == 0 || digits > 9) {
+                    return false;
+                }
+                index += 1 + digits;
+            }
+        }
+        if (index == length) {
+            return true;
+        }
+        char offset = text.charAt(index);
+        if (offset == 'Z') {
+            return index + 1 == length;
+        }
+        return (offset == '+' || offset == '-') && index + 6 == length
+                && isNumber(text, index + 1, 2, 18) && text.charAt(index + 3) == ':'
+                && isNumber(text, index + 4, 2, number(text, index + 1, 2) == 18 ? 0 : 59);
+    }
+
+    private static boolean isDate(String text) {
+        if (text.length() < 10 || !isNumber(text, 0, 4, 9999) || text.charAt(4) != '-'
+                || !isNumber(text, 5, 2, 12) || text.charAt(7) != '-' || !isNumber(text, 8, 2, 31)) {
+            return false;
+        }
+        int year = number(text, 0, 4);
+        int month = number(text, 5, 2);
+        int day = number(text, 8, 2);
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int maxDay = switch (month) {
+            case 2 -> leap ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return month >= 1 && day >= 1 && day <= maxDay;
+    }
+
+    private static boolean isNumber(String text, int from, int digits, int max) {
+        if (from + digits > text.length()) {
+            return false;
+        }
+        for (int i = from; i < from + digits; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return number(text, from, digits) <= max;
+    }
+
+    private static int number(String text, int from, int digits) {
+        int value = 0;
+        for (int i = from; i < from + digits; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static SchemaValidator matching(Pattern pattern, String path, String message) {
+        return value -> {
+            if (value instanceof String text && !pattern.matcher(text).matches()) {
+                fail(path, message);
+            }
+        };
+    }
+
+    private static void addNumberChecks(Map<?, ?> schema, String path, List<SchemaValidator> checks) {
+        bound(schema, "minimum", path, checks, (actual, limit) -> actual >= limit, "must be >= ");
+        bound(schema, "maximum", path, checks, (actual, limit) -> actual <= limit, "must be <= ");
+        bound(schema, "exclusiveMinimum", path, checks, (actual, limit) -> actual > limit, "must be > ");
+        bound(schema, "exclusiveMaximum", path, checks, (actual, limit) -> actual < limit, "must be < ");
+    }
+
+    private interface Comparison {
+        boolean holds(double actual, double limit);
+    }
+
+    private static void bound(Map<?, ?> schema, String keyword, String path, List<SchemaValidator> checks,
+                              Comparison comparison, String prefix) {
+        Object raw = schema.get(keyword);
+        if (raw == null) {
+            return;
+        }
+        if (!(raw instanceof Number number)) {
+            throw new IllegalArgumentException(keyword + " at " + display(path) + " must be a number");
+        }
+        double limit = number.doubleValue();
+        String message = prefix + raw;
+        checks.add(value -> {
+            if (value instanceof Number actual && !comparison.holds(actual.doubleValue(), limit)) {
+                fail(path, message);
+            }
+        });
+    }
+
+    private static void addArrayChecks(Map<?, ?> schema, String path, List<SchemaValidator> checks) {
+        Integer minItems = intKeyword(schema, "minItems", path);
+        Integer maxItems = intKeyword(schema, "maxItems", path);
+        if (minItems != null || maxItems != null) {
+            int min = minItems == null ? 0 : minItems;
+            int max = maxItems == null ? Integer.MAX_VALUE : maxItems;
+            checks.add(value -> {
+                if (value instanceof List<?> list && (list.size() < min || list.size() > max)) {
+                    fail(path, "must have between " + min + " and " + max + " items");
+                }
+            });
+        }
+        if (schema.containsKey("items")) {
+            SchemaValidator items = compile(schema.get("items"), path + "[]");
+            if (items != SchemaValidator.ACCEPT_ALL) {
+                checks.add(value -> {
+                    if (value instanceof List<?> list) {
+                        for (int i = 0; i < list.size(); i++) {
+                            items.validate(list.get(i));
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private static SchemaValidator objectCheck(Map<?, ?> schema, String path) {
+        Map<?, ?> properties = schema.get("properties") instanceof Map<?, ?> map ? map : Map.of();
+        String[] names = new String[properties.size()];
+        SchemaValidator[] validators = new SchemaValidator[properties.size()];
+        int index = 0;
+        for (Map.Entry<?, ?> property : properties.entrySet()) {
+            names[index] = String.valueOf(property.getKey());
+            validators[index] = compile(property.getValue(), child(path, names[index]));
+            index++;
+        }
+        String[] required = schema.get("required") instanceof Collection<?> list
+                ? list.stream().map(String::valueOf).toArray(String[]::new)
+                : new String[0];
+        String[] requiredPaths = new String[required.length];
+        for (int i = 0; i < required.length; i++) {
+            requiredPaths[i] = child(path, required[i]);
+        }
+
+        Object additional = schema.get("additionalProperties");
+        boolean forbidAdditional = Boolean.FALSE.equals(additional);
+        SchemaValidator additionalValidator = additional == null || forbidAdditional
+                ? SchemaValidator.ACCEPT_ALL
+                : compile(additional, child(path, "*"));
+        boolean checkAdditional = forbidAdditional || additionalValidator != SchemaValidator.ACCEPT_ALL;
+        Set<String> known = Set.of(names);
+
+        return value -> {
+            if (!(value instanceof Map<?, ?> map)) {
+                return;
+            }
+            for (int i = 0; i < required.length; i++) {
+                if (map.get(required[i]) == null) {
+                    fail(requiredPaths[i], "is required");
+                }
+            }
+            for (int i = 0; i < names.length; i++) {
+                Object propertyValue = map.get(names[i]);
+                if (propertyValue != null) {
+                    validators[i].validate(propertyValue);
+                }
+            }
+            if (checkAdditional) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!(entry.getKey() instanceof String key) || !known.contains(key)) {
+                        if (forbidAdditional) {
+                            fail(path, "must not contain property '" + entry.getKey() + "'");
+                        } else if (entry.getValue() != null) {
+                            additionalValidator.validate(entry.getValue());
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    private static boolean hasType(Object value, String type) {
+        return switch (type) {
+            case "string" -> value instanceof String;
+            case "integer" -> isInteger(value);
+            case "number" -> value instanceof Number;
+            case "boolean" -> value instanceof Boolean;
+            case "object" -> value instanceof Map;
+            case "array" -> value instanceof List;
+            case "null" -> value == null;
+            default -> false;
+        };
+    }
+
+    private static boolean isInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            return true;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().scale() <= 0;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) && number == Math.rint(number);
+        }
+        return false;
+    }
+
+    private static boolean jsonEquals(Object expected, Object actual) {
+        if (expected instanceof Number left && actual instanceof Number right) {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString())) == 0;
+        }
+        return expected == null ? actual == null : expected.equals(actual);
+    }
+
+    private static Integer intKeyword(Map<?, ?> schema, String keyword, String path) {
+        Object raw = schema.get(keyword);
+        if (raw == null) {
+            return null;
+        }
+        if (!isInteger(raw) || ((Number) raw).longValue() < 0) {
+            throw new IllegalArgumentException(keyword + " at " + display(path) + " must be a non-negative integer");
+        }
+        return (int) Math.min(((Number) raw).longValue(), Integer.MAX_VALUE);
+    }
+
+    private static String child(String path, String name) {
+        return path.isEmpty() ? name : path + "." + name;
+    }
+
+    private static String display(String path) {
+        return path.isEmpty() ? "arguments" : path;
+    }
+
+    private static void fail(String path, String message) {
+        throw new McpException(McpErrorCodes.INVALID_PARAMS, display(path) + " " + message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.mcpdemo.tool;
+
+/**
+ * One compiled node of a tool's input schema. Throws an {@code INVALID_PARAMS} {@code McpException}
+ * naming the offending argument path; paths are fixed at compile time so a passing value allocates nothing.
+ */
+@FunctionalInterface
+public interface SchemaValidator {
+    SchemaValidator ACCEPT_ALL = value -> {
+    };
+
+    void validate(Object value);
+}
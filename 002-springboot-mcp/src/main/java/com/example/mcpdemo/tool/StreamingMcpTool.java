@@ -0,0 +1,32 @@
+package com.example.mcpdemo.tool;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tool that can hand its result items over in chunks while it runs instead of returning them all at once.
+ */
+public interface StreamingMcpTool extends McpTool {
+    /**
+     * Starts a call whose result items are pulled from the returned stream, at most {@code chunkSize} at a
+     * time. The caller pulls the next chunk only once the previous one has been taken up, so a slow consumer
+     * holds the call without holding a thread; cancelling {@code context} aborts it at the next pull.
+     */
+    ResultStream openStream(Map<String, Object> arguments, int chunkSize, ToolCallContext context);
+
+    /**
+     * The chunks of one streaming call, followed by a final result that summarizes rather than repeats them.
+     */
+    interface ResultStream {
+        /**
+         * The next chunk, or {@code null} once every item has been returned. The list may be reused by the
+         * following call, so consumers must serialize or copy it first.
+         */
+        List<?> next();
+
+        /**
+         * The final result, once {@link #next()} has returned {@code null}.
+         */
+        Object summary();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.mcpdemo.tool;
+
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Cancellation and deadline of one tool call. The call is cancelled when the client sends
+ * {@code notifications/cancelled}, when its session closes, or when the deadline passes. Tools poll
+ * {@link #checkpoint()} between units of work; a thread blocked inside the call is also interrupted.
+ */
+public final class ToolCallContext {
+    private final List<Consumer<McpException>> listeners = new ArrayList<>(2);
+    private volatile McpException cancellation;
+    private volatile long deadlineNanos;
+    private volatile boolean hasDeadline;
+    private Thread worker;
+    private int holders;
+
+    /**
+     * Whether the call was cancelled or ran past its deadline.
+     */
+    public boolean isCancelled() {
+        if (cancellation != null) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            expire();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Throws the cancellation reason, {@link McpErrorCodes#REQUEST_CANCELLED} or
+     * {@link McpErrorCodes#DEADLINE_EXCEEDED}, if the call should stop.
+     */
+    public void checkpoint() {
+        if (isCancelled()) {
+            throw cancellation;
+        }
+    }
+
+    /**
+     * Time left before the deadline, or {@code null} if the call has none.
+     */
+    public Duration remaining() {
+        if (!hasDeadline) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Sets the deadline to {@code timeout} from now unless an earlier one is already set.
+     */
+    public synchronized void expireAfter(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (!hasDeadline || deadline - deadlineNanos < 0) {
+            deadlineNanos = deadline;
+            hasDeadline = true;
+        }
+    }
+
+    /**
+     * Cancels the call with {@link McpErrorCodes#DEADLINE_EXCEEDED}.
+     */
+    public boolean expire() {
+        return cancel(new McpException(McpErrorCodes.DEADLINE_EXCEEDED, "Tool call exceeded its deadline"));
+    }
+
+    /**
+     * Cancels the call with {@link McpErrorCodes#REQUEST_CANCELLED}.
+     */
+    public boolean cancel(String reason) {
+        return cancel(new McpException(McpErrorCodes.REQUEST_CANCELLED,
+                reason == null || reason.isBlank() ? "Request cancelled" : "Request cancelled: " + reason));
+    }
+
+    /**
+     * Records {@code reason}, notifies listeners and then interrupts the bound worker, so that the call's
+     * outcome is the cancellation rather than whatever the interrupted tool returns; only the first
+     * cancellation counts.
+     */
+    public boolean cancel(McpException reason) {
+        List<Consumer<McpException>> notify;
+        synchronized (this) {
+            if (cancellation != null) {
+                return false;
+            }
+            cancellation = reason;
+            notify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        notify.forEach(listener -> listener.accept(reason));
+        synchronized (this) {
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs {@code listener} once when the call is cancelled, right away if it already is.
+     */
+    public void onCancel(Consumer<McpException> listener) {
+        McpException reason;
+        synchronized (this) {
+            reason = cancellation;
+            if (reason == null) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.accept(reason);
+    }
+
+    /**
+     * Makes this a call shared by several callers, as when identical calls are coalesced: it is cancelled
+     * only once every attached caller has been. Returns {@code false} if it is already cancelled.
+     */
+    public boolean attach(ToolCallContext caller) {
+        synchronized (this) {
+            if (cancellation != null) {
+                return false;
+            }
+            holders++;
+        }
+        caller.onCancel(reason -> {
+            boolean last;
+            synchronized (this) {
+                last = --holders == 0;
+            }
+            if (last) {
+                cancel(reason);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Binds the thread running the call so that cancellation interrupts it.
+     */
+    public synchronized void bindWorker(Thread thread) {
+        worker = thread;
+    }
+
+    /**
+     * Unbinds the worker; returns {@code true} if it may have been interrupted by a cancellation, in which
+     * case the caller should clear the flag before the thread is reused.
+     */
+    public synchronized boolean unbindWorker() {
+        worker = null;
+        return cancellation != null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.mcpdemo.tool;
+
+/**
+ * Published after {@link ToolRegistry} swaps in a new snapshot.
+ */
+public record ToolListChangedEvent(ToolSnapshot previous, ToolSnapshot current) {
+    /**
+     * Whether {@code name} resolves to a different tool instance (or none) after the change.
+     */
+    public boolean changed(String name) {
+        return previous.find(name) != current.find(name);
+    }
+}
@@ -1,25 +1,93 @@
 package com.example.mcpdemo.tool;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
+/**
+ * Copy-on-write registry: lookups read one volatile snapshot reference and never wait; register and
+ * unregister build a new snapshot and compare-and-set it, retrying if another change won the race.
+ * Each successful change publishes a {@link ToolListChangedEvent}.
+ */
 @Component
 public class ToolRegistry {
-    private final Map<String, McpTool> toolMap = new ConcurrentHashMap<>();
+    private final AtomicReference<ToolSnapshot> snapshot;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ToolRegistry(List<McpTool> tools) {
-        tools.forEach(tool -> toolMap.put(tool.getName(), tool));
+    public ToolRegistry(List<McpTool> tools, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.snapshot = new AtomicReference<>(ToolSnapshot.build(1, tools, objectMapper));
+    }
+
+    public ToolSnapshot snapshot() {
+        return snapshot.get();
     }
 
     public List<McpTool> list() {
-        return toolMap.values().stream().sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName())).toList();
+        return snapshot.get().tools();
     }
 
     public Optional<McpTool> findByName(String name) {
-        return Optional.ofNullable(toolMap.get(name));
+        return Optional.ofNullable(snapshot.get().find(name));
+    }
+
+    /**
+     * Adds the tool, replacing any registered tool with the same name.
+     */
+    public void register(McpTool tool) {
+        update(tools -> {
+            List<McpTool> next = new ArrayList<>(tools.size() + 1);
+            tools.stream().filter(existing -> !existing.getName().equals(tool.getName())).forEach(next::add);
+            next.add(tool);
+            return next;
+        });
+    }
+
+    /**
+     * Removes the named tool; returns {@code false} if it was not registered.
+     */
+    public boolean unregister(String name) {
+        if (snapshot.get().find(name) == null) {
+            return false;
+        }
+        return update(tools -> tools.stream().filter(existing -> !existing.getName().equals(name)).toList());
+    }
+
+    private boolean update(UnaryOperator<List<McpTool>> change) {
+        while (true) {
+            ToolSnapshot current = snapshot.get();
+            List<McpTool> tools = change.apply(current.tools());
+            if (sameTools(tools, current)) {
+                return false;
+            }
+            ToolSnapshot next = ToolSnapshot.build(current.version() + 1, tools, objectMapper, current);
+            if (snapshot.compareAndSet(current, next)) {
+                eventPublisher.publishEvent(new ToolListChangedEvent(current, next));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Whether {@code tools}, in any order, maps each name to the very instance {@code snapshot} holds for it.
+     */
+    private static boolean sameTools(List<McpTool> tools, ToolSnapshot snapshot) {
+        if (tools.size() != snapshot.tools().size()) {
+            return false;
+        }
+        for (McpTool tool : tools) {
+            if (snapshot.find(tool.getName()) != tool) {
+                return false;
+            }
+        }
+        return true;
     }
 }
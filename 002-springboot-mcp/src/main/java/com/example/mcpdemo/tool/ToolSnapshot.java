@@ -0,0 +1,205 @@
+package com.example.mcpdemo.tool;
+
+import com.example.mcpdemo.protocol.PageCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of the registered tools: sorted by name, indexed for lookup, and with the
+ * {@code tools/list} result serialized once. Map keys are written sorted so the bytes, and the
+ * ETag derived from them, are the same on every node for the same tool set.
+ */
+public final class ToolSnapshot {
+    private static final Comparator<String> NAME_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+    private static final Comparator<McpTool> BY_NAME = Comparator.comparing(McpTool::getName, NAME_ORDER);
+
+    private static final byte[] LIST_PREFIX = "{\"tools\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIST_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_CURSOR_PREFIX = "],\"nextCursor\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_CURSOR_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final long version;
+    private final List<McpTool> tools;
+    private final Map<String, Entry> byName;
+    private final byte[] listJson;
+    private final RawValue listResult;
+    private final String etag;
+
+    private ToolSnapshot(long version, McpTool[] sorted, Map<String, Entry> byName, byte[] listJson) {
+        this.version = version;
+        this.tools = List.of(sorted);
+        this.byName = Map.copyOf(byName);
+        this.listJson = listJson;
+        this.listResult = new RawValue(new SerializedString(new String(listJson, StandardCharsets.UTF_8)));
+        this.etag = "\"" + sha256(listJson).substring(0, 16) + "\"";
+    }
+
+    static ToolSnapshot build(long version, Collection<McpTool> tools, ObjectMapper objectMapper) {
+        return build(version, tools, objectMapper, null);
+    }
+
+    /**
+     * Builds the next snapshot, reusing the serialized entry and compiled input schema of every tool
+     * instance that {@code previous} already holds, so a change costs one entry build plus a concatenation
+     * of the rest.
+     */
+    static ToolSnapshot build(long version, Collection<McpTool> tools, ObjectMapper objectMapper, ToolSnapshot previous) {
+        Map<String, McpTool> unique = new LinkedHashMap<>();
+        tools.forEach(tool -> unique.put(tool.getName(), tool));
+        McpTool[] sorted = unique.values().toArray(McpTool[]::new);
+        Arrays.sort(sorted, BY_NAME);
+
+        ObjectWriter writer = objectMapper.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        Map<String, Entry> byName = new HashMap<>(sorted.length * 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(LIST_PREFIX);
+        for (int i = 0; i < sorted.length; i++) {
+            McpTool tool = sorted[i];
+            Entry entry = previous == null ? null : previous.byName.get(tool.getName());
+            if (entry == null || entry.tool() != tool) {
+                entry = new Entry(tool, serialize(writer, tool), SchemaCompiler.compile(tool.getInputSchema()),
+                        SchemaCompiler.closedProperties(tool.getInputSchema()));
+            }
+            byName.put(tool.getName(), entry);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(entry.json());
+        }
+        out.writeBytes(LIST_SUFFIX);
+        return new ToolSnapshot(version, sorted, byName, out.toByteArray());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public List<McpTool> tools() {
+        return tools;
+    }
+
+    public McpTool find(String name) {
+        Entry entry = byName.get(name);
+        return entry == null ? null : entry.tool();
+    }
+
+    /**
+     * The compiled input schema of the named tool, or a validator that accepts anything if it is not registered.
+     */
+    public SchemaValidator validator(String name) {
+        Entry entry = byName.get(name);
+        return entry == null ? SchemaValidator.ACCEPT_ALL : entry.validator();
+    }
+
+    /**
+     * Whether the named tool's input schema rejects {@code property} in its arguments whatever the value, so a
+     * decoder may skip the value instead of binding it. {@code false} if the tool is not registered.
+     */
+    public boolean rejectsArgument(String name, String property) {
+        Entry entry = byName.get(name);
+        return entry != null && entry.closedProperties() != null && !entry.closedProperties().contains(property);
+    }
+
+    /**
+     * The {@code tools/list} result, written verbatim by Jackson wherever it is embedded.
+     */
+    public RawValue listResult() {
+        return listResult;
+    }
+
+    /**
+     * A {@code tools/list} result of at most {@code pageSize} tools following the tool named in {@code cursor}
+     * (a previous page's {@code nextCursor}), with {@code nextCursor} set when more follow. Without a cursor
+     * and with all tools fitting on one page this is {@link #listResult()}.
+     */
+    public RawValue listPage(Object cursor, int pageSize) {
+        if (cursor == null && tools.size() <= pageSize) {
+            return listResult;
+        }
+        int from = cursor == null ? 0 : indexAfter(PageCursor.decode(cursor, 1)[0]);
+        int to = Math.min(from + pageSize, tools.size());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(LIST_PREFIX);
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.write(',');
+            }
+            out.writeBytes(byName.get(tools.get(i).getName()).json());
+        }
+        if (to < tools.size()) {
+            out.writeBytes(NEXT_CURSOR_PREFIX);
+            out.writeBytes(PageCursor.encode(tools.get(to - 1).getName()).getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(NEXT_CURSOR_SUFFIX);
+        } else {
+            out.writeBytes(LIST_SUFFIX);
+        }
+        return new RawValue(new SerializedString(out.toString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A copy of the serialized {@code tools/list} result.
+     */
+    public byte[] listJson() {
+        return listJson.clone();
+    }
+
+    private int indexAfter(String name) {
+        int low = 0;
+        int high = tools.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (NAME_ORDER.compare(tools.get(mid).getName(), name) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static byte[] serialize(ObjectWriter writer, McpTool tool) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", tool.getName());
+        entry.put("description", tool.getDescription());
+        entry.put("inputSchema", tool.getInputSchema());
+        try {
+            return writer.writeValueAsBytes(entry);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize tool " + tool.getName(), ex);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record Entry(McpTool tool, byte[] json, SchemaValidator validator, Set<String> closedProperties) {
+    }
+}
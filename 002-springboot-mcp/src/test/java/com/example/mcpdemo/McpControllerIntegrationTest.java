@@ -6,9 +6,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +55,19 @@ class McpControllerIntegrationTest {
         assertThat(result.get("tools").toString()).contains("get_calendar_events");
     }
 
+    @Test
+    void toolListEndpointShouldHonourEtag() {
+        ResponseEntity<Map> first = restTemplate.getForEntity("/mcp/tools", Map.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+        assertThat(first.getBody().get("tools").toString()).contains("get_calendar_events");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<Map> second = restTemplate.exchange("/mcp/tools", HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
     @Test
     void toolsCallShouldReturnCalendarEvents() {
         ResponseEntity<Map> response = post(Map.of(
@@ -104,6 +120,48 @@ class McpControllerIntegrationTest {
         assertThat(error.get("code")).isEqualTo(-32001);
     }
 
+    @Test
+    void batchShouldReturnResponsesInOrderWithoutNotifications() {
+        ResponseEntity<List> response = postBatch(List.of(
+                Map.of("jsonrpc", "2.0", "method", "tools/call", "id", "a", "params", Map.of(
+                        "name", "get_calendar_events",
+                        "arguments", Map.of("keyword", "standup"))),
+                Map.of("jsonrpc", "2.0", "method", "notifications/initialized"),
+                Map.of("jsonrpc", "2.0", "method", "tools/call", "id", "b", "params", Map.of(
+                        "name", "unknown_tool",
+                        "arguments", Map.of())),
+                Map.of("jsonrpc", "2.0", "method", "ping", "id", "c")
+        ));
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        List<Map<String, Object>> responses = response.getBody();
+        assertThat(responses).extracting(item -> item.get("id")).containsExactly("a", "b", "c");
+        assertThat(((Map<String, Object>) responses.get(0).get("result")).get("has_events")).isEqualTo(true);
+        assertThat(((Map<String, Object>) responses.get(1).get("error")).get("code")).isEqualTo(-32001);
+        assertThat(responses.get(2)).containsKey("result");
+    }
+
+    @Test
+    void batchOverLimitShouldBeRejected() {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            batch.add(Map.of("jsonrpc", "2.0", "method", "ping", "id", i));
+        }
+
+        ResponseEntity<List> response = postBatch(batch);
+
+        List<Map<String, Object>> responses = response.getBody();
+        assertThat(responses).hasSize(1);
+        assertThat(((Map<String, Object>) responses.get(0).get("error")).get("code")).isEqualTo(-32600);
+    }
+
+    private ResponseEntity<List> postBatch(List<?> payload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Client-Id", "test-client");
+        return restTemplate.postForEntity("/mcp", new HttpEntity<>(payload, headers), List.class);
+    }
+
     private ResponseEntity<Map> post(Map<String, Object> payload) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,113 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.service.ToolCacheProperties;
+import com.example.mcpdemo.service.ToolExecutionProperties;
+import com.example.mcpdemo.service.ToolExecutor;
+import com.example.mcpdemo.service.ToolListProperties;
+import com.example.mcpdemo.service.ToolResultCache;
+import com.example.mcpdemo.service.ToolStreamingProperties;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightRequestsTest {
+
+    @Test
+    void notificationsCancelledStopsTheMatchingCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        InFlightRequests inFlightRequests = new InFlightRequests();
+        ToolExecutor executor = new ToolExecutor(new ToolExecutionProperties(ToolExecutionProperties.Mode.BOUNDED,
+                2, 8, 0, Map.of(), Duration.ofSeconds(1), Duration.ofSeconds(30)));
+        McpRequestDispatcher dispatcher = new McpRequestDispatcher(
+                new McpToolsService(new ToolRegistry(List.of(new SpinningTool(started)), new ObjectMapper(), event -> { }),
+                        executor, new ToolResultCache(new ToolCacheProperties(false, DataSize.ofMegabytes(1)), new ObjectMapper()),
+                        new ToolStreamingProperties(10), new ToolListProperties(100), new SimpleMeterRegistry()),
+                inFlightRequests, new SimpleMeterRegistry());
+        try {
+            var response = dispatcher.respondAsync(
+                    request(7, "tools/call", Map.of("name", "spin", "arguments", Map.of())), "client-1", null);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(inFlightRequests.size()).isEqualTo(1);
+
+            dispatcher.dispatchAsync(request(null, "notifications/cancelled",
+                    Map.of("requestId", 7L, "reason", "user aborted")), "client-1", null);
+
+            JsonRpcResponse cancelled = response.get(5, TimeUnit.SECONDS);
+            assertThat(McpRequestDispatcher.isCancelled(cancelled)).isTrue();
+            assertThat(cancelled.getError().getMessage()).contains("user aborted");
+            assertThat(inFlightRequests.size()).isZero();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void closedSessionCancelsOnlyThatClientsCalls() {
+        InFlightRequests inFlightRequests = new InFlightRequests();
+        ToolCallContext first = inFlightRequests.register("client-1", 1);
+        ToolCallContext second = inFlightRequests.register("client-1", "two");
+        ToolCallContext other = inFlightRequests.register("client-2", 1);
+
+        inFlightRequests.onSessionClosed(new SessionClosedEvent("client-1"));
+
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.isCancelled()).isTrue();
+        assertThat(other.isCancelled()).isFalse();
+        assertThat(inFlightRequests.size()).isEqualTo(1);
+    }
+
+    private JsonRpcRequest request(Object id, String method, Map<String, Object> params) {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(id);
+        request.setMethod(method);
+        request.setParams(params);
+        return request;
+    }
+
+    private record SpinningTool(CountDownLatch started) implements McpTool {
+        @Override
+        public String getName() {
+            return "spin";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Runs until cancelled";
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of("type", "object");
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            return invoke(arguments, new ToolCallContext());
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments, ToolCallContext context) {
+            started.countDown();
+            while (true) {
+                context.checkpoint();
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
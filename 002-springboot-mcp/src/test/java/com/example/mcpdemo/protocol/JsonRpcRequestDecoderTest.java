@@ -0,0 +1,111 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.SchemaCompiler;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class JsonRpcRequestDecoderTest {
+    private final JsonRpcRequestDecoder decoder = new JsonRpcRequestDecoder(new ObjectMapper(),
+            new ToolRegistry(List.of(new ClosedSchemaTool()), new ObjectMapper(), event -> {
+            }));
+
+    @Test
+    void decodesEnvelopeAndBindsParamsOnDemand() {
+        JsonRpcMessage message = decode("""
+                {"params":{"name":"get_calendar_events","arguments":{"keyword":"standup","tags":[1,2]}},
+                 "extra":{"ignored":[true]},"id":7,"method":"tools/call","jsonrpc":"2.0"}""");
+
+        assertThat(message.batch()).isFalse();
+        JsonRpcRequest request = message.single();
+        assertThat(request.getJsonrpc()).isEqualTo("2.0");
+        assertThat(request.getMethod()).isEqualTo("tools/call");
+        assertThat(request.getId()).isEqualTo(7);
+        assertThat(request.getParams()).containsEntry("name", "get_calendar_events")
+                .containsEntry("arguments", Map.of("keyword", "standup", "tags", List.of(1, 2)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsArgumentsTheToolSchemaRejectsWhenNamePrecedesThem() {
+        JsonRpcRequest request = decode("""
+                {"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"closed",
+                 "arguments":{"keyword":"standup","attendees":[{"email":"a@example.com"}],"limit":5}}}""").single();
+        Map<String, Object> arguments = (Map<String, Object>) request.getParams().get("arguments");
+        assertThat(arguments).containsExactly(entry("keyword", "standup"), entry("attendees", null), entry("limit", 5));
+        assertThatThrownBy(() -> SchemaCompiler.compile(new ClosedSchemaTool().getInputSchema()).validate(arguments))
+                .hasMessageContaining("must not contain property 'attendees'");
+
+        JsonRpcRequest open = decode("""
+                {"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"unregistered",
+                 "arguments":{"attendees":[{"email":"a@example.com"}]}}}""").single();
+        assertThat(open.getParams().get("arguments"))
+                .isEqualTo(Map.of("attendees", List.of(Map.of("email", "a@example.com"))));
+    }
+
+    @Test
+    void batchKeepsOrderAndMarksInvalidElements() {
+        JsonRpcMessage message = decode("""
+                [{"jsonrpc":"2.0","method":"ping","id":"a"}, 1, {"jsonrpc":"2.0","method":["x"],"id":2},
+                 {"jsonrpc":"2.0","method":"notifications/initialized"}]""");
+
+        assertThat(message.batch()).isTrue();
+        assertThat(message.requests()).hasSize(4);
+        assertThat(message.requests().get(0).getId()).isEqualTo("a");
+        assertThat(message.requests().get(1)).isNull();
+        assertThat(message.requests().get(2)).isNull();
+        assertThat(message.requests().get(3).getId()).isNull();
+        assertThat(message.requests().get(3).getParams()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> decode("{\"jsonrpc\":\"2.0\",\"method\":"))
+                .isInstanceOfSatisfying(McpException.class,
+                        ex -> assertThat(ex.getCode()).isEqualTo(McpErrorCodes.PARSE_ERROR));
+        assertThatThrownBy(() -> decode("{\"jsonrpc\":\"2.0\",\"method\":\"ping\"} trailing"))
+                .isInstanceOfSatisfying(McpException.class,
+                        ex -> assertThat(ex.getCode()).isEqualTo(McpErrorCodes.PARSE_ERROR));
+        assertThatThrownBy(() -> decode("\"ping\""))
+                .isInstanceOfSatisfying(McpException.class,
+                        ex -> assertThat(ex.getCode()).isEqualTo(McpErrorCodes.INVALID_REQUEST));
+    }
+
+    private JsonRpcMessage decode(String json) {
+        return decoder.decode(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class ClosedSchemaTool implements McpTool {
+        @Override
+        public String getName() {
+            return "closed";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Accepts keyword and limit only";
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of("type", "object",
+                    "properties", Map.of("keyword", Map.of("type", "string"), "limit", Map.of("type", "integer")),
+                    "additionalProperties", false);
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mcpdemo.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoopbackSseClusterTest {
+    private final LoopbackSseCluster cluster = new LoopbackSseCluster();
+    private final SseSessionManager nodeA = node();
+    private final SseSessionManager nodeB = node();
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void responsesReachTheNodeHoldingTheSession() throws Exception {
+        DataEmitter onA = new DataEmitter();
+        nodeA.connect("c1", onA, null);
+
+        nodeB.sendToClient("c1", "message", "from B");
+        assertThat(nodeB.stream("c1", "message", "chunk from B")).isCompletedWithValue(true);
+        nodeA.sendToClient("c1", "message", "from A");
+
+        waitUntil(() -> onA.data.size() == 3);
+        assertThat(onA.data).containsExactly("from B", "chunk from B", "from A");
+        assertThat(nodeB.queueStats().sessions()).isZero();
+    }
+
+    @Test
+    void broadcastsReachEveryNodeOnce() throws Exception {
+        DataEmitter onA = new DataEmitter();
+        DataEmitter onB = new DataEmitter();
+        nodeA.connect("c1", onA, null);
+        nodeB.connect("c2", onB, null);
+
+        nodeB.broadcast("message", "hello");
+
+        waitUntil(() -> onA.data.size() == 1 && onB.data.size() == 1);
+        Thread.sleep(50);
+        assertThat(onA.data).containsExactly("hello");
+        assertThat(onB.data).containsExactly("hello");
+    }
+
+    @Test
+    void clientIsClosedOnEveryNodeOnlyOnceGoneFromTheNodeHoldingItLast() throws Exception {
+        LoopbackSseCluster shortRetention = new LoopbackSseCluster();
+        List<Object> closedOnA = new CopyOnWriteArrayList<>();
+        List<Object> closedOnB = new CopyOnWriteArrayList<>();
+        List<Object> closedOnC = new CopyOnWriteArrayList<>();
+        SseSessionManager first = node(shortRetention, closedOnA, Duration.ofMillis(200));
+        SseSessionManager second = node(shortRetention, closedOnB, Duration.ofMillis(200));
+        SseSessionManager postsOnly = node(shortRetention, closedOnC, Duration.ofMillis(200));
+        try {
+            DataEmitter onFirst = new DataEmitter();
+            first.connect("c1", onFirst, null);
+            onFirst.broken = true;
+            first.sendToClient("c1", "message", "lost");
+            waitUntil(() -> first.sessionStats().liveSessions() == 0);
+
+            DataEmitter onSecond = new DataEmitter();
+            second.connect("c1", onSecond, null);
+            assertThat(first.sessionStats().detachedStreams()).isZero();
+            Thread.sleep(400);
+            assertThat(closedOnA).isEmpty();
+            assertThat(closedOnB).isEmpty();
+            assertThat(closedOnC).isEmpty();
+
+            postsOnly.sendToClient("c1", "message", "via cluster");
+            waitUntil(() -> onSecond.data.size() == 1);
+            onSecond.broken = true;
+            postsOnly.sendToClient("c1", "message", "lost too");
+            waitUntil(() -> !closedOnB.isEmpty());
+            assertThat(closedOnA).containsExactly(new SessionClosedEvent("c1"));
+            assertThat(closedOnB).containsExactly(new SessionClosedEvent("c1"));
+            assertThat(closedOnC).containsExactly(new SessionClosedEvent("c1"));
+        } finally {
+            first.shutdown();
+            second.shutdown();
+            postsOnly.shutdown();
+        }
+    }
+
+    private SseSessionManager node() {
+        return node(cluster, new CopyOnWriteArrayList<>(), Duration.ofMinutes(1));
+    }
+
+    private static SseSessionManager node(LoopbackSseCluster cluster, List<Object> published, Duration retention) {
+        SseProperties properties = new SseProperties(16, SseProperties.OverflowPolicy.DROP_OLDEST, Duration.ofMillis(100),
+                1, Duration.ZERO, Duration.ofSeconds(1), Duration.ZERO, 128, DataSize.ofMegabytes(1), retention,
+                Duration.ZERO, Duration.ZERO);
+        return new SseSessionManager(properties, new SseFrameEncoder(new ObjectMapper()), published::add, cluster.join(),
+                new SimpleMeterRegistry());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records the {@code data:} of each event, or fails every send once {@code broken}.
+     */
+    private static final class DataEmitter extends SseEmitter {
+        private final List<String> data = new CopyOnWriteArrayList<>();
+        private volatile boolean broken;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (broken) {
+                throw new IOException("connection reset");
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(new String((byte[]) item.getData(), StandardCharsets.UTF_8)));
+            String event = text.toString();
+            data.add(event.substring(event.indexOf("data:") + 5).trim());
+        }
+    }
+}
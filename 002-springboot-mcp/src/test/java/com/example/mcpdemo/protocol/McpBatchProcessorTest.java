@@ -0,0 +1,96 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.service.ToolCacheProperties;
+import com.example.mcpdemo.service.ToolExecutionProperties;
+import com.example.mcpdemo.service.ToolExecutor;
+import com.example.mcpdemo.service.ToolListProperties;
+import com.example.mcpdemo.service.ToolResultCache;
+import com.example.mcpdemo.service.ToolStreamingProperties;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpBatchProcessorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ToolExecutor toolExecutor = new ToolExecutor(new ToolExecutionProperties(
+            ToolExecutionProperties.Mode.BOUNDED, 2, 16, 0, Map.of(), Duration.ofSeconds(1), Duration.ofSeconds(30)));
+    private final McpBatchProcessor processor = new McpBatchProcessor(new McpRequestDispatcher(new McpToolsService(
+            new ToolRegistry(List.of(new UntilCancelledTool()), objectMapper, event -> { }),
+            toolExecutor,
+            new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)), objectMapper),
+            new ToolStreamingProperties(2), new ToolListProperties(100), new SimpleMeterRegistry()),
+            new InFlightRequests(), new SimpleMeterRegistry()), new McpBatchProperties(10));
+
+    @AfterEach
+    void tearDown() {
+        toolExecutor.shutdown();
+    }
+
+    @Test
+    void cancelledElementsAreLeftOutOfTheResponses() throws Exception {
+        List<JsonRpcResponse> responses = processor.process(List.of(
+                request(1, "tools/call", Map.of("name", "until_cancelled", "arguments", Map.of())),
+                request(null, "notifications/cancelled", Map.of("requestId", 1, "reason", "user aborted")),
+                request(2, "ping", null)), "client-1").get(5, TimeUnit.SECONDS);
+
+        assertThat(responses).extracting(JsonRpcResponse::getId).containsExactly(2);
+    }
+
+    private static JsonRpcRequest request(Object id, String method, Map<String, Object> params) {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(id);
+        request.setMethod(method);
+        request.setParams(params);
+        return request;
+    }
+
+    private static class UntilCancelledTool implements McpTool {
+        @Override
+        public String getName() {
+            return "until_cancelled";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Runs until its call is cancelled";
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of("type", "object");
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            return invoke(arguments, new ToolCallContext());
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments, ToolCallContext context) {
+            while (true) {
+                context.checkpoint();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
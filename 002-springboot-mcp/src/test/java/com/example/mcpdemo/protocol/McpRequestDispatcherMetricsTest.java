@@ -0,0 +1,79 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.service.ToolCacheProperties;
+import com.example.mcpdemo.service.ToolExecutionProperties;
+import com.example.mcpdemo.service.ToolExecutor;
+import com.example.mcpdemo.service.ToolListProperties;
+import com.example.mcpdemo.service.ToolResultCache;
+import com.example.mcpdemo.service.ToolStreamingProperties;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.example.mcpdemo.tool.ToolListChangedEvent;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.example.mcpdemo.tool.ToolSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpRequestDispatcherMetricsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ToolRegistry toolRegistry = new ToolRegistry(
+            List.of(new CalendarEventsTool(new CalendarService(new IndexedCalendarEventStore()))), objectMapper, event -> { });
+    private final McpToolsService toolsService = new McpToolsService(toolRegistry,
+            new ToolExecutor(new ToolExecutionProperties(
+                    ToolExecutionProperties.Mode.DIRECT, 1, 1, 0, Map.of(), Duration.ofSeconds(1), Duration.ofSeconds(30))),
+            new ToolResultCache(new ToolCacheProperties(false, DataSize.ofMegabytes(1)), objectMapper),
+            new ToolStreamingProperties(2), new ToolListProperties(100), registry);
+    private final McpRequestDispatcher dispatcher = new McpRequestDispatcher(toolsService, new InFlightRequests(), registry);
+
+    @Test
+    void requestsAreTimedByMethodAndFailuresCountedByCode() {
+        dispatcher.respondAsync(request(1, "initialize", Map.of())).join();
+        dispatcher.respondAsync(request(2, "tools/call",
+                Map.of("name", "get_calendar_events", "arguments", Map.of("keyword", "standup")))).join();
+        dispatcher.respondAsync(request(3, "tools/call", Map.of("name", "missing"))).join();
+        dispatcher.respondAsync(request(4, "no/such/method-" + System.nanoTime(), Map.of())).join();
+
+        assertThat(registry.get("mcp.requests").tag("method", "initialize").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.requests").tag("method", "tools/call").timer().count()).isEqualTo(2);
+        assertThat(registry.get("mcp.requests").tag("method", "unknown").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.request.errors").tags("method", "tools/call",
+                "code", Integer.toString(McpErrorCodes.TOOL_NOT_FOUND)).counter().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.request.errors").tags("method", "unknown",
+                "code", Integer.toString(McpErrorCodes.METHOD_NOT_FOUND)).counter().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.tool.calls").tag("tool", "get_calendar_events").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.tool.calls.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void timerOfAnUnregisteredToolIsRemoved() {
+        dispatcher.respondAsync(request(1, "tools/call", Map.of("name", "get_calendar_events"))).join();
+        assertThat(registry.find("mcp.tool.calls").tag("tool", "get_calendar_events").timer()).isNotNull();
+
+        ToolSnapshot before = toolRegistry.snapshot();
+        toolRegistry.unregister("get_calendar_events");
+        toolsService.onToolListChanged(new ToolListChangedEvent(before, toolRegistry.snapshot()));
+
+        assertThat(registry.find("mcp.tool.calls").timer()).isNull();
+    }
+
+    private JsonRpcRequest request(Object id, String method, Map<String, Object> params) {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(id);
+        request.setMethod(method);
+        request.setParams(params);
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.mcpdemo.protocol;
+
+import com.example.mcpdemo.model.JsonRpcRequest;
+import com.example.mcpdemo.model.JsonRpcResponse;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import com.example.mcpdemo.service.McpToolsService;
+import com.example.mcpdemo.service.ToolCacheProperties;
+import com.example.mcpdemo.service.ToolExecutionProperties;
+import com.example.mcpdemo.service.ToolExecutor;
+import com.example.mcpdemo.service.ToolListProperties;
+import com.example.mcpdemo.service.ToolResultCache;
+import com.example.mcpdemo.service.ToolStreamingProperties;
+import com.example.mcpdemo.tool.CalendarEventsTool;
+import com.example.mcpdemo.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpRequestDispatcherStreamingTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final McpRequestDispatcher dispatcher = new McpRequestDispatcher(new McpToolsService(
+            new ToolRegistry(List.of(new CalendarEventsTool(new CalendarService(new IndexedCalendarEventStore()))),
+                    objectMapper, event -> { }),
+            new ToolExecutor(new ToolExecutionProperties(
+                    ToolExecutionProperties.Mode.DIRECT, 1, 1, 0, Map.of(), Duration.ofSeconds(1), Duration.ofSeconds(30))),
+            new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)), objectMapper),
+            new ToolStreamingProperties(2), new ToolListProperties(100), new SimpleMeterRegistry()),
+            new InFlightRequests(), new SimpleMeterRegistry());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void progressTokenStreamsChunksBeforeTheSummaryResponse() {
+        List<String> notifications = new ArrayList<>();
+        JsonRpcResponse response = dispatcher.respondAsync(request(Map.of("progressToken", "calendar-1")), "client-1",
+                notification -> {
+                    notifications.add(write(notification));
+                    return CompletableFuture.completedFuture(null);
+                }).join();
+
+        assertThat(notifications).hasSize(2);
+        Map<String, Object> first = read(notifications.get(0));
+        Map<String, Object> params = (Map<String, Object>) first.get("params");
+        assertThat(first.get("method")).isEqualTo("notifications/progress");
+        assertThat(params.get("progressToken")).isEqualTo("calendar-1");
+        assertThat(params.get("progress")).isEqualTo(2);
+        assertThat((List<?>) params.get("items")).hasSize(2);
+        assertThat(((Map<String, Object>) read(notifications.get(1)).get("params")).get("progress")).isEqualTo(3);
+
+        Map<String, Object> result = (Map<String, Object>) response.getResult();
+        assertThat(result.get("event_count")).isEqualTo(3);
+        assertThat(result.get("structuredContent")).isEqualTo(Map.of("event_count", 3, "has_events", true, "streamed", true));
+    }
+
+    @Test
+    void withoutProgressTokenTheFullResultIsReturned() {
+        List<Object> notifications = new ArrayList<>();
+        JsonRpcResponse response = dispatcher.respondAsync(request(Map.of()), "client-1", notification -> {
+            notifications.add(notification);
+            return CompletableFuture.completedFuture(null);
+        }).join();
+
+        assertThat(notifications).isEmpty();
+        assertThat(write(response.getResult())).contains("\"events\"");
+    }
+
+    private JsonRpcRequest request(Map<String, Object> meta) {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(1);
+        request.setMethod("tools/call");
+        request.setParams(Map.of("name", "get_calendar_events", "arguments", Map.of(), "_meta", meta));
+        return request;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.mcpdemo.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseSessionManagerTest {
+    private final List<Object> published = new CopyOnWriteArrayList<>();
+    private SseSessionManager manager;
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysWhatTheClientMissed() throws Exception {
+        manager = manager(Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO);
+        RecordingEmitter first = new RecordingEmitter();
+        manager.connect("c1", first, null);
+        manager.sendToClient("c1", "message", "1");
+        manager.sendToClient("c1", "message", "2");
+        waitUntil(() -> first.events.size() == 2);
+        assertThat(first.events).containsExactly("c1:1 1", "c1:2 2");
+
+        first.broken = true;
+        manager.sendToClient("c1", "message", "3");
+        waitUntil(() -> manager.queueStats().sessions() == 0);
+        manager.sendToClient("c1", "message", "4");
+
+        RecordingEmitter second = new RecordingEmitter();
+        manager.connect(SseSessionManager.clientIdOf("c1:2"), second, "c1:2");
+        manager.sendToClient("c1", "message", "5");
+        waitUntil(() -> second.events.size() == 3);
+        assertThat(second.events).containsExactly("c1:3 3", "c1:4 4", "c1:5 5");
+        assertThat(manager.replayedEvents()).isEqualTo(2);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void reconnectCompletesTheReplacedConnection() throws Exception {
+        manager = manager(Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO);
+        RecordingEmitter first = new RecordingEmitter();
+        manager.connect("c3", first, null);
+        manager.sendToClient("c3", "message", "1");
+        waitUntil(() -> first.events.size() == 1);
+
+        RecordingEmitter second = new RecordingEmitter();
+        manager.connect("c3", second, "c3:1");
+        manager.sendToClient("c3", "message", "2");
+        waitUntil(() -> second.events.size() == 1);
+
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isFalse();
+        assertThat(first.events).containsExactly("c3:1 1");
+        assertThat(manager.sessionStats().liveSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void clientIsGoneOnlyOnceRetentionPassesWithoutReconnect() throws Exception {
+        manager = manager(Duration.ofMillis(100), Duration.ZERO, Duration.ZERO);
+        RecordingEmitter emitter = new RecordingEmitter();
+        manager.connect("c2", emitter, null);
+        emitter.broken = true;
+        manager.sendToClient("c2", "message", "1");
+        waitUntil(() -> manager.queueStats().sessions() == 0);
+        assertThat(published).isEmpty();
+
+        waitUntil(() -> !published.isEmpty());
+        assertThat(published).containsExactly(new SessionClosedEvent("c2"));
+    }
+
+    @Test
+    void quietSessionsGetHeartbeatsAndStalledOnesAreEvictedAsIdle() throws Exception {
+        manager = manager(Duration.ZERO, Duration.ofMillis(50), Duration.ofMillis(500));
+        RecordingEmitter quiet = new RecordingEmitter();
+        manager.connect("quiet", quiet, null);
+        waitUntil(() -> quiet.events.size() >= 3);
+        assertThat(quiet.events).containsOnly("ping");
+
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("connection timed out");
+            }
+        };
+        try {
+            manager.connect("stalled", stalled, null);
+            waitUntil(() -> manager.sessionStats().idleEvictions() == 1);
+            assertThat(published).containsExactly(new SessionClosedEvent("stalled"));
+            assertThat(manager.sessionStats().liveSessions()).isEqualTo(1);
+            assertThat(quiet.events.size()).isGreaterThan(3);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void clientThatStoppedReadingDoesNotHoldTheOnlyWriter() throws Exception {
+        manager = manager(1, Duration.ofMillis(200), Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stuckCompleted = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                stuckCompleted.countDown();
+            }
+        };
+        RecordingEmitter healthy = new RecordingEmitter();
+        manager.connect("stuck", stuck, null);
+        manager.connect("healthy", healthy, null);
+        try {
+            manager.sendToClient("stuck", "message", "1");
+            manager.sendToClient("healthy", "message", "2");
+
+            waitUntil(() -> healthy.events.size() == 1);
+            assertThat(healthy.events).containsExactly("healthy:1 2");
+            assertThat(manager.sessionStats().writeTimeouts()).isEqualTo(1);
+            assertThat(manager.sessionStats().blockedWriters()).isEqualTo(1);
+            assertThat(manager.sessionStats().liveSessions()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        assertThat(stuckCompleted.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> manager.sessionStats().blockedWriters() == 0);
+    }
+
+    @Test
+    void streamedEventsWaitForRoomWithoutBlockingTheCaller() throws Exception {
+        manager = manager(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(items);
+            }
+        };
+        manager.connect("slow", slow, null);
+        try {
+            manager.sendToClient("slow", "message", "0");
+            waitUntil(() -> manager.queueStats().queuedEvents() == 0);
+            for (int i = 1; i <= 16; i++) {
+                assertThat(manager.stream("slow", "message", Integer.toString(i))).isCompletedWithValue(true);
+            }
+
+            CompletableFuture<Boolean> timedOut = manager.stream("slow", "message", "17");
+            assertThat(timedOut).isNotDone();
+            assertThat(timedOut.get(5, TimeUnit.SECONDS)).isFalse();
+
+            CompletableFuture<Boolean> waiting = manager.stream("slow", "message", "18");
+            assertThat(waiting).isNotDone();
+            release.countDown();
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+        }
+        waitUntil(() -> slow.events.size() == 18);
+        assertThat(slow.events).extracting(event -> event.substring(event.indexOf(' ') + 1))
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15",
+                        "16", "18");
+        assertThat(manager.queueStats().droppedEvents()).isZero();
+    }
+
+    @Test
+    void blockingBroadcastWaitsOneOfferTimeoutHoweverManyClientsAreFull() throws Exception {
+        Duration offerTimeout = Duration.ofMillis(200);
+        manager = manager(SseProperties.OverflowPolicy.BLOCK, offerTimeout, 1, Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(items);
+            }
+        };
+        try {
+            manager.connect("stuck", stuck, null);
+            manager.sendToClient("stuck", "message", "0");
+            waitUntil(() -> manager.queueStats().queuedEvents() == 0);
+            for (int client = 0; client < 4; client++) {
+                manager.connect("full" + client, new RecordingEmitter(), null);
+                for (int i = 0; i < 16; i++) {
+                    manager.sendToClient("full" + client, "message", Integer.toString(i));
+                }
+            }
+
+            long started = System.nanoTime();
+            manager.broadcast("message", "all");
+            long waited = System.nanoTime() - started;
+
+            assertThat(waited).isGreaterThanOrEqualTo(offerTimeout.toNanos())
+                    .isLessThan(3 * offerTimeout.toNanos());
+            assertThat(manager.queueStats().droppedEvents()).isEqualTo(4);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private SseSessionManager manager(Duration retention, Duration heartbeatInterval, Duration idleTimeout) {
+        return manager(2, Duration.ZERO, retention, heartbeatInterval, idleTimeout);
+    }
+
+    private SseSessionManager manager(int writerThreads, Duration writeTimeout, Duration retention,
+                                      Duration heartbeatInterval, Duration idleTimeout) {
+        return manager(SseProperties.OverflowPolicy.DROP_OLDEST, Duration.ofMillis(100), writerThreads, writeTimeout,
+                retention, heartbeatInterval, idleTimeout);
+    }
+
+    private SseSessionManager manager(SseProperties.OverflowPolicy overflowPolicy, Duration offerTimeout,
+                                      int writerThreads, Duration writeTimeout, Duration retention,
+                                      Duration heartbeatInterval, Duration idleTimeout) {
+        SseProperties properties = new SseProperties(16, overflowPolicy, offerTimeout, writerThreads, writeTimeout,
+                Duration.ofSeconds(1), Duration.ofSeconds(60), 128, DataSize.ofMegabytes(1), retention,
+                heartbeatInterval, idleTimeout);
+        return new SseSessionManager(properties, new SseFrameEncoder(new ObjectMapper()), published::add);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records each event as {@code "<id> <data>"} and each heartbeat as {@code "ping"}, or fails every send
+     * once {@code broken}.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile boolean broken;
+        private volatile boolean completed;
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (broken) {
+                throw new IOException("connection reset");
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(new String((byte[]) item.getData(), StandardCharsets.UTF_8)));
+            String event = text.toString();
+            if (event.startsWith(":")) {
+                events.add("ping");
+                return;
+            }
+            String id = event.substring(event.indexOf("id:") + 3, event.indexOf('\n'));
+            String data = event.substring(event.indexOf("data:") + 5).trim();
+            events.add(id + " " + data);
+        }
+    }
+}
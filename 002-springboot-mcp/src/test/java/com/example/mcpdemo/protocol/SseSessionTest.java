@@ -0,0 +1,98 @@
+package com.example.mcpdemo.protocol;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseSessionTest {
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdownNow();
+    }
+
+    @Test
+    void slowClientShouldNotBlockProducerAndShouldDropOldest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        SseSession session = new SseSession("slow", emitter, 2, writer, new LongAdder(), ignored -> {
+        });
+
+        long startedAt = System.nanoTime();
+        int dropped = 0;
+        for (int i = 0; i < 10; i++) {
+            dropped += session.offerDroppingOldest(frame(i));
+        }
+        int expectedSent = 10 - dropped;
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1_000);
+        assertThat(session.queueDepth()).isLessThanOrEqualTo(2);
+
+        release.countDown();
+        waitUntil(() -> session.queueDepth() == 0 && emitter.sent.size() == expectedSent);
+        assertThat(emitter.sent).endsWith(8, 9);
+    }
+
+    @Test
+    void failedSendShouldCloseSession() throws Exception {
+        List<SseSession> failed = new CopyOnWriteArrayList<>();
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) throws java.io.IOException {
+                throw new java.io.IOException("broken pipe");
+            }
+        };
+        SseSession session = new SseSession("broken", emitter, 4, writer, new LongAdder(), failed::add);
+
+        assertThat(session.offer(frame(1))).isTrue();
+        waitUntil(() -> !failed.isEmpty());
+        assertThat(failed).containsExactly(session);
+    }
+
+    private static SseEvent frame(int value) {
+        return new SseEvent(new SseFrame(("event:message\ndata:" + value + "\n\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            items.stream()
+                    .map(item -> new String((byte[]) item.getData(), StandardCharsets.UTF_8))
+                    .map(text -> Integer.parseInt(text.substring(text.indexOf("data:") + 5).trim()))
+                    .forEach(sent::add);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mcpdemo.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void tasksRunAtTheFirstTickAfterTheirDeadlineEvenBeyondOneRevolution() {
+        TimingWheel wheel = new TimingWheel(10, 4, 0);
+        List<String> ran = new ArrayList<>();
+        wheel.schedule(() -> ran.add("soon"), 15);
+        wheel.schedule(() -> ran.add("late"), 95);
+        wheel.schedule(() -> ran.add("past"), -50);
+
+        assertThat(wheel.advance(9)).isEqualTo(1);
+        assertThat(ran).containsExactly("past");
+        assertThat(wheel.advance(20)).isEqualTo(1);
+        assertThat(ran).containsExactly("past", "soon");
+        assertThat(wheel.advance(99)).isZero();
+        assertThat(wheel.pending()).isEqualTo(1);
+        assertThat(wheel.advance(100)).isEqualTo(1);
+        assertThat(ran).containsExactly("past", "soon", "late");
+    }
+}
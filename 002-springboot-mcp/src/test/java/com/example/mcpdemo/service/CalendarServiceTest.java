@@ -0,0 +1,37 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.protocol.McpException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CalendarServiceTest {
+
+    @Test
+    void cursorContinuesOnlyWithTheFiltersItWasIssuedFor() {
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        CalendarService service = new CalendarService(store);
+        for (int i = 1; i <= 3; i++) {
+            store.add(new CalendarEvent("tilde-" + i, "a~ " + i, "2026-03-0" + i + "T09:00:00",
+                    "2026-03-0" + i + "T10:00:00", "", ""));
+        }
+
+        CalendarService.Page first = service.queryPage(Map.of("keyword", "a~"), 1);
+        assertThat(first.events()).extracting(CalendarEvent::id).containsExactly("tilde-1");
+
+        CalendarService.Page second = service.queryPage(Map.of("keyword", " A~", "cursor", first.nextCursor()), 1);
+        assertThat(second.events()).extracting(CalendarEvent::id).containsExactly("tilde-2");
+
+        // "a~" and "b_" have the same String.hashCode
+        assertThatThrownBy(() -> service.queryPage(Map.of("keyword", "b_", "cursor", first.nextCursor()), 1))
+                .isInstanceOf(McpException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> service.queryPage(
+                Map.of("keyword", "a~", "start_time", "2026-03-01T00:00:00", "cursor", first.nextCursor()), 1))
+                .isInstanceOf(McpException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedCalendarEventStoreTest {
+    private static final LocalDateTime BASE = LocalDateTime.parse("2026-01-01T00:00:00");
+
+    @Test
+    void findOverlappingShouldMatchLinearScan() {
+        Random random = new Random(42);
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        List<CalendarEvent> all = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(60 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(10) == 0 ? random.nextInt(60 * 24 * 7) : random.nextInt(120));
+            CalendarEvent event = new CalendarEvent("evt-" + i, "Event " + i, start.toString(), end.toString(), "Room", "");
+            all.add(event);
+            store.add(event);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            LocalDateTime from = q % 20 == 0 ? null : BASE.plusMinutes(random.nextInt(60 * 24 * 60));
+            LocalDateTime to = q % 30 == 0 || from == null ? null : from.plusMinutes(random.nextInt(60 * 24 * 3));
+            List<CalendarEvent> expected = all.stream()
+                    .filter(event -> from == null || !LocalDateTime.parse(event.endTime()).isBefore(from))
+                    .filter(event -> to == null || !LocalDateTime.parse(event.startTime()).isAfter(to))
+                    .sorted(Comparator.comparing(event -> LocalDateTime.parse(event.startTime())))
+                    .toList();
+
+            assertThat(store.findOverlapping(from, to)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void findMatchingShouldKeepSubstringSemantics() {
+        Random random = new Random(7);
+        String[] words = {"Standup", "Review", "Workshop", "Sync", "Planning", "MCP", "Room A", "Online"};
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        List<CalendarEvent> all = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(60 * 24 * 30));
+            CalendarEvent event = new CalendarEvent("evt-" + i,
+                    words[random.nextInt(words.length)] + " " + i,
+                    start.toString(),
+                    start.plusMinutes(30).toString(),
+                    words[random.nextInt(words.length)],
+                    "Discuss " + words[random.nextInt(words.length)].toLowerCase(Locale.ROOT));
+            all.add(event);
+            store.add(event);
+        }
+
+        LocalDateTime from = BASE.plusDays(3);
+        LocalDateTime to = BASE.plusDays(20);
+        for (String keyword : List.of("standup", "VIEW", "m a", "mc", "p", "ync 1", "s 19", "absent")) {
+            String lowered = keyword.toLowerCase(Locale.ROOT);
+            List<CalendarEvent> expected = all.stream()
+                    .filter(event -> !LocalDateTime.parse(event.endTime()).isBefore(from))
+                    .filter(event -> !LocalDateTime.parse(event.startTime()).isAfter(to))
+                    .filter(event -> event.title().toLowerCase(Locale.ROOT).contains(lowered)
+                            || event.description().toLowerCase(Locale.ROOT).contains(lowered)
+                            || event.location().toLowerCase(Locale.ROOT).contains(lowered))
+                    .sorted(Comparator.comparing(event -> LocalDateTime.parse(event.startTime())))
+                    .toList();
+
+            assertThat(store.findMatching(from, to, keyword)).as(keyword).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void findOverlappingShouldSeeEventsAddedAfterQuery() {
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        assertThat(store.findOverlapping(null, null)).isEmpty();
+
+        store.add(new CalendarEvent("evt-1", "Late", "2026-02-11T10:00:00", "2026-02-11T11:00:00", "Online", ""));
+        store.add(new CalendarEvent("evt-2", "Early", "2026-02-11T08:00:00", "2026-02-11T09:00:00", "Online", ""));
+
+        assertThat(store.findOverlapping(null, null)).extracting(CalendarEvent::id).containsExactly("evt-2", "evt-1");
+        assertThat(store.findOverlapping(LocalDateTime.parse("2026-02-11T09:00:00"), LocalDateTime.parse("2026-02-11T09:30:00")))
+                .extracting(CalendarEvent::id).containsExactly("evt-2");
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesShouldConcatenateToFindMatching() {
+        Random random = new Random(11);
+        IndexedCalendarEventStore store = new IndexedCalendarEventStore();
+        for (int i = 0; i < 3_000; i++) {
+            // coarse start times so many events share a start and order falls back to insertion
+            LocalDateTime start = BASE.plusHours(random.nextInt(24 * 30));
+            LocalDateTime end = start.plusMinutes(random.nextInt(10) == 0 ? random.nextInt(60 * 24 * 5) : 30);
+            store.add(new CalendarEvent("evt-" + i, (i % 3 == 0 ? "Sync " : "Review ") + i,
+                    start.toString(), end.toString(), "Room", ""));
+        }
+
+        for (int q = 0; q < 50; q++) {
+            LocalDateTime from = q % 10 == 0 ? null : BASE.plusHours(random.nextInt(24 * 30));
+            LocalDateTime to = from == null ? null : from.plusHours(random.nextInt(24 * 7));
+            String keyword = q % 2 == 0 ? null : "sync";
+            int limit = 1 + random.nextInt(40);
+
+            List<CalendarEvent> paged = new ArrayList<>();
+            CalendarEventPage.Key after = null;
+            do {
+                CalendarEventPage page = store.findPage(from, to, keyword, after, limit);
+                assertThat(page.events().size()).isLessThanOrEqualTo(limit);
+                paged.addAll(page.events());
+                after = page.next();
+            } while (after != null);
+
+            assertThat(paged).containsExactlyElementsOf(store.findMatching(from, to, keyword));
+        }
+    }
+}
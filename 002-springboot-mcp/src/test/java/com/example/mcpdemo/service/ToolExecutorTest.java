@@ -0,0 +1,280 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.StreamingMcpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolExecutorTest {
+
+    @Test
+    void perToolLimitCapsInFlightCalls() throws Exception {
+        ToolExecutor executor = new ToolExecutor(properties(ToolExecutionProperties.Mode.BOUNDED, Duration.ofSeconds(5)));
+        BlockingTool tool = new BlockingTool();
+        try {
+            List<CompletableFuture<Object>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(executor.submit(tool, Map.of()));
+            }
+            assertThat(tool.started.await(5, TimeUnit.SECONDS)).isTrue();
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertThat(tool.active.get()).isEqualTo(2);
+
+            tool.release.countDown();
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertThat(tool.maxActive.get()).isEqualTo(2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callFailsAsBusyWhenNoPermitWithinTimeout() throws Exception {
+        ToolExecutor executor = new ToolExecutor(properties(ToolExecutionProperties.Mode.BOUNDED, Duration.ofMillis(50)));
+        BlockingTool tool = new BlockingTool();
+        try {
+            executor.submit(tool, Map.of());
+            executor.submit(tool, Map.of());
+            assertThat(tool.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> ToolExecutor.join(executor.submit(tool, Map.of())))
+                    .isInstanceOf(McpException.class)
+                    .extracting(ex -> ((McpException) ex).getCode())
+                    .isEqualTo(McpErrorCodes.TOOL_BUSY);
+        } finally {
+            tool.release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callsWaitingForAPermitHoldNoWorkerFromOtherTools() throws Exception {
+        ToolExecutor executor = new ToolExecutor(new ToolExecutionProperties(ToolExecutionProperties.Mode.BOUNDED,
+                3, 64, 0, Map.of("blocking", 2), Duration.ofSeconds(5), Duration.ofSeconds(30)));
+        BlockingTool tool = new BlockingTool();
+        try {
+            List<CompletableFuture<Object>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(executor.submit(tool, Map.of()));
+            }
+            assertThat(tool.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<Object> other = executor.submit(new StubTool(arguments -> "other"), Map.of());
+            assertThat(other.get(1, TimeUnit.SECONDS)).isEqualTo("other");
+
+            tool.release.countDown();
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertThat(tool.calls.get()).isEqualTo(6);
+        } finally {
+            tool.release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void streamingCallWaitingForItsConsumerHoldsNoWorker() throws Exception {
+        ToolExecutor executor = new ToolExecutor(new ToolExecutionProperties(ToolExecutionProperties.Mode.BOUNDED,
+                1, 64, 0, Map.of(), Duration.ofSeconds(5), Duration.ofSeconds(30)));
+        CompletableFuture<Void> firstTaken = new CompletableFuture<>();
+        List<Object> received = new ArrayList<>();
+        try {
+            CompletableFuture<Object> streamed = executor.submitStreaming(new StubTool(null), new ToolCallContext(),
+                    context -> new StreamingMcpTool.ResultStream() {
+                        private int next;
+
+                        @Override
+                        public List<?> next() {
+                            return next < 2 ? List.of(next++) : null;
+                        }
+
+                        @Override
+                        public Object summary() {
+                            return "streamed " + next;
+                        }
+                    },
+                    chunk -> {
+                        received.add(chunk.get(0));
+                        return received.size() == 1 ? firstTaken : CompletableFuture.completedFuture(null);
+                    });
+
+            CompletableFuture<Object> other = executor.submit(new StubTool(arguments -> "other"), Map.of());
+            assertThat(other.get(1, TimeUnit.SECONDS)).isEqualTo("other");
+            assertThat(streamed).isNotDone();
+            assertThat(received).containsExactly(0);
+
+            firstTaken.complete(null);
+            assertThat(streamed.get(5, TimeUnit.SECONDS)).isEqualTo("streamed 2");
+            assertThat(received).containsExactly(0, 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualModeRunsCallsOnVirtualThreads() {
+        ToolExecutor executor = new ToolExecutor(properties(ToolExecutionProperties.Mode.VIRTUAL, Duration.ofSeconds(5)));
+        McpTool tool = new StubTool(arguments -> Thread.currentThread().toString());
+
+        assertThat(ToolExecutor.join(executor.submit(tool, Map.of())).toString()).startsWith("VirtualThread");
+    }
+
+    @Test
+    void cancellingARunningCallInterruptsItAndFailsItsFuture() throws Exception {
+        ToolExecutor executor = new ToolExecutor(properties(ToolExecutionProperties.Mode.BOUNDED, Duration.ofSeconds(5)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        McpTool tool = new StubTool(arguments -> {
+            started.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+        try {
+            ToolCallContext context = new ToolCallContext();
+            CompletableFuture<Object> call = executor.submit(tool, context, c -> tool.invoke(Map.of(), c));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            context.cancel("client went away");
+
+            assertThatThrownBy(() -> ToolExecutor.join(call))
+                    .isInstanceOf(McpException.class)
+                    .extracting(ex -> ((McpException) ex).getCode())
+                    .isEqualTo(McpErrorCodes.REQUEST_CANCELLED);
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callFailsWhenItsDeadlinePasses() {
+        ToolExecutor executor = new ToolExecutor(new ToolExecutionProperties(ToolExecutionProperties.Mode.BOUNDED,
+                8, 64, 0, Map.of(), Duration.ofSeconds(5), Duration.ofMillis(100)));
+        McpTool tool = new StubTool(null) {
+            @Override
+            public Object invoke(Map<String, Object> arguments, ToolCallContext context) {
+                while (true) {
+                    context.checkpoint();
+                    Thread.onSpinWait();
+                }
+            }
+        };
+        try {
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> ToolExecutor.join(executor.submit(tool, Map.of())))
+                    .isInstanceOf(McpException.class)
+                    .extracting(ex -> ((McpException) ex).getCode())
+                    .isEqualTo(McpErrorCodes.DEADLINE_EXCEEDED);
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callCancelledWhileWaitingForAPermitNeverStarts() throws Exception {
+        ToolExecutor executor = new ToolExecutor(properties(ToolExecutionProperties.Mode.BOUNDED, Duration.ofSeconds(5)));
+        BlockingTool tool = new BlockingTool();
+        try {
+            executor.submit(tool, Map.of());
+            executor.submit(tool, Map.of());
+            assertThat(tool.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            ToolCallContext context = new ToolCallContext();
+            CompletableFuture<Object> waiting = executor.submit(tool, context, c -> tool.invoke(Map.of(), c));
+            context.cancel("no longer needed");
+            assertThat(waiting).isCompletedExceptionally();
+
+            tool.release.countDown();
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertThat(tool.calls.get()).isEqualTo(2);
+        } finally {
+            tool.release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private ToolExecutionProperties properties(ToolExecutionProperties.Mode mode, Duration acquireTimeout) {
+        return new ToolExecutionProperties(mode, 8, 64, 0, Map.of("blocking", 2), acquireTimeout, Duration.ofSeconds(30));
+    }
+
+    private static final class BlockingTool extends StubTool {
+        private final CountDownLatch started = new CountDownLatch(2);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private BlockingTool() {
+            super(null);
+        }
+
+        @Override
+        public String getName() {
+            return "blocking";
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            calls.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return "done";
+        }
+    }
+
+    private static class StubTool implements McpTool {
+        private final Function<Map<String, Object>, Object> body;
+
+        StubTool(Function<Map<String, Object>, Object> body) {
+            this.body = body;
+        }
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of();
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            return body.apply(arguments);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.mcpdemo.service;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.tool.McpTool;
+import com.example.mcpdemo.tool.ToolCallContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolResultCacheTest {
+
+    @Test
+    void identicalArgumentsInAnyOrderHitTheCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)),
+                new ObjectMapper(), registry);
+        CountingTool tool = new CountingTool(true);
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("start_time", "2026-02-11T00:00:00");
+        first.put("keyword", "standup");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("keyword", "standup");
+        second.put("start_time", "2026-02-11T00:00:00");
+
+        assertThat(call(cache, tool, first)).isEqualTo(call(cache, tool, second));
+        call(cache, tool, Map.of("keyword", "review"));
+
+        assertThat(tool.invocations.get()).isEqualTo(2);
+        cache.cleanUp();
+        ToolCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.entries()).isEqualTo(2);
+        assertThat(stats.weightedBytes()).isPositive();
+        assertThat(registry.get("mcp.tools.cache.hits").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.tools.cache.misses").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("mcp.tools.cache.weight").gauge().value()).isEqualTo(stats.weightedBytes());
+    }
+
+    @Test
+    void nonCacheableToolsAndFailuresAreNotCached() {
+        ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)), new ObjectMapper());
+        CountingTool plain = new CountingTool(false);
+        call(cache, plain, Map.of());
+        call(cache, plain, Map.of());
+        assertThat(plain.invocations.get()).isEqualTo(2);
+
+        CountingTool cacheable = new CountingTool(true);
+        assertThatThrownBy(() -> ToolExecutor.join(cache.getOrLoad(cacheable, Map.of(), new ToolCallContext(), context ->
+                CompletableFuture.failedFuture(new IllegalStateException("boom"))))).hasMessage("boom");
+        call(cache, cacheable, Map.of());
+        assertThat(cacheable.invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void entriesAreEvictedToStayWithinByteBudget() {
+        ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true, DataSize.ofKilobytes(8)), new ObjectMapper());
+        CountingTool tool = new CountingTool(true);
+
+        for (int i = 0; i < 100; i++) {
+            call(cache, tool, Map.of("i", i));
+        }
+        cache.cleanUp();
+
+        ToolCacheStats stats = cache.stats();
+        assertThat(stats.evictions()).isPositive();
+        assertThat(stats.weightedBytes()).isLessThanOrEqualTo(8 * 1024);
+    }
+
+    @Test
+    void weightIsEstimatedCloseToTheSerializedSize() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)), objectMapper);
+        Map<String, Object> result = Map.of(
+                "content", List.of(Map.of("type", "text", "text", "Found 2 events")),
+                "structuredContent", Map.of("events", List.of(
+                        new CalendarEvent("e1", "Team sync", "2026-02-11T09:00:00", "2026-02-11T09:30:00", "Room 1", "Weekly"),
+                        new CalendarEvent("e2", "Review", "2026-02-12T14:00:00", "2026-02-12T15:00:00", null, "")),
+                        "event_count", 2, "has_events", true));
+
+        long serialized = objectMapper.writeValueAsBytes(result).length;
+        assertThat(cache.estimateSize(result)).isBetween(serialized * 9 / 10, serialized * 11 / 10);
+    }
+
+    @Test
+    void sharedLoadIsCancelledOnlyWhenEveryCallerHasCancelled() {
+        ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true, DataSize.ofMegabytes(1)), new ObjectMapper());
+        CountingTool tool = new CountingTool(true);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        List<ToolCallContext> loads = new ArrayList<>();
+        ToolCallContext first = new ToolCallContext();
+        ToolCallContext second = new ToolCallContext();
+
+        CompletableFuture<Object> firstResult = cache.getOrLoad(tool, Map.of(), first, context -> {
+            loads.add(context);
+            context.onCancel(load::completeExceptionally);
+            return load;
+        });
+        CompletableFuture<Object> secondResult = cache.getOrLoad(tool, Map.of(), second, context -> {
+            throw new AssertionError("identical call must join the pending load");
+        });
+
+        first.cancel("first caller left");
+        assertThat(firstResult).isCompletedExceptionally();
+        assertThat(loads).singleElement().matches(context -> !context.isCancelled());
+        assertThat(secondResult).isNotDone();
+
+        second.cancel("second caller left");
+        assertThat(loads.get(0).isCancelled()).isTrue();
+        assertThat(secondResult).isCompletedExceptionally();
+    }
+
+    private Object call(ToolResultCache cache, CountingTool tool, Map<String, Object> arguments) {
+        return ToolExecutor.join(cache.getOrLoad(tool, arguments, new ToolCallContext(),
+                context -> CompletableFuture.completedFuture(tool.invoke(arguments))));
+    }
+
+    private static final class CountingTool implements McpTool {
+        private final boolean cacheable;
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private CountingTool(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public Map<String, Object> getInputSchema() {
+            return Map.of();
+        }
+
+        @Override
+        public Object invoke(Map<String, Object> arguments) {
+            invocations.incrementAndGet();
+            return Map.of("arguments", arguments, "padding", List.of("x".repeat(200)));
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+        @Override
+        public Duration getCacheTtl() {
+            return Duration.ofMinutes(1);
+        }
+    }
+}
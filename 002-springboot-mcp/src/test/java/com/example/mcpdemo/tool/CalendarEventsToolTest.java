@@ -0,0 +1,62 @@
+package com.example.mcpdemo.tool;
+
+import com.example.mcpdemo.model.CalendarEvent;
+import com.example.mcpdemo.service.CalendarService;
+import com.example.mcpdemo.service.IndexedCalendarEventStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CalendarEventsToolTest {
+    private final CalendarEventsTool tool = new CalendarEventsTool(new CalendarService(new IndexedCalendarEventStore()));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isonFormatReturnsEventsAsOneTable() {
+        Map<String, Object> json = (Map<String, Object>) tool.invoke(Map.of());
+        Map<String, Object> ison = (Map<String, Object>) tool.invoke(Map.of("format", "ison"));
+
+        List<CalendarEvent> events = (List<CalendarEvent>) ((Map<String, Object>) json.get("structuredContent")).get("events");
+        Map<String, Object> structured = (Map<String, Object>) ison.get("structuredContent");
+        assertThat(structured).containsEntry("format", "ison").containsEntry("event_count", events.size());
+        String table = (String) structured.get("events");
+        assertThat(table.lines().toList()).hasSize(events.size() + 2)
+                .startsWith("table.events", "id:string title:string startTime:string endTime:string location:string description:string");
+        assertThat(table.lines().skip(2).findFirst().orElseThrow()).startsWith(events.get(0).id() + " ");
+    }
+
+    @Test
+    void blankTimeBoundsPassTheSchemaAndMeanNoBound() {
+        SchemaValidator validator = SchemaCompiler.compile(tool.getInputSchema());
+        Map<String, Object> blank = Map.of("start_time", "", "end_time", " ");
+
+        assertThatCode(() -> validator.validate(blank)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validator.validate(Map.of("start_time", "tomorrow")))
+                .hasMessage("start_time must be date-time");
+        assertThat(tool.invoke(blank)).isEqualTo(tool.invoke(Map.of()));
+    }
+
+    @Test
+    void valuesAreQuotedAndEscapedAsNeeded() {
+        String table = CalendarEventsTool.toIson(List.of(
+                new CalendarEvent("e1", "Team sync", "2026-02-11T09:00:00", "2026-02-11T09:30:00", "", "say \"hi\"\nthen null"),
+                new CalendarEvent("e2", "null", "2026-02-12T09:00:00", "2026-02-12T09:30:00", "Room#1", null)));
+
+        assertThat(table.lines().skip(2).toList()).containsExactly(
+                "e1 \"Team sync\" 2026-02-11T09:00:00 2026-02-11T09:30:00 \"\" \"say \\\"hi\\\"\\nthen null\"",
+                "e2 \"null\" 2026-02-12T09:00:00 2026-02-12T09:30:00 Room#1 null");
+    }
+
+    @Test
+    void rowsMustMatchTheFieldLine() {
+        IsonWriter writer = IsonWriter.of(new StringBuilder()).beginTable("t", List.of("a", "b"));
+
+        assertThatThrownBy(() -> writer.value(1).endRow()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> writer.value(2).value(3)).isInstanceOf(IllegalStateException.class);
+    }
+}
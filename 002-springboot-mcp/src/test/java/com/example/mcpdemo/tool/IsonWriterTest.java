@@ -0,0 +1,103 @@
+package com.example.mcpdemo.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsonWriterTest {
+
+    @Test
+    void numbersAreWrittenInTheirShortestExactForm() {
+        StringBuilder text = new StringBuilder();
+        try (IsonWriter writer = IsonWriter.of(text)) {
+            writer.beginTable("n", List.of("v"));
+            for (Object value : List.of(0, -5, Long.MIN_VALUE, 1.0, 0.1, -0.001, 123.456, 1e7, 1e-4, 2.5f, true)) {
+                writer.value(value).endRow();
+            }
+        }
+
+        assertThat(text.toString().lines().skip(2).toList()).containsExactly(
+                "0", "-5", "-9223372036854775808", "1.0", "0.1", "-0.001", "123.456", "1.0E7", "1.0E-4", "2.5", "true");
+    }
+
+    @Test
+    void everyDoubleReadsBackExactly() {
+        Random random = new Random(3);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(switch (i % 3) {
+                case 0 -> random.nextInt(10_000_000) / 1000.0;
+                case 1 -> random.nextGaussian() * 1e4;
+                default -> Double.longBitsToDouble(random.nextLong() & 0x7FEF_FFFF_FFFF_FFFFL);
+            });
+        }
+        StringBuilder text = new StringBuilder();
+        try (IsonWriter writer = IsonWriter.of(text)) {
+            writer.beginTable("d", List.of("v:float"));
+            values.forEach(value -> writer.value(value.doubleValue()).endRow());
+        }
+
+        assertThat(text.toString().lines().skip(2).map(Double::parseDouble).toList()).isEqualTo(values);
+    }
+
+    @Test
+    void tablesAreSeparatedByABlankLine() {
+        StringBuilder text = new StringBuilder();
+        try (IsonWriter writer = IsonWriter.of(text)) {
+            writer.beginTable("a", List.of("x:int")).row(List.of(1));
+            writer.beginTable("object", "b", List.of("y")).row(List.of("z"));
+        }
+
+        assertThat(text.toString()).isEqualTo("table.a\nx:int\n1\n\nobject.b\ny\nz\n");
+    }
+
+    @Test
+    void everyTargetReceivesTheSameTextAcrossBufferBoundaries() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            rows.add(List.of(i, "日程 " + i, "line\nbreak \"" + i + "\"", i * 0.5));
+        }
+        List<String> headers = List.of("id:int", "title", "note", "weight:float");
+
+        StringBuilder builder = new StringBuilder();
+        try (IsonWriter writer = IsonWriter.of(builder)) {
+            writer.beginTable("rows", headers).rows(rows.iterator());
+        }
+        StringWriter stringWriter = new StringWriter();
+        try (IsonWriter writer = IsonWriter.of(stringWriter)) {
+            writer.beginTable("rows", headers).rows(rows.stream());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (IsonWriter writer = IsonWriter.of(bytes)) {
+            writer.beginTable("rows", headers).rows(rows.iterator());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.size());
+        try (IsonWriter writer = IsonWriter.of(buffer)) {
+            writer.beginTable("rows", headers).rows(rows.iterator());
+        }
+
+        String expected = builder.toString();
+        assertThat(expected.length()).isGreaterThan(3 * 8192);
+        assertThat(stringWriter.toString()).isEqualTo(expected);
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(bytes.size());
+        assertThat(new String(buffer.array(), StandardCharsets.UTF_8)).isEqualTo(expected);
+
+        ByteBuffer tooSmall = ByteBuffer.allocate(bytes.size() - 1);
+        assertThatThrownBy(() -> {
+            try (IsonWriter writer = IsonWriter.of(tooSmall)) {
+                writer.beginTable("rows", headers).rows(rows.iterator());
+            }
+        }).isInstanceOf(BufferOverflowException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.mcpdemo.tool;
+
+import com.example.mcpdemo.protocol.McpErrorCodes;
+import com.example.mcpdemo.protocol.McpException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaCompilerTest {
+    private final SchemaValidator validator = SchemaCompiler.compile(Map.of(
+            "type", "object",
+            "properties", Map.of(
+                    "start_time", Map.of("type", "string", "format", "date-time"),
+                    "limit", Map.of("type", "integer", "minimum", 1, "maximum", 100),
+                    "tags", Map.of("type", "array", "items", Map.of("type", "string", "enum", List.of("work", "home")))
+            ),
+            "required", List.of("start_time"),
+            "additionalProperties", false
+    ));
+
+    @Test
+    void acceptsValidArguments() {
+        assertThatCode(() -> validator.validate(Map.of(
+                "start_time", "2026-02-11T09:00:00",
+                "limit", 10,
+                "tags", List.of("work")
+        ))).doesNotThrowAnyException();
+        assertThatCode(() -> validator.validate(Map.of("start_time", "2026-02-11T09:00:00.125+08:00", "limit", 5.0)))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> validator.validate(Map.of("start_time", "2026-02-11T09:00+18:00")))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> validator.validate(Map.of("start_time", "2026-02-11T09:00:00-18:00")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void reportsTheOffendingPathAsInvalidParams() {
+        assertInvalid(Map.of("limit", 1), "start_time is required");
+        assertInvalid(Map.of("start_time", 20260211), "start_time must be string");
+        assertInvalid(Map.of("start_time", "tomorrow"), "start_time must be date-time");
+        assertInvalid(Map.of("start_time", "2026-02-30T09:00:00"), "start_time must be date-time");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00+18:01"), "start_time must be date-time");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00-19:00"), "start_time must be date-time");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00", "limit", 0), "limit must be >= 1");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00", "limit", 1.5), "limit must be integer");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00", "tags", List.of("gym")), "tags[] must be one of [work, home]");
+        assertInvalid(Map.of("start_time", "2026-02-11T09:00:00", "owner", "x"), "arguments must not contain property 'owner'");
+    }
+
+    @Test
+    void rejectsMalformedSchemasAtCompileTime() {
+        assertThatThrownBy(() -> SchemaCompiler.compile(Map.of("type", "text")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SchemaCompiler.compile(Map.of())).isSameAs(SchemaValidator.ACCEPT_ALL);
+    }
+
+    private void assertInvalid(Map<String, Object> arguments, String message) {
+        assertThatThrownBy(() -> validator.validate(arguments))
+                .isInstanceOfSatisfying(McpException.class, ex -> {
+                    assertThat(ex.getCode()).isEqualTo(McpErrorCodes.INVALID_PARAMS);
+                    assertThat(ex.getMessage()).isEqualTo(message);
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.mcpdemo.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolRegistryTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void snapshotIsSortedAndSerializedOnce() throws Exception {
+        ToolRegistry registry = new ToolRegistry(List.of(tool("zeta"), tool("Alpha"), tool("beta")), objectMapper, event -> { });
+        ToolSnapshot snapshot = registry.snapshot();
+
+        assertThat(registry.list()).extracting(McpTool::getName).containsExactly("Alpha", "beta", "zeta");
+        assertThat(registry.findByName("beta")).isPresent();
+        assertThat(registry.findByName("missing")).isEmpty();
+
+        JsonNode listed = objectMapper.readTree(objectMapper.writeValueAsBytes(Map.of("result", snapshot.listResult())));
+        assertThat(listed.path("result").path("tools")).hasSize(3);
+        assertThat(listed.path("result").path("tools").get(0).path("name").asText()).isEqualTo("Alpha");
+        assertThat(listed.path("result").path("tools").get(0).path("inputSchema").path("type").asText()).isEqualTo("object");
+        assertThat(objectMapper.readTree(snapshot.listJson())).isEqualTo(listed.path("result"));
+    }
+
+    @Test
+    void etagDependsOnToolSetOnly() {
+        String etag = new ToolRegistry(List.of(tool("a"), tool("b")), objectMapper, event -> { }).snapshot().etag();
+
+        assertThat(new ToolRegistry(List.of(tool("b"), tool("a")), objectMapper, event -> { }).snapshot().etag()).isEqualTo(etag);
+        assertThat(new ToolRegistry(List.of(tool("a")), objectMapper, event -> { }).snapshot().etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void registerAndUnregisterSwapSnapshotAndPublishChanges() {
+        List<Object> events = new ArrayList<>();
+        McpTool original = tool("a");
+        ToolRegistry registry = new ToolRegistry(List.of(original), objectMapper, events::add);
+        ToolSnapshot first = registry.snapshot();
+
+        McpTool replacement = tool("a");
+        registry.register(tool("b"));
+        registry.register(replacement);
+
+        assertThat(registry.list()).extracting(McpTool::getName).containsExactly("a", "b");
+        assertThat(registry.findByName("a")).containsSame(replacement);
+        assertThat(registry.snapshot().version()).isEqualTo(first.version() + 2);
+        assertThat(first.tools()).containsExactly(original);
+        assertThat(events).hasSize(2);
+        ToolListChangedEvent replaced = (ToolListChangedEvent) events.get(1);
+        assertThat(replaced.changed("a")).isTrue();
+        assertThat(replaced.changed("b")).isFalse();
+
+        String withB = registry.snapshot().etag();
+        assertThat(withB).isNotEqualTo(first.etag());
+        assertThat(registry.unregister("b")).isTrue();
+        assertThat(registry.unregister("b")).isFalse();
+        assertThat(registry.findByName("b")).isEmpty();
+        assertThat(events).hasSize(3);
+        assertThat(registry.snapshot().etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void registeringTheSameInstanceAgainIsNotAChange() {
+        List<Object> events = new ArrayList<>();
+        McpTool alpha = tool("alpha");
+        ToolRegistry registry = new ToolRegistry(List.of(alpha, tool("beta")), objectMapper, events::add);
+        ToolSnapshot before = registry.snapshot();
+
+        registry.register(alpha);
+
+        assertThat(registry.snapshot()).isSameAs(before);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void listPagesFollowNameOrderAndSurviveChanges() throws Exception {
+        ToolRegistry registry = new ToolRegistry(List.of(tool("e"), tool("B"), tool("a"), tool("d"), tool("c")),
+                objectMapper, event -> { });
+
+        assertThat(registry.snapshot().listPage(null, 5)).isSameAs(registry.snapshot().listResult());
+        JsonNode first = page(registry.snapshot().listPage(null, 2));
+        assertThat(first.path("tools").findValuesAsText("name")).containsExactly("a", "B");
+        String cursor = first.path("nextCursor").asText();
+
+        registry.unregister("B");
+        registry.register(tool("bb"));
+        JsonNode second = page(registry.snapshot().listPage(cursor, 2));
+        assertThat(second.path("tools").findValuesAsText("name")).containsExactly("bb", "c");
+        JsonNode last = page(registry.snapshot().listPage(second.path("nextCursor").asText(), 2));
+        assertThat(last.path("tools").findValuesAsText("name")).containsExactly("d", "e");
+        assertThat(last.has("nextCursor")).isFalse();
+    }
+
+    private JsonNode page(Object listResult) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(Map.of("result", listResult))).path("result");
+    }
+
+    static McpTool tool(String name) {
+        return new McpTool() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return "Tool " + name;
+            }
+
+            @Override
+            public Map<String, Object> getInputSchema() {
+                return Map.of("type", "object", "properties", Map.of("q", Map.of("type", "string")), "required", List.of());
+            }
+
+            @Override
+            public Object invoke(Map<String, Object> arguments) {
+                return Map.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.mcpdemo.tool;
+
+/**
+ * ISON文本格式错误，带出错的行号（从1开始）
+ */
+public class IsonFormatException extends IllegalArgumentException {
+    private final long line;
+
+    public IsonFormatException(long line, String message) {
+        super("line " + line + ": " + message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
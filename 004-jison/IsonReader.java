@@ -0,0 +1,685 @@
+package com.example.mcpdemo.tool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ISON流式读取
+ * <p>
+ * 输入按块读入一个字符缓冲区，缓冲区只需容纳最长的一行，所以多 GB 的文件也只占常量内存。字段定义行每张表只解析一次，
+ * 数据行只记录各值在缓冲区中的起止位置，{@link #getLong}、{@link #getDouble} 等直接从缓冲区解码，不产生子串；
+ * 没有类型注解的字段逐字符判断取值形态，不靠捕获 {@link NumberFormatException} 试探。
+ *
+ * <pre>
+ * try (IsonReader reader = IsonReader.of(Files.newBufferedReader(path))) {
+ *     while (reader.nextTable()) {
+ *         while (reader.nextRow()) {
+ *             long id = reader.getLong(0);
+ *             String name = reader.getString(1);
+ *         }
+ *     }
+ * }
+ * </pre>
+ * 表之间以空行分隔，以 {@code #} 开头的行是注释。
+ */
+public final class IsonReader implements Closeable {
+    private static final int INITIAL_BUFFER = 8192;
+    private static final int MIN_READ = 64;
+    private static final byte QUOTED = 1;
+    private static final byte ESCAPED = 2;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final Source source;
+    private char[] buf = new char[INITIAL_BUFFER];
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private long lineNumber;
+    private int lineStart;
+    private int lineEnd;
+
+    private boolean inTable;
+    private String tableKind;
+    private String tableName;
+    private String[] columnNames = new String[0];
+    private IsonType[] columnTypes = new IsonType[0];
+
+    private int[] cellStart = new int[16];
+    private int[] cellEnd = new int[16];
+    private byte[] cellFlags = new byte[16];
+    private int cellCount;
+
+    private IsonReader(Source source) {
+        this.source = source;
+    }
+
+    public static IsonReader of(Reader reader) {
+        return new IsonReader(new Source() {
+            @Override
+            public int read(char[] dst, int off, int len) throws IOException {
+                return reader.read(dst, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        });
+    }
+
+    public static IsonReader of(CharSequence text) {
+        return new IsonReader(new Source() {
+            private int next;
+
+            @Override
+            public int read(char[] dst, int off, int len) {
+                int n = Math.min(len, text.length() - next);
+                if (n <= 0) {
+                    return -1;
+                }
+                if (text instanceof String string) {
+                    string.getChars(next, next + n, dst, off);
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        dst[off + i] = text.charAt(next + i);
+                    }
+                }
+                next += n;
+                return n;
+            }
+        });
+    }
+
+    /**
+     * 读取 UTF-8 编码的字节，从 {@code bytes} 的当前位置读到 limit，不改变它的位置
+     */
+    public static IsonReader of(ByteBuffer bytes) {
+        ByteBuffer in = bytes.duplicate();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new IsonReader(new Source() {
+            private boolean flushed;
+
+            @Override
+            public int read(char[] dst, int off, int len) {
+                if (flushed) {
+                    return -1;
+                }
+                CharBuffer out = CharBuffer.wrap(dst, off, len);
+                CoderResult result = decoder.decode(in, out, true);
+                if (result.isUnderflow()) {
+                    decoder.flush(out);
+                    flushed = true;
+                }
+                int n = out.position() - off;
+                return n == 0 && flushed ? -1 : n;
+            }
+        });
+    }
+
+    /**
+     * 跳过当前表余下的行，移到下一张表并读入它的字段定义；没有更多的表时返回 {@code false}
+     */
+    public boolean nextTable() {
+        while (inTable && readLine()) {
+            if (isBlankLine()) {
+                inTable = false;
+            }
+        }
+        inTable = false;
+        do {
+            if (!readLine()) {
+                return false;
+            }
+        } while (isBlankLine() || isCommentLine());
+
+        String header = new String(buf, lineStart, lineEnd - lineStart).trim();
+        int dot = header.indexOf('.');
+        tableKind = dot > 0 ? header.substring(0, dot) : header;
+        tableName = dot > 0 ? header.substring(dot + 1) : "";
+
+        do {
+            if (!readLine() || isBlankLine()) {
+                throw new IsonFormatException(lineNumber, "missing field definitions of " + header);
+            }
+        } while (isCommentLine());
+        tokenize();
+        columnNames = new String[cellCount];
+        columnTypes = new IsonType[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            String field = new String(buf, cellStart[i], cellEnd[i] - cellStart[i]);
+            int colon = field.indexOf(':');
+            columnNames[i] = colon >= 0 ? field.substring(0, colon) : field;
+            columnTypes[i] = IsonType.of(colon >= 0 ? field.substring(colon + 1) : null);
+        }
+        inTable = true;
+        return true;
+    }
+
+    /**
+     * 读入当前表的下一行数据；遇到空行或输入结束时返回 {@code false}
+     */
+    public boolean nextRow() {
+        if (!inTable) {
+            return false;
+        }
+        while (readLine()) {
+            if (isBlankLine()) {
+                break;
+            }
+            if (isCommentLine()) {
+                continue;
+            }
+            tokenize();
+            if (cellCount != columnNames.length) {
+                throw new IsonFormatException(lineNumber,
+                        "expected " + columnNames.length + " values but found " + cellCount);
+            }
+            return true;
+        }
+        inTable = false;
+        return false;
+    }
+
+    /**
+     * 表头中点号前的部分，如 {@code table.users} 中的 {@code table}
+     */
+    public String tableKind() {
+        return tableKind;
+    }
+
+    /**
+     * 表头中点号后的部分，如 {@code table.users} 中的 {@code users}
+     */
+    public String tableName() {
+        return tableName;
+    }
+
+    public int columnCount() {
+        return columnNames.length;
+    }
+
+    public String columnName(int column) {
+        return columnNames[column];
+    }
+
+    public IsonType columnType(int column) {
+        return columnTypes[column];
+    }
+
+    /**
+     * 当前读到的行号，从1开始
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    public boolean isNull(int column) {
+        checkColumn(column);
+        return cellFlags[column] == 0 && matches(cellStart[column], cellEnd[column], "null");
+    }
+
+    public int getInt(int column) {
+        long value = getLong(column);
+        if (value != (int) value) {
+            throw invalid(column, "int");
+        }
+        return (int) value;
+    }
+
+    public long getLong(int column) {
+        checkColumn(column);
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        if (cellFlags[column] != 0 || !isInteger(start, end) || !fitsLong(start, end)) {
+            throw invalid(column, "int");
+        }
+        return parseLong(start, end);
+    }
+
+    public double getDouble(int column) {
+        checkColumn(column);
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        if (cellFlags[column] != 0 || !isNumber(start, end)) {
+            throw invalid(column, "float");
+        }
+        return parseDouble(start, end);
+    }
+
+    public boolean getBoolean(int column) {
+        checkColumn(column);
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        if (cellFlags[column] == 0 && matches(start, end, "true")) {
+            return true;
+        }
+        if (cellFlags[column] == 0 && matches(start, end, "false")) {
+            return false;
+        }
+        throw invalid(column, "bool");
+    }
+
+    /**
+     * 取值的文本，引号中的转义已还原；未加引号的 {@code null} 返回 {@code null}
+     */
+    public String getString(int column) {
+        if (isNull(column)) {
+            return null;
+        }
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        return (cellFlags[column] & ESCAPED) != 0 ? unescape(start, end) : new String(buf, start, end - start);
+    }
+
+    /**
+     * 按字段的类型注解解码：int 为 {@link Integer}（超出范围时为 {@link Long}），float 为 {@link Double}，
+     * bool 为 {@link Boolean}，string 与 ref 为 {@link String}；没有注解时按取值形态推断，
+     * 与原先 {@code parseTable} 的结果一致
+     */
+    public Object get(int column) {
+        if (isNull(column)) {
+            return null;
+        }
+        return switch (columnTypes[column]) {
+            case INT -> boxInteger(getLong(column));
+            case FLOAT -> getDouble(column);
+            case BOOL -> getBoolean(column);
+            case STRING, REF -> getString(column);
+            case AUTO -> infer(column);
+        };
+    }
+
+    /**
+     * 当前行转为字段名到值的 {@link LinkedHashMap}，值同 {@link #get}
+     */
+    public Map<String, Object> rowAsMap() {
+        Map<String, Object> row = new LinkedHashMap<>(columnNames.length * 4 / 3 + 1);
+        for (int i = 0; i < columnNames.length; i++) {
+            row.put(columnNames[i], get(i));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        try {
+            source.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Object infer(int column) {
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        return switch (inferType(column)) {
+            case BOOL -> buf[start] == 't';
+            case INT -> boxInteger(parseLong(start, end));
+            case FLOAT -> parseDouble(start, end);
+            default -> getString(column);
+        };
+    }
+
+    /**
+     * 没有类型注解时取值的形态：加引号或不像数字、布尔的为 STRING，冒号开头的为 REF，{@code null} 返回 {@code null}
+     */
+    IsonType inferType(int column) {
+        checkColumn(column);
+        int start = cellStart[column];
+        int end = cellEnd[column];
+        if (cellFlags[column] != 0 || start == end) {
+            return IsonType.STRING;
+        }
+        if (buf[start] == ':') {
+            return IsonType.REF;
+        }
+        if (matches(start, end, "true") || matches(start, end, "false")) {
+            return IsonType.BOOL;
+        }
+        if (matches(start, end, "null")) {
+            return null;
+        }
+        if (isInteger(start, end) && fitsLong(start, end)) {
+            return IsonType.INT;
+        }
+        return isNumber(start, end) ? IsonType.FLOAT : IsonType.STRING;
+    }
+
+    /**
+     * 取值文本在字典中的编号，没有转义时直接用缓冲区中的字符查找，已有的文本不再创建 {@link String}
+     */
+    int dictionaryCode(int column, IsonTable.Dictionary dictionary) {
+        checkColumn(column);
+        if ((cellFlags[column] & ESCAPED) != 0) {
+            return dictionary.code(unescape(cellStart[column], cellEnd[column]));
+        }
+        return dictionary.code(buf, cellStart[column], cellEnd[column]);
+    }
+
+    private static Object boxInteger(long value) {
+        return value == (int) value ? (Object) (int) value : (Object) value;
+    }
+
+    /**
+     * 切分当前行：空格或制表符分隔，双引号括起的值可含空白，其中 {@code \"}、{@code \\}、{@code \n}、{@code \t} 为转义
+     */
+    private void tokenize() {
+        cellCount = 0;
+        int i = lineStart;
+        while (true) {
+            while (i < lineEnd && isSpace(buf[i])) {
+                i++;
+            }
+            if (i >= lineEnd) {
+                return;
+            }
+            if (cellCount == cellStart.length) {
+                cellStart = Arrays.copyOf(cellStart, cellCount * 2);
+                cellEnd = Arrays.copyOf(cellEnd, cellCount * 2);
+                cellFlags = Arrays.copyOf(cellFlags, cellCount * 2);
+            }
+            if (buf[i] == '"') {
+                int start = ++i;
+                byte flags = QUOTED;
+                while (i < lineEnd && buf[i] != '"') {
+                    if (buf[i] == '\\') {
+                        flags |= ESCAPED;
+                        i++;
+                    }
+                    i++;
+                }
+                if (i >= lineEnd) {
+                    throw new IsonFormatException(lineNumber, "unterminated string");
+                }
+                cellStart[cellCount] = start;
+                cellEnd[cellCount] = i;
+                cellFlags[cellCount] = flags;
+                i++;
+            } else {
+                int start = i;
+                while (i < lineEnd && !isSpace(buf[i])) {
+                    i++;
+                }
+                cellStart[cellCount] = start;
+                cellEnd[cellCount] = i;
+                cellFlags[cellCount] = 0;
+            }
+            cellCount++;
+        }
+    }
+
+    private String unescape(int start, int end) {
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = buf[i];
+            if (c == '\\' && i + 1 < end) {
+                c = buf[++i];
+                if (c == 'n') {
+                    c = '\n';
+                } else if (c == 't') {
+                    c = '\t';
+                } else if (c == 'r') {
+                    c = '\r';
+                }
+            }
+            text.append(c);
+        }
+        return text.toString();
+    }
+
+    /**
+     * [符号]数字
+     */
+    private boolean isInteger(int start, int end) {
+        int i = start < end && (buf[start] == '-' || buf[start] == '+') ? start + 1 : start;
+        if (i == end) {
+            return false;
+        }
+        for (; i < end; i++) {
+            if (buf[i] < '0' || buf[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 18 位以内一定在 long 范围内，更长的逐位比较上限
+     */
+    private boolean fitsLong(int start, int end) {
+        boolean negative = buf[start] == '-';
+        int digits = buf[start] == '-' || buf[start] == '+' ? start + 1 : start;
+        while (digits < end - 1 && buf[digits] == '0') {
+            digits++;
+        }
+        int length = end - digits;
+        if (length != 19) {
+            return length < 19;
+        }
+        String bound = negative ? "9223372036854775808" : "9223372036854775807";
+        for (int i = 0; i < 19; i++) {
+            char c = buf[digits + i];
+            if (c != bound.charAt(i)) {
+                return c < bound.charAt(i);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * [符号]数字[.数字][e[符号]数字]，整数与小数部分合计至少一位数字
+     */
+    private boolean isNumber(int start, int end) {
+        int i = start < end && (buf[start] == '-' || buf[start] == '+') ? start + 1 : start;
+        int digits = 0;
+        while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+            i++;
+            digits++;
+        }
+        if (i < end && buf[i] == '.') {
+            i++;
+            while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == end;
+    }
+
+    /**
+     * 调用前已由 {@link #isInteger} 与 {@link #fitsLong} 确认；按负数累加，{@link Long#MIN_VALUE} 也能表示
+     */
+    private long parseLong(int start, int end) {
+        boolean negative = buf[start] == '-';
+        int i = negative || buf[start] == '+' ? start + 1 : start;
+        long value = 0;
+        for (; i < end; i++) {
+            value = value * 10 - (buf[i] - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * 调用前已由 {@link #isNumber} 确认。有效数字不超过 15 位且十进制指数在 ±22 以内时，尾数与 10 的幂都能精确表示，
+     * 一次乘除即得到正确舍入的结果；其余情况交给 {@link Double#parseDouble}
+     */
+    private double parseDouble(int start, int end) {
+        boolean negative = buf[start] == '-';
+        int i = negative || buf[start] == '+' ? start + 1 : start;
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+            mantissa = mantissa * 10 + (buf[i] - '0');
+            if (mantissa != 0) {
+                significant++;
+            }
+        }
+        if (i < end && buf[i] == '.') {
+            for (i++; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+                mantissa = mantissa * 10 + (buf[i] - '0');
+                if (mantissa != 0) {
+                    significant++;
+                }
+                exponent--;
+            }
+        }
+        if (i < end) {
+            i++;
+            boolean negativeExponent = buf[i] == '-';
+            if (buf[i] == '-' || buf[i] == '+') {
+                i++;
+            }
+            int explicit = 0;
+            for (; i < end && explicit < 10_000; i++) {
+                explicit = explicit * 10 + (buf[i] - '0');
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (significant > 15 || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(new String(buf, start, end - start));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private boolean matches(int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (buf[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IsonFormatException invalid(int column, String type) {
+        return new IsonFormatException(lineNumber, "value of " + columnNames[column] + " is not a valid " + type + ": "
+                + new String(buf, cellStart[column], cellEnd[column] - cellStart[column]));
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= cellCount) {
+            throw new IndexOutOfBoundsException("column " + column + " of " + cellCount);
+        }
+    }
+
+    private boolean isBlankLine() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (!isSpace(buf[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isCommentLine() {
+        int i = lineStart;
+        while (i < lineEnd && isSpace(buf[i])) {
+            i++;
+        }
+        return i < lineEnd && buf[i] == '#';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * 读入下一行，行尾的 {@code \r\n} 或 {@code \n} 不计入；缓冲区中放不下一整行时先整理再扩容
+     */
+    private boolean readLine() {
+        int scanned = 0;
+        while (true) {
+            for (int i = pos + scanned; i < limit; i++) {
+                if (buf[i] == '\n') {
+                    setLine(pos, i);
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            scanned = limit - pos;
+            if (!fill()) {
+                if (pos < limit) {
+                    setLine(pos, limit);
+                    pos = limit;
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private void setLine(int start, int end) {
+        lineNumber++;
+        lineStart = start;
+        lineEnd = end > start && buf[end - 1] == '\r' ? end - 1 : end;
+    }
+
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (buf.length - limit < MIN_READ) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n;
+        try {
+            n = source.read(buf, limit, buf.length - limit);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    private interface Source {
+        int read(char[] dst, int off, int len) throws IOException;
+
+        default void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,835 @@
+package com.example.mcpdemo.tool;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * 按列存放的ISON表
+ * <p>
+ * 每个字段一个原生数组：int 字段存 {@code int[]}（出现超出 int 范围的值时整列改存 {@code long[]}），float 存
+ * {@code double[]}，bool 存 {@code boolean[]}，string 与 ref 存字典编号，相同的文本只保留一份，null 记在位图里。
+ * 与 {@link IsonUtils#parseTable} 返回的每行一个 {@link java.util.LinkedHashMap}、每个值一个装箱对象相比，
+ * 百万行的表只剩几个连续数组；按列扫描时顺序读同一个数组，对缓存友好。
+ * <p>
+ * 没有类型注解的字段按读到的值决定存法：先出现整数后出现小数时改存 {@code double[]}，并记下哪些行原本是整数；
+ * 数字、布尔与文本混在一列时才退回逐值保存对象。所以 {@link #rows()} 与 {@link IsonUtils#parseTable} 的结果一致。
+ *
+ * <pre>
+ * IsonTable table = IsonTable.parse(text);
+ * IsonTable.Column amount = table.column(table.columnIndex("amount"));
+ * double total = 0;
+ * for (int row = 0; row &lt; table.rowCount(); row++) {
+ *     total += amount.getDouble(row);
+ * }
+ * </pre>
+ */
+public final class IsonTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String kind;
+    private final String name;
+    private final Column[] columns;
+    private final int rowCount;
+    private final Map<String, Integer> columnIndex;
+
+    private IsonTable(String kind, String name, Column[] columns, int rowCount) {
+        this.kind = kind;
+        this.name = name;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.columnIndex = new HashMap<>(columns.length * 4 / 3 + 1);
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.putIfAbsent(columns[i].name, i);
+        }
+    }
+
+    /**
+     * 解析第一张表，没有表时返回没有字段的空表
+     */
+    public static IsonTable parse(CharSequence isonText) {
+        try (IsonReader reader = IsonReader.of(isonText)) {
+            return reader.nextTable() ? read(reader) : new IsonTable(null, null, new Column[0], 0);
+        }
+    }
+
+    /**
+     * 读入 {@code reader} 当前表余下的所有行，{@code reader} 需已由 {@link IsonReader#nextTable()} 移到这张表
+     */
+    public static IsonTable read(IsonReader reader) {
+        Column[] columns = new Column[reader.columnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.create(reader.columnName(i), reader.columnType(i));
+        }
+        int rows = 0;
+        while (reader.nextRow()) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].append(reader, i, rows);
+            }
+            rows++;
+        }
+        for (Column column : columns) {
+            column.trim(rows);
+        }
+        return new IsonTable(reader.tableKind(), reader.tableName(), columns, rows);
+    }
+
+    public String kind() {
+        return kind;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public String columnName(int column) {
+        return columns[column].name;
+    }
+
+    /**
+     * 字段的类型注解，没有注解时为 {@link IsonType#AUTO}
+     */
+    public IsonType columnType(int column) {
+        return columns[column].type;
+    }
+
+    /**
+     * 字段名对应的列号，没有该字段时返回 -1
+     */
+    public int columnIndex(String columnName) {
+        Integer index = columnIndex.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 整列的访问入口，循环内反复调用同一列的方法时比 {@link #getLong(int, int)} 等少一次按列号的分派
+     */
+    public Column column(int column) {
+        return columns[column];
+    }
+
+    public boolean isNull(int row, int column) {
+        return columns[column].isNull(checkRow(row));
+    }
+
+    public int getInt(int row, int column) {
+        return columns[column].getInt(checkRow(row));
+    }
+
+    public long getLong(int row, int column) {
+        return columns[column].getLong(checkRow(row));
+    }
+
+    public double getDouble(int row, int column) {
+        return columns[column].getDouble(checkRow(row));
+    }
+
+    public boolean getBoolean(int row, int column) {
+        return columns[column].getBoolean(checkRow(row));
+    }
+
+    public String getString(int row, int column) {
+        return columns[column].getString(checkRow(row));
+    }
+
+    /**
+     * 取值，类型同 {@link IsonReader#get}
+     */
+    public Object get(int row, int column) {
+        return columns[column].get(checkRow(row));
+    }
+
+    /**
+     * 一行的只读视图，取值时才从各列读出，不复制
+     */
+    public Map<String, Object> row(int row) {
+        return new RowView(checkRow(row));
+    }
+
+    /**
+     * 所有行的只读视图，与 {@link IsonUtils#parseTable} 的结果相等，但每行在访问时才生成
+     */
+    public List<Map<String, Object>> rows() {
+        return new RowList();
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rowCount);
+        }
+        return row;
+    }
+
+    private final class RowList extends AbstractList<Map<String, Object>> implements RandomAccess {
+        @Override
+        public Map<String, Object> get(int index) {
+            return row(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    private final class RowView extends AbstractMap<String, Object> {
+        private final int row;
+
+        private RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = columnIndex.get(key);
+            return column == null ? null : columns[column].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return columns.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < columns.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= columns.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Column column = columns[next++];
+                            return new SimpleImmutableEntry<>(column.name, column.get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columns.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * 一列的取值。取值与列的存法不符时抛出 {@link IllegalStateException}，如在 string 列上调用 {@link #getLong}；
+     * 数字列之间可以放宽，整数列可以按 {@link #getDouble} 读，小数列中原本是整数的行也可以按 {@link #getLong} 读
+     */
+    public abstract static class Column {
+        final String name;
+        final IsonType type;
+        BitSet nulls;
+
+        Column(String name, IsonType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * 换一种存法时沿用原列的字段与 null 位图
+         */
+        Column(Column from) {
+            this(from.name, from.type);
+            this.nulls = from.nulls;
+        }
+
+        static Column create(String name, IsonType type) {
+            return switch (type) {
+                case INT -> new IntColumn(name, type);
+                case FLOAT -> new DoubleColumn(name, type);
+                case BOOL -> new BoolColumn(name, type);
+                case STRING, REF -> new StringColumn(name, type);
+                case AUTO -> new PendingColumn(name);
+            };
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean isNull(int row) {
+            return nulls != null && nulls.get(row);
+        }
+
+        public int getInt(int row) {
+            long value = getLong(row);
+            if (value != (int) value) {
+                throw mismatch(row, "int");
+            }
+            return (int) value;
+        }
+
+        public long getLong(int row) {
+            throw mismatch(row, "int");
+        }
+
+        public double getDouble(int row) {
+            throw mismatch(row, "float");
+        }
+
+        public boolean getBoolean(int row) {
+            throw mismatch(row, "bool");
+        }
+
+        /**
+         * 取值的文本，数字与布尔按 {@link String#valueOf} 转换
+         */
+        public String getString(int row) {
+            Object value = get(row);
+            return value == null ? null : value.toString();
+        }
+
+        public abstract Object get(int row);
+
+        /**
+         * 追加第 {@code row} 行的值。有类型注解的列按注解解码，不合法的值由 {@link IsonReader} 抛出带行号的异常；
+         * 没有注解的列按取值形态决定存法，存不下时返回换了存法的新列
+         */
+        final Column append(IsonReader reader, int column, int row) {
+            IsonType kind = type == IsonType.AUTO ? reader.inferType(column) : reader.isNull(column) ? null : type;
+            if (kind == null) {
+                if (nulls == null) {
+                    nulls = new BitSet();
+                }
+                nulls.set(row);
+                return this;
+            }
+            return add(reader, column, row, kind);
+        }
+
+        abstract Column add(IsonReader reader, int column, int row, IsonType kind);
+
+        abstract void trim(int rows);
+
+        IllegalStateException mismatch(int row, String expected) {
+            return new IllegalStateException(isNull(row)
+                    ? "row " + row + " of " + name + " is null"
+                    : "column " + name + " is not " + expected + " at row " + row);
+        }
+
+        static int grow(int length, int row) {
+            return Math.max(row + 1, Math.max(INITIAL_CAPACITY, length + (length >> 1)));
+        }
+    }
+
+    /**
+     * 没有注解、至今全是 null 的列，读到第一个值时换成对应的存法
+     */
+    private static final class PendingColumn extends Column {
+        PendingColumn(String name) {
+            super(name, IsonType.AUTO);
+        }
+
+        @Override
+        public Object get(int row) {
+            return null;
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            Column typed = switch (kind) {
+                case INT -> new IntColumn(this);
+                case FLOAT -> new DoubleColumn(this);
+                case BOOL -> new BoolColumn(this);
+                default -> new StringColumn(this);
+            };
+            return typed.add(reader, column, row, kind);
+        }
+
+        @Override
+        void trim(int rows) {
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private int[] values = new int[0];
+
+        IntColumn(String name, IsonType type) {
+            super(name, type);
+        }
+
+        IntColumn(Column from) {
+            super(from);
+        }
+
+        @Override
+        public long getLong(int row) {
+            if (isNull(row)) {
+                throw mismatch(row, "int");
+            }
+            return values[row];
+        }
+
+        @Override
+        public int getInt(int row) {
+            if (isNull(row)) {
+                throw mismatch(row, "int");
+            }
+            return values[row];
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (kind == IsonType.INT) {
+                long value = reader.getLong(column);
+                if (value == (int) value) {
+                    if (row >= values.length) {
+                        values = Arrays.copyOf(values, grow(values.length, row));
+                    }
+                    values[row] = (int) value;
+                    return this;
+                }
+                return new LongColumn(this, row).add(reader, column, row, kind);
+            }
+            return promote(this, row, kind).add(reader, column, row, kind);
+        }
+
+        @Override
+        void trim(int rows) {
+            values = Arrays.copyOf(values, rows);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private long[] values;
+
+        LongColumn(IntColumn from, int rows) {
+            super(from);
+            values = new long[grow(rows, rows)];
+            for (int i = 0; i < rows && i < from.values.length; i++) {
+                values[i] = from.values[i];
+            }
+        }
+
+        @Override
+        public long getLong(int row) {
+            if (isNull(row)) {
+                throw mismatch(row, "int");
+            }
+            return values[row];
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        public Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            long value = values[row];
+            return value == (int) value ? (Object) (int) value : (Object) value;
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (kind == IsonType.INT) {
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, grow(values.length, row));
+                }
+                values[row] = reader.getLong(column);
+                return this;
+            }
+            return promote(this, row, kind).add(reader, column, row, kind);
+        }
+
+        @Override
+        void trim(int rows) {
+            values = Arrays.copyOf(values, rows);
+        }
+    }
+
+    /**
+     * float 列，以及先后出现整数与小数的无注解列；后者用 {@code integral} 记下原本是整数的行
+     */
+    private static final class DoubleColumn extends Column {
+        private double[] values = new double[0];
+        private BitSet integral;
+
+        DoubleColumn(String name, IsonType type) {
+            super(name, type);
+        }
+
+        DoubleColumn(Column from) {
+            super(from);
+        }
+
+        @Override
+        public long getLong(int row) {
+            if (integral == null || !integral.get(row)) {
+                throw mismatch(row, "int");
+            }
+            return (long) values[row];
+        }
+
+        @Override
+        public double getDouble(int row) {
+            if (isNull(row)) {
+                throw mismatch(row, "float");
+            }
+            return values[row];
+        }
+
+        @Override
+        public Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            if (integral != null && integral.get(row)) {
+                long value = (long) values[row];
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            return values[row];
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (kind == IsonType.INT && type == IsonType.AUTO) {
+                long value = reader.getLong(column);
+                if (!fitsDouble(value)) {
+                    return new ObjectColumn(this, row).add(reader, column, row, kind);
+                }
+                set(row, value);
+                if (integral == null) {
+                    integral = new BitSet();
+                }
+                integral.set(row);
+                return this;
+            }
+            if (kind == IsonType.FLOAT) {
+                set(row, reader.getDouble(column));
+                return this;
+            }
+            return new ObjectColumn(this, row).add(reader, column, row, kind);
+        }
+
+        private void set(int row, double value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = value;
+        }
+
+        @Override
+        void trim(int rows) {
+            values = Arrays.copyOf(values, rows);
+        }
+
+        /**
+         * 整数列改存 double；有超出 2^53、换成 double 会丢精度的值时改为逐值保存
+         */
+        static Column from(Column numbers, int rows) {
+            for (int i = 0; i < rows; i++) {
+                if (!numbers.isNull(i) && !fitsDouble(numbers.getLong(i))) {
+                    return new ObjectColumn(numbers, rows);
+                }
+            }
+            DoubleColumn column = new DoubleColumn(numbers);
+            column.values = new double[grow(rows, rows)];
+            column.integral = new BitSet(rows);
+            for (int i = 0; i < rows; i++) {
+                if (!numbers.isNull(i)) {
+                    column.values[i] = numbers.getLong(i);
+                    column.integral.set(i);
+                }
+            }
+            return column;
+        }
+
+        private static boolean fitsDouble(long value) {
+            return Math.abs(value) <= 1L << 53;
+        }
+    }
+
+    private static final class BoolColumn extends Column {
+        private boolean[] values = new boolean[0];
+
+        BoolColumn(String name, IsonType type) {
+            super(name, type);
+        }
+
+        BoolColumn(Column from) {
+            super(from);
+        }
+
+        @Override
+        public boolean getBoolean(int row) {
+            if (isNull(row)) {
+                throw mismatch(row, "bool");
+            }
+            return values[row];
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (kind == IsonType.BOOL) {
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, grow(values.length, row));
+                }
+                values[row] = reader.getBoolean(column);
+                return this;
+            }
+            return new ObjectColumn(this, row).add(reader, column, row, kind);
+        }
+
+        @Override
+        void trim(int rows) {
+            values = Arrays.copyOf(values, rows);
+        }
+    }
+
+    /**
+     * string 与 ref 列，每行存字典编号
+     */
+    private static final class StringColumn extends Column {
+        private final Dictionary dictionary = new Dictionary();
+        private int[] codes = new int[0];
+
+        StringColumn(String name, IsonType type) {
+            super(name, type);
+        }
+
+        StringColumn(Column from) {
+            super(from);
+        }
+
+        @Override
+        public String getString(int row) {
+            return isNull(row) ? null : dictionary.value(codes[row]);
+        }
+
+        @Override
+        public Object get(int row) {
+            return getString(row);
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (kind == IsonType.STRING || kind == IsonType.REF) {
+                if (row >= codes.length) {
+                    codes = Arrays.copyOf(codes, grow(codes.length, row));
+                }
+                codes[row] = reader.dictionaryCode(column, dictionary);
+                return this;
+            }
+            return new ObjectColumn(this, row).add(reader, column, row, kind);
+        }
+
+        @Override
+        void trim(int rows) {
+            codes = Arrays.copyOf(codes, rows);
+            dictionary.trim();
+        }
+    }
+
+    /**
+     * 类型混杂的无注解列，逐值保存 {@link IsonReader#get} 的结果
+     */
+    private static final class ObjectColumn extends Column {
+        private Object[] values;
+
+        ObjectColumn(Column from, int rows) {
+            super(from);
+            values = new Object[grow(rows, rows)];
+            for (int i = 0; i < rows; i++) {
+                values[i] = from.get(i);
+            }
+        }
+
+        @Override
+        public long getLong(int row) {
+            if (values[row] instanceof Integer || values[row] instanceof Long) {
+                return ((Number) values[row]).longValue();
+            }
+            throw mismatch(row, "int");
+        }
+
+        @Override
+        public double getDouble(int row) {
+            if (values[row] instanceof Number number) {
+                return number.doubleValue();
+            }
+            throw mismatch(row, "float");
+        }
+
+        @Override
+        public boolean getBoolean(int row) {
+            if (values[row] instanceof Boolean value) {
+                return value;
+            }
+            throw mismatch(row, "bool");
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        Column add(IsonReader reader, int column, int row, IsonType kind) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = reader.get(column);
+            return this;
+        }
+
+        @Override
+        void trim(int rows) {
+            values = Arrays.copyOf(values, rows);
+        }
+    }
+
+    /**
+     * 无注解的整数列遇到小数时换成 double 存法，遇到其他形态时逐值保存
+     */
+    private static Column promote(Column numbers, int rows, IsonType kind) {
+        return kind == IsonType.FLOAT ? DoubleColumn.from(numbers, rows) : new ObjectColumn(numbers, rows);
+    }
+
+    /**
+     * 文本到编号的字典，开放寻址；可以直接用字符数组的一段查找，命中时不创建 {@link String}
+     */
+    static final class Dictionary {
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+        private int size;
+
+        int code(char[] chars, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + chars[i];
+            }
+            int mask = slots.length - 1;
+            for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+                if (slots[i] == 0) {
+                    return add(new String(chars, start, end - start), hash, i);
+                }
+                int code = slots[i] - 1;
+                if (hashes[code] == hash && contentEquals(values[code], chars, start, end)) {
+                    return code;
+                }
+            }
+        }
+
+        int code(String value) {
+            int hash = value.hashCode();
+            int mask = slots.length - 1;
+            for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+                if (slots[i] == 0) {
+                    return add(value, hash, i);
+                }
+                int code = slots[i] - 1;
+                if (hashes[code] == hash && values[code].equals(value)) {
+                    return code;
+                }
+            }
+        }
+
+        String value(int code) {
+            return values[code];
+        }
+
+        /**
+         * 读完后不再查找，只留下按编号取文本的数组
+         */
+        void trim() {
+            values = Arrays.copyOf(values, size);
+            hashes = null;
+            slots = null;
+        }
+
+        private int add(String value, int hash, int slot) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            values[size] = value;
+            hashes[size] = hash;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int code = 0; code < size; code++) {
+                int i = spread(hashes[code]) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = code + 1;
+            }
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean contentEquals(String value, char[] chars, int start, int end) {
+            if (value.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) != chars[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
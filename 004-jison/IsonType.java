@@ -0,0 +1,39 @@
+package com.example.mcpdemo.tool;
+
+/**
+ * ISON字段的类型注解（{@code id:int} 中冒号后的部分），没有注解的字段按取值推断
+ */
+public enum IsonType {
+    INT, FLOAT, BOOL, STRING, REF, AUTO;
+
+    /**
+     * 由注解文本得到类型，无法识别的注解按 {@link #AUTO} 处理
+     */
+    public static IsonType of(String annotation) {
+        if (annotation == null) {
+            return AUTO;
+        }
+        return switch (annotation) {
+            case "int", "integer", "long" -> INT;
+            case "float", "double", "number" -> FLOAT;
+            case "bool", "boolean" -> BOOL;
+            case "string", "str" -> STRING;
+            case "ref" -> REF;
+            default -> AUTO;
+        };
+    }
+
+    /**
+     * 写入字段定义行时使用的注解，{@link #AUTO} 不写注解
+     */
+    public String annotation() {
+        return switch (this) {
+            case INT -> "int";
+            case FLOAT -> "float";
+            case BOOL -> "bool";
+            case STRING -> "string";
+            case REF -> "ref";
+            case AUTO -> null;
+        };
+    }
+}
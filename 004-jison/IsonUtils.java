@@ -2,7 +2,11 @@ package com.example.mcpdemo.tool;
 
 import cn.hutool.json.JSONUtil;
 
+import java.io.OutputStream;
+import java.io.Reader;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * ISON生成解析Java简易实现
@@ -11,27 +15,36 @@ import java.util.*;
 public class IsonUtils {
 
     /**
-     * 解析ISON表格格式为List<Map>
+     * 解析ISON表格格式为List<Map>，只读第一张表
      */
     public static List<Map<String, Object>> parseTable(String isonText) {
         List<Map<String, Object>> results = new ArrayList<>();
-        String[] lines = isonText.trim().split("\n");
+        forEachRow(IsonReader.of(isonText), results::add);
+        return results;
+    }
 
-        // 第一行是表名，跳过
-        // 第二行是字段定义
-        String[] headers = lines[1].split(" ");
+    /**
+     * 解析第一张表为按列存放的 {@link IsonTable}，大表比 {@link #parseTable} 省内存得多
+     */
+    public static IsonTable parseColumns(String isonText) {
+        return IsonTable.parse(isonText);
+    }
+
+    /**
+     * 逐行读取第一张表，每行转为Map后交给 {@code action}，不保留已处理的行；读完后关闭 {@code reader}
+     */
+    public static void forEachRow(Reader reader, Consumer<Map<String, Object>> action) {
+        forEachRow(IsonReader.of(reader), action);
+    }
 
-        // 后续行是数据
-        for (int i = 2; i < lines.length; i++) {
-            String[] values = lines[i].split(" ");
-            Map<String, Object> row = new LinkedHashMap<>();
-            for (int j = 0; j < headers.length; j++) {
-                String header = headers[j].split(":")[0]; // 去掉类型注解
-                row.put(header, parseValue(values[j]));
+    private static void forEachRow(IsonReader reader, Consumer<Map<String, Object>> action) {
+        try (reader) {
+            if (reader.nextTable()) {
+                while (reader.nextRow()) {
+                    action.accept(reader.rowAsMap());
+                }
             }
-            results.add(row);
         }
-        return results;
     }
 
     /**
@@ -41,46 +54,22 @@ public class IsonUtils {
                                        List<String> headers,
                                        List<List<Object>> rows) {
         StringBuilder sb = new StringBuilder();
-        sb.append("table.").append(tableName).append("\n");
-        sb.append(String.join(" ", headers)).append("\n");
-
-        for (List<Object> row : rows) {
-            List<String> formatted = new ArrayList<>();
-            for (Object val : row) {
-                formatted.add(formatValue(val));
-            }
-            sb.append(String.join(" ", formatted)).append("\n");
+        try (IsonWriter writer = IsonWriter.of(sb)) {
+            writer.beginTable(tableName, headers).rows(rows.iterator());
         }
         return sb.toString();
     }
 
-    private static Object parseValue(String val) {
-        if (val.equals("true")) return true;
-        if (val.equals("false")) return false;
-        if (val.equals("null")) return null;
-        if (val.startsWith(":")) return val; // 引用
-        try {
-            return Integer.parseInt(val);
-        } catch (NumberFormatException e) {
-            try {
-                return Double.parseDouble(val);
-            } catch (NumberFormatException e2) {
-                return val.replace("\"", ""); // 去掉引号
-            }
-        }
-    }
-
-    private static String formatValue(Object val) {
-        if (val == null) return "null";
-        if (val instanceof Boolean) return val.toString();
-        if (val instanceof Number) return val.toString();
-        String str = val.toString();
-        // 包含空格或是保留字时加引号
-        if (str.contains(" ") || str.contains("\t") ||
-            str.equals("true") || str.equals("false") || str.equals("null")) {
-            return "\"" + str + "\"";
+    /**
+     * 逐行写出一张表到 {@code out}（UTF-8），行在写出后即可回收，适合导出大表；写完后关闭 {@code out}
+     */
+    public static void writeTable(OutputStream out,
+                                  String tableName,
+                                  List<String> headers,
+                                  Stream<? extends List<?>> rows) {
+        try (IsonWriter writer = IsonWriter.of(out)) {
+            writer.beginTable(tableName, headers).rows(rows);
         }
-        return str;
     }
 
     public static void main(String[] args) {
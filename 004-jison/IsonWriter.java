@@ -0,0 +1,557 @@
+package com.example.mcpdemo.tool;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ISON流式写出
+ * <p>
+ * 只依赖 JDK，002-springboot-mcp 的 {@code get_calendar_events} 也用它写 ISON 结果：那边的 pom 把本文件单独加进源码目录编译，
+ * 所以这里是唯一的一份。
+ * <p>
+ * 取值先写进一个定长的字符缓冲区，写满时交给目标，所以导出多大的表都只占常量内存。整数逐位写入缓冲区，
+ * 常见的短小数按十进制位数精确换算后同样直接写入，都不经过 {@link String}；文本扫描一遍即可决定是否加引号、
+ * 从哪里开始转义。
+ *
+ * <pre>
+ * try (IsonWriter writer = IsonWriter.of(Files.newOutputStream(path))) {
+ *     writer.beginTable("users", List.of("id:int", "name:string"));
+ *     writer.rows(users.stream().map(user -&gt; List.of(user.id(), user.name())));
+ * }
+ * </pre>
+ * 同一个 writer 可以连续写多张表，表之间自动加空行。
+ */
+public final class IsonWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final double EXACT_LIMIT = 1e15;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L};
+
+    private final Sink sink;
+    /**
+     * 目标是 {@link StringBuilder} 时文本直接追加过去，省去拷进缓冲区再拷出的两次字符转换；缓冲区只用来格式化数字与转义
+     */
+    private final StringBuilder direct;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+
+    private boolean closed;
+    private boolean tableWritten;
+    private int columnCount = -1;
+    private int column;
+
+    private IsonWriter(Sink sink) {
+        this(sink, null);
+    }
+
+    private IsonWriter(Sink sink, StringBuilder direct) {
+        this.sink = sink;
+        this.direct = direct;
+    }
+
+    /**
+     * 写到 {@code out}，{@link StringBuilder} 与 {@link Writer} 按字符数组批量追加
+     */
+    public static IsonWriter of(Appendable out) {
+        if (out instanceof StringBuilder builder) {
+            return new IsonWriter(new Sink() {
+                @Override
+                public void write(char[] chars, int len, boolean endOfInput) {
+                    builder.append(chars, 0, len);
+                }
+            }, builder);
+        }
+        if (out instanceof Writer writer) {
+            return new IsonWriter(new Sink() {
+                @Override
+                public void write(char[] chars, int len, boolean endOfInput) throws IOException {
+                    writer.write(chars, 0, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.close();
+                }
+            });
+        }
+        return new IsonWriter(new Sink() {
+            @Override
+            public void write(char[] chars, int len, boolean endOfInput) throws IOException {
+                out.append(CharBuffer.wrap(chars, 0, len));
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (out instanceof Flushable flushable) {
+                    flushable.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (out instanceof Closeable closeable) {
+                    closeable.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * 按 UTF-8 编码写到 {@code out}，编码用的字节缓冲区同样是定长的
+     */
+    public static IsonWriter of(OutputStream out) {
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 2);
+        return new IsonWriter(new EncodingSink(bytes) {
+            @Override
+            void drain(ByteBuffer full) throws IOException {
+                out.write(full.array(), 0, full.position());
+                full.clear();
+            }
+
+            @Override
+            public void flush() throws IOException {
+                drain(bytes);
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        });
+    }
+
+    /**
+     * 按 UTF-8 编码写进 {@code target}，从它的当前位置开始并随写入前移；{@code target} 写满时抛出
+     * {@link BufferOverflowException}。可以反复把同一个缓冲区交给新的 writer，省去每次导出的分配
+     */
+    public static IsonWriter of(ByteBuffer target) {
+        return new IsonWriter(new EncodingSink(target) {
+            @Override
+            void drain(ByteBuffer full) {
+                throw new BufferOverflowException();
+            }
+        });
+    }
+
+    /**
+     * 写 {@code table.<tableName>} 表头与字段定义行，{@code headers} 中的注解原样写出，如 {@code id:int}
+     */
+    public IsonWriter beginTable(String tableName, List<String> headers) {
+        return beginTable("table", tableName, headers);
+    }
+
+    public IsonWriter beginTable(String kind, String tableName, List<String> headers) {
+        if (column != 0) {
+            throw new IllegalStateException("row not finished: " + column + " of " + columnCount + " values written");
+        }
+        if (headers.isEmpty()) {
+            throw new IllegalArgumentException("table " + tableName + " has no fields");
+        }
+        if (tableWritten) {
+            writeChar('\n');
+        }
+        writeRaw(kind);
+        writeChar('.');
+        writeRaw(tableName);
+        writeChar('\n');
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) {
+                writeChar(' ');
+            }
+            writeRaw(headers.get(i));
+        }
+        writeChar('\n');
+        tableWritten = true;
+        columnCount = headers.size();
+        return this;
+    }
+
+    public IsonWriter value(long value) {
+        separate();
+        writeLong(value);
+        return this;
+    }
+
+    public IsonWriter value(double value) {
+        separate();
+        writeDouble(value);
+        return this;
+    }
+
+    public IsonWriter value(boolean value) {
+        separate();
+        writeRaw(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * 写文本，{@code null} 写为 null；含空白、引号、反斜杠、换行，或为空、以 {@code #} 开头、与 true/false/null
+     * 相同的文本加引号
+     */
+    public IsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            writeRaw("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * 按取值的类型写：整数与 {@link Double} 直接格式化，其他 {@link Number} 与 {@link Boolean} 用 {@code toString}，
+     * 其余对象按文本写
+     */
+    public IsonWriter value(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(((Number) value).longValue());
+        }
+        if (value instanceof Double number) {
+            return value(number.doubleValue());
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            separate();
+            writeRaw(value.toString());
+            return this;
+        }
+        return value(value == null ? null : value.toString());
+    }
+
+    public IsonWriter endRow() {
+        if (column != columnCount) {
+            throw new IllegalStateException("expected " + columnCount + " values but found " + column);
+        }
+        writeChar('\n');
+        column = 0;
+        return this;
+    }
+
+    public IsonWriter row(List<?> values) {
+        for (Object value : values) {
+            value(value);
+        }
+        return endRow();
+    }
+
+    /**
+     * 逐行写出，写过的行不再引用，内存占用与行数无关
+     */
+    public IsonWriter rows(Iterator<? extends List<?>> rows) {
+        while (rows.hasNext()) {
+            row(rows.next());
+        }
+        return this;
+    }
+
+    public IsonWriter rows(Stream<? extends List<?>> rows) {
+        return rows(rows.iterator());
+    }
+
+    /**
+     * 把缓冲区中的内容交给目标并刷新目标
+     */
+    @Override
+    public void flush() {
+        try {
+            sink.write(buf, pos, false);
+            pos = sink.pending(buf, pos);
+            sink.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * 写出余下的内容并关闭目标（{@link ByteBuffer} 不需要关闭）
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            sink.write(buf, pos, true);
+            pos = 0;
+            sink.flush();
+            sink.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void separate() {
+        if (columnCount < 0) {
+            throw new IllegalStateException("beginTable must be called before writing values");
+        }
+        if (column == columnCount) {
+            throw new IllegalStateException("row already has " + columnCount + " values");
+        }
+        if (column++ > 0) {
+            writeChar(' ');
+        }
+    }
+
+    /**
+     * 从缓冲区末尾向前逐位写；{@link Long#MIN_VALUE} 取反会溢出，按负数累加
+     */
+    private void writeLong(long value) {
+        require(20);
+        if (value < 0) {
+            buf[pos++] = '-';
+        } else {
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' - value % 10);
+            value /= 10;
+        }
+        pos = end;
+        commit();
+    }
+
+    /**
+     * 写法同 {@link Double#toString}：1e-3 到 1e7 之间用小数，至少一位小数。找最少的小数位数 k 使
+     * {@code rint(|v| * 10^k) / 10^k} 恰好等于 |v|：这时尾数不超过 15 位，它与 10 的幂都能精确表示，
+     * 这次除法就是解析该十进制文本时的正确舍入，所以写出的文本能原样读回 v。找不到或不在范围内时用 {@link Double#toString}
+     */
+    private void writeDouble(double value) {
+        double magnitude = Math.abs(value);
+        if (magnitude >= 1e-3 && magnitude < 1e7) {
+            for (int scale = 1; scale < POWERS_OF_TEN.length; scale++) {
+                double power = POWERS_OF_TEN[scale];
+                double scaled = Math.rint(magnitude * power);
+                if (scaled >= EXACT_LIMIT) {
+                    break;
+                }
+                if (scaled / power == magnitude) {
+                    writeDecimal(value < 0, (long) scaled, scale);
+                    return;
+                }
+            }
+        }
+        writeRaw(Double.toString(value));
+    }
+
+    /**
+     * 写 {@code digits * 10^-scale}，整数部分为 0 时写 {@code 0.} 与前导零
+     */
+    private void writeDecimal(boolean negative, long digits, int scale) {
+        int length = 1;
+        for (long rest = digits / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        int integerDigits = Math.max(length - scale, 1);
+        require(integerDigits + scale + 2);
+        if (negative) {
+            buf[pos++] = '-';
+        }
+        int end = pos + integerDigits + 1 + scale;
+        for (int i = end - 1; i > end - 1 - scale; i--) {
+            buf[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        buf[end - 1 - scale] = '.';
+        for (int i = end - 2 - scale; i >= pos; i--) {
+            buf[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        pos = end;
+        commit();
+    }
+
+    /**
+     * 一次扫描找出第一个需要转义的位置与是否需要引号，没有转义时整段批量复制
+     */
+    private void writeString(String value) {
+        int length = value.length();
+        boolean quote = length == 0 || value.charAt(0) == '#'
+                || value.equals("true") || value.equals("false") || value.equals("null");
+        int escapeFrom = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '\t') {
+                quote = true;
+            } else if (c == '"' || c == '\\' || c == '\n' || c == '\r') {
+                quote = true;
+                escapeFrom = i;
+                break;
+            }
+        }
+        if (!quote) {
+            writeRaw(value);
+            return;
+        }
+        writeChar('"');
+        if (escapeFrom < 0) {
+            writeRaw(value);
+        } else {
+            writeRaw(value, 0, escapeFrom);
+            for (int i = escapeFrom; i < length; i++) {
+                char c = value.charAt(i);
+                require(2);
+                switch (c) {
+                    case '"', '\\' -> {
+                        buf[pos++] = '\\';
+                        buf[pos++] = c;
+                    }
+                    case '\n' -> {
+                        buf[pos++] = '\\';
+                        buf[pos++] = 'n';
+                    }
+                    case '\r' -> {
+                        buf[pos++] = '\\';
+                        buf[pos++] = 'r';
+                    }
+                    default -> buf[pos++] = c;
+                }
+            }
+            commit();
+        }
+        writeChar('"');
+    }
+
+    private void writeRaw(String text) {
+        if (direct != null) {
+            direct.append(text);
+            return;
+        }
+        writeRaw(text, 0, text.length());
+    }
+
+    /**
+     * 比缓冲区还长的文本分段复制
+     */
+    private void writeRaw(String text, int start, int end) {
+        if (direct != null) {
+            direct.append(text, start, end);
+            return;
+        }
+        while (start < end) {
+            if (pos == buf.length) {
+                drain();
+            }
+            int n = Math.min(end - start, buf.length - pos);
+            text.getChars(start, start + n, buf, pos);
+            pos += n;
+            start += n;
+        }
+    }
+
+    private void writeChar(char c) {
+        if (direct != null) {
+            direct.append(c);
+            return;
+        }
+        require(1);
+        buf[pos++] = c;
+    }
+
+    private void commit() {
+        if (direct != null) {
+            direct.append(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    private void require(int chars) {
+        if (buf.length - pos < chars) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        try {
+            sink.write(buf, pos, false);
+            pos = sink.pending(buf, pos);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private interface Sink {
+        /**
+         * 写出 {@code chars} 的前 {@code len} 个字符
+         */
+        void write(char[] chars, int len, boolean endOfInput) throws IOException;
+
+        /**
+         * 上次写出后缓冲区中未消费、已移到开头的字符数，只有编码时被拆开的代理对会留下
+         */
+        default int pending(char[] chars, int len) {
+            return 0;
+        }
+
+        default void flush() throws IOException {
+        }
+
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * 编码为 UTF-8 写进字节缓冲区，写满时交给 {@link #drain}
+     */
+    private abstract static class EncodingSink implements Sink {
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer bytes;
+        private int leftover;
+
+        EncodingSink(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        abstract void drain(ByteBuffer full) throws IOException;
+
+        @Override
+        public void write(char[] chars, int len, boolean endOfInput) throws IOException {
+            CharBuffer in = CharBuffer.wrap(chars, 0, len);
+            while (true) {
+                CoderResult result = encoder.encode(in, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    drain(bytes);
+                } else if (endOfInput && encoder.flush(bytes).isOverflow()) {
+                    drain(bytes);
+                } else {
+                    break;
+                }
+            }
+            leftover = in.remaining();
+            System.arraycopy(chars, in.position(), chars, 0, leftover);
+        }
+
+        @Override
+        public int pending(char[] chars, int len) {
+            return leftover;
+        }
+    }
+}